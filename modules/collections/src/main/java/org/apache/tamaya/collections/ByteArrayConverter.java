@@ -43,8 +43,11 @@ public class ByteArrayConverter implements PropertyConverter<byte[]> {
 
     @Override
     public byte[] convert(String value, ConversionContext context) {
-        Object array = CollectionConverter.convertArray(context);
-        return (byte[])array;
+        byte[] result = PrimitiveArrays.toByteArray(context);
+        if (result != null) {
+            return result;
+        }
+        return (byte[]) CollectionConverter.convertArray(context);
     }
 
 }
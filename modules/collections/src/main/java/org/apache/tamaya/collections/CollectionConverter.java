@@ -158,6 +158,7 @@ public final class CollectionConverter implements PropertyConverter<Collection>
                                                                 TypeLiteral<?> targetType,
                                                                 T result,
                                                                 boolean combine) {
+        ItemTokenizer.ItemConverter<?> itemConverter = ItemTokenizer.converterFor(targetType, context);
         if(!combine){
             values = Collections.singletonList(values.get(0));
             LOG.finest(String.format("Combine deactivated, only checking for collection values in %s.", values.get(0)));
@@ -166,15 +167,7 @@ public final class CollectionConverter implements PropertyConverter<Collection>
         }
         // First: try value based approach
         for (PropertyValue val : values) {
-            int valuesFound = 0;
-            List<String> tokenList = ItemTokenizer.split(val.getValue(), context);
-            for (String token : tokenList) {
-                Object o = ItemTokenizer.convertValue(token, targetType, context);
-                if (o != null) {
-                    valuesFound++;
-                    result.add(o);
-                }
-            }
+            int valuesFound = addItems(val.getValue(), context, itemConverter, result);
             if(valuesFound==0) {
                 LOG.finest(() -> String.format("No values found in %s using value evaluation, checking for child nodes...", val));
                 for(PropertyValue itemNode:val) {
@@ -184,7 +177,7 @@ public final class CollectionConverter implements PropertyConverter<Collection>
                             valuesFound++;
                             result.add(textValue);
                         } else {
-                            Object o = ItemTokenizer.convertValue(itemNode.getValue(), targetType, context);
+                            Object o = itemConverter.convert(itemNode.getValue());
                             if (o != null) {
                                 valuesFound++;
                                 result.add(o);
@@ -205,11 +198,29 @@ public final class CollectionConverter implements PropertyConverter<Collection>
         return result;
     }
 
+    /**
+     * Converts the items of the given value and adds them to the result.
+     * @return the number of items converted.
+     */
+    private static int addItems(String value, ConversionContext context,
+                                ItemTokenizer.ItemConverter<?> itemConverter, Collection result) {
+        int[] count = new int[1];
+        ItemTokenizer.forEachItem(value, context, token -> {
+            Object o = itemConverter.convert(token);
+            if (o != null) {
+                count[0]++;
+                result.add(o);
+            }
+        });
+        return count[0];
+    }
+
     private static <T extends Collection> T convertListByValues(List<PropertyValue> values,
                                                                 ConversionContext context,
                                                                 TypeLiteral<?> targetType,
                                                                 T result,
                                                                 boolean combine) {
+        ItemTokenizer.ItemConverter<?> itemConverter = ItemTokenizer.converterFor(targetType, context);
         if(!combine){
             values = Collections.singletonList(values.get(0));
             LOG.finest(String.format("Combine deactivated, only checking for collection values in %s.", values.get(0)));
@@ -217,16 +228,15 @@ public final class CollectionConverter implements PropertyConverter<Collection>
             LOG.finest(String.format("Combine activated, checking for collection values in %s.", values));
         }
         for (PropertyValue val : values) {
-            List<String> tokenList = ItemTokenizer.split(val.getValue(), context);
-            for (String token : tokenList) {
-                Object o = ItemTokenizer.convertValue(token, targetType, context);
+            ItemTokenizer.forEachItem(val.getValue(), context, token -> {
+                Object o = itemConverter.convert(token);
                 if (o != null) {
                     result.add(o);
                 }else{
                     LOG.warning(String.format("Failed to convert '%s' to type: %s, key: %s",
                             token, targetType, val.getQualifiedKey()));
                 }
-            }
+            });
         }
         return result;
     }
@@ -236,6 +246,7 @@ public final class CollectionConverter implements PropertyConverter<Collection>
                                                                TypeLiteral<?> targetType,
                                                                T result,
                                                                boolean combine) {
+        ItemTokenizer.ItemConverter<?> itemConverter = ItemTokenizer.converterFor(targetType, context);
         if(!combine){
             values = Collections.singletonList(values.get(0));
         }
@@ -244,7 +255,7 @@ public final class CollectionConverter implements PropertyConverter<Collection>
                 if(targetType.equals(TypeLiteral.of(String.class))){
                     result.add(itemNode.getValue());
                 }else {
-                    Object o = ItemTokenizer.convertValue(itemNode.getValue(), targetType, context);
+                    Object o = itemConverter.convert(itemNode.getValue());
                     if (o != null) {
                         result.add(o);
                     }else{
@@ -295,6 +306,7 @@ public final class CollectionConverter implements PropertyConverter<Collection>
                                                         TypeLiteral<?> targetType,
                                                         T result,
                                                         boolean combine) {
+        ItemTokenizer.ItemConverter<?> itemConverter = ItemTokenizer.converterFor(targetType, context);
         if(!combine){
             values = Collections.singletonList(values.get(0));
             LOG.finest(String.format("Combine deactivated, only checking for collection values in %s.", values.get(0)));
@@ -302,17 +314,16 @@ public final class CollectionConverter implements PropertyConverter<Collection>
             LOG.finest(String.format("Combine activated, checking for collection values in %s.", values));
         }
         for (PropertyValue val : values) {
-            List<String> tokenList = ItemTokenizer.split(val.getValue(), context);
-            for(String token:tokenList) {
+            ItemTokenizer.forEachItem(val.getValue(), context, token -> {
                 String[] keyValue = ItemTokenizer.splitMapEntry(token, context);
-                Object o = ItemTokenizer.convertValue(keyValue[1], targetType, context);
+                Object o = itemConverter.convert(keyValue[1]);
                 if (o != null) {
                     result.put(keyValue[0], o);
                 }else{
                     LOG.warning(String.format("Failed to convert '%s' to type: %s, key: %s",
                             keyValue[1], targetType, val.getQualifiedKey()));
                 }
-            }
+            });
         }
         return result;
     }
@@ -322,6 +333,7 @@ public final class CollectionConverter implements PropertyConverter<Collection>
                                                        TypeLiteral<?> targetType,
                                                        T result,
                                                        boolean combine) {
+        ItemTokenizer.ItemConverter<?> itemConverter = ItemTokenizer.converterFor(targetType, context);
         if(!combine){
             values = Collections.singletonList(values.get(0));
             LOG.finest(String.format("Combine deactivated, only checking for collection values in %s.", values.get(0)));
@@ -330,7 +342,7 @@ public final class CollectionConverter implements PropertyConverter<Collection>
         }
         for (PropertyValue val : values) {
             for(PropertyValue itemNode:val) {
-                Object o = ItemTokenizer.convertValue(itemNode.getValue(), targetType, context);
+                Object o = itemConverter.convert(itemNode.getValue());
                 if (o != null) {
                     result.put(itemNode.getKey(), o);
                 }else{
@@ -345,6 +357,16 @@ public final class CollectionConverter implements PropertyConverter<Collection>
 
     @Override
     public Collection convert(String value, ConversionContext context) {
+        if(CompactCollections.isImmutable(context)){
+            return CompactCollections.getShared(context, () -> {
+                Collection items = createCollection(value, context);
+                return items instanceof Set ? CompactCollections.setOf(items) : CompactCollections.listOf(items);
+            });
+        }
+        return createCollection(value, context);
+    }
+
+    private Collection createCollection(String value, ConversionContext context) {
         String collectionType = context.getMeta().getOrDefault("collection-type", "List");
         if (collectionType.startsWith("java.util.")) {
             collectionType = collectionType.substring("java.util.".length());
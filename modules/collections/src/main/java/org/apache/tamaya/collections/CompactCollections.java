@@ -0,0 +1,447 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.collections;
+
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.spi.ConversionContext;
+import org.apache.tamaya.spi.PropertyValue;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Support for immutable, compact collection results. This mode is enabled by setting the {@code immutable} meta
+ * entry of a key to {@code true}, e.g. {@code [(META)my.list].immutable=true}. In this mode the {@link List},
+ * {@link Set}, {@link Map} and {@link Collection} converters return array backed, immutable instances, which are
+ * shared: as long as the configuration, the meta entries and the raw values of a key do not change, repeated
+ * reads return the same instance, without tokenizing and converting the values again. The results are cached per
+ * configuration, they are released together with their configuration. The cache is a concurrent map keyed by
+ * weak references to the configuration instances, so lookups do not lock.
+ */
+final class CompactCollections {
+
+    /** The meta entry enabling immutable, shared results. */
+    static final String IMMUTABLE = "immutable";
+
+    /** Marks the end of a node's children in a fingerprint. */
+    private static final Object END = new Object();
+
+    /** The shared results, by configuration (weakly referenced, compared by identity), key and target type. */
+    private static final ConcurrentMap<ConfigKey, Map<CacheKey, CacheEntry>> CACHE = new ConcurrentHashMap<>();
+
+    /** The queue of the configuration keys, whose configuration has been garbage collected. */
+    private static final ReferenceQueue<Configuration> COLLECTED = new ReferenceQueue<>();
+
+    /**
+     * Singleton constructor.
+     */
+    private CompactCollections(){}
+
+    /**
+     * Checks, if immutable, shared results are enabled for the given context.
+     * @param context the context, may be null.
+     * @return true, if the {@code immutable} meta entry is set to {@code true}.
+     */
+    static boolean isImmutable(ConversionContext context) {
+        return context != null && Boolean.parseBoolean(context.getMeta().getOrDefault(IMMUTABLE, "false"));
+    }
+
+    /**
+     * Get the shared result for the given context, or evaluates and caches it, if the configuration or the raw
+     * values have changed.
+     * @param context the context, not null.
+     * @param conversion the conversion creating a compact result, not null.
+     * @param <T> the result type.
+     * @return the result, never null.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T getShared(ConversionContext context, Supplier<T> conversion) {
+        CacheKey key = new CacheKey(context.getKey(), context.getTargetType().getType());
+        Configuration config = context.getConfiguration();
+        List<Object> fingerprint = fingerprint(context);
+        Map<CacheKey, CacheEntry> entries = CACHE.get(new ConfigKey(config, null));
+        if (entries == null) {
+            expungeCollected();
+            entries = CACHE.computeIfAbsent(new ConfigKey(config, COLLECTED), c -> new ConcurrentHashMap<>());
+        }
+        CacheEntry entry = entries.get(key);
+        if (entry != null && entry.config.get() == config && entry.fingerprint.equals(fingerprint)) {
+            return (T) entry.value;
+        }
+        T value = conversion.get();
+        entries.put(key, new CacheEntry(config, fingerprint, value));
+        return value;
+    }
+
+    /**
+     * Clears all shared results.
+     */
+    static void clearCache() {
+        CACHE.clear();
+    }
+
+    /**
+     * Removes the results of all configurations, which have been garbage collected.
+     */
+    private static void expungeCollected() {
+        Reference<? extends Configuration> ref;
+        while ((ref = COLLECTED.poll()) != null) {
+            CACHE.remove(ref);
+        }
+    }
+
+    /**
+     * Evaluates the raw input of a conversion: the meta entries and the keys and values of all value nodes.
+     */
+    private static List<Object> fingerprint(ConversionContext context) {
+        List<Object> fingerprint = new ArrayList<>();
+        fingerprint.add(context.getMeta());
+        for (PropertyValue value : context.getValues()) {
+            addNode(fingerprint, value);
+        }
+        return fingerprint;
+    }
+
+    private static void addNode(List<Object> fingerprint, PropertyValue node) {
+        fingerprint.add(node.getKey());
+        fingerprint.add(node.getValue());
+        for (PropertyValue child : node) {
+            addNode(fingerprint, child);
+        }
+        fingerprint.add(END);
+    }
+
+    /**
+     * Creates an immutable, array backed copy of the given collection.
+     * @param items the items, not null.
+     * @param <E> the item type.
+     * @return the immutable list, in the iteration order of the items.
+     */
+    static <E> List<E> listOf(Collection<? extends E> items) {
+        return new CompactList<>(items.toArray());
+    }
+
+    /**
+     * Creates an immutable, open addressing copy of the given set.
+     * @param items the items, not null.
+     * @param <E> the item type.
+     * @return the immutable set, iterating in the order of the given items.
+     */
+    static <E> Set<E> setOf(Collection<? extends E> items) {
+        return new CompactSet<>(items.toArray());
+    }
+
+    /**
+     * Creates an immutable, open addressing copy of the given map.
+     * @param map the map, not null.
+     * @param <K> the key type.
+     * @param <V> the value type.
+     * @return the immutable map, iterating in the order of the given map.
+     */
+    static <K, V> Map<K, V> mapOf(Map<? extends K, ? extends V> map) {
+        Object[] keys = new Object[map.size()];
+        Object[] values = new Object[map.size()];
+        int i = 0;
+        for (Map.Entry<? extends K, ? extends V> en : map.entrySet()) {
+            keys[i] = en.getKey();
+            values[i] = en.getValue();
+            i++;
+        }
+        return new CompactMap<>(keys, values);
+    }
+
+    /**
+     * Creates an open addressing hash table for the given distinct elements, storing their index plus one.
+     */
+    private static int[] createTable(Object[] elements) {
+        int capacity = Integer.highestOneBit(Math.max(2, elements.length * 2) - 1) << 1;
+        int[] table = new int[capacity];
+        for (int i = 0; i < elements.length; i++) {
+            int slot = hash(elements[i]) & (capacity - 1);
+            while (table[slot] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            table[slot] = i + 1;
+        }
+        return table;
+    }
+
+    /**
+     * Looks up the index of the given element in a table created by {@link #createTable(Object[])}.
+     * @return the index, or -1.
+     */
+    private static int indexOf(int[] table, Object[] elements, Object o) {
+        int mask = table.length - 1;
+        int slot = hash(o) & mask;
+        int index;
+        while ((index = table[slot]) != 0) {
+            if (Objects.equals(elements[index - 1], o)) {
+                return index - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int hash(Object o) {
+        int h = o == null ? 0 : o.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Iterator over an array, not supporting removal.
+     */
+    private static final class ArrayIterator<E> implements Iterator<E> {
+        private final Object[] items;
+        private int index;
+
+        ArrayIterator(Object[] items) {
+            this.items = items;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < items.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E next() {
+            if (index >= items.length) {
+                throw new NoSuchElementException();
+            }
+            return (E) items[index++];
+        }
+    }
+
+    /**
+     * Immutable, array backed list.
+     */
+    private static final class CompactList<E> extends AbstractList<E> implements RandomAccess {
+        private final Object[] items;
+
+        CompactList(Object[] items) {
+            this.items = items;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E get(int index) {
+            if (index < 0 || index >= items.length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + items.length);
+            }
+            return (E) items[index];
+        }
+
+        @Override
+        public int size() {
+            return items.length;
+        }
+
+        @Override
+        public Object[] toArray() {
+            return items.clone();
+        }
+    }
+
+    /**
+     * Immutable set using open addressing, iterating in insertion order.
+     */
+    private static final class CompactSet<E> extends AbstractSet<E> {
+        private final Object[] elements;
+        private final int[] table;
+
+        CompactSet(Object[] elements) {
+            this.elements = elements;
+            this.table = createTable(elements);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(table, elements, o) >= 0;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new ArrayIterator<>(elements);
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+    }
+
+    /**
+     * Immutable map using open addressing, iterating in insertion order.
+     */
+    private static final class CompactMap<K, V> extends AbstractMap<K, V> {
+        private final Object[] keys;
+        private final Object[] values;
+        private final int[] table;
+
+        CompactMap(Object[] keys, Object[] values) {
+            this.keys = keys;
+            this.values = values;
+            this.table = createTable(keys);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V get(Object key) {
+            int index = indexOf(table, keys, key);
+            return index < 0 ? null : (V) values[index];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return indexOf(table, keys, key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return new AbstractSet<Entry<K, V>>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new Iterator<Entry<K, V>>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < keys.length;
+                        }
+
+                        @SuppressWarnings("unchecked")
+                        @Override
+                        public Entry<K, V> next() {
+                            if (index >= keys.length) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<K, V> entry = new SimpleImmutableEntry<>((K) keys[index], (V) values[index]);
+                            index++;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keys.length;
+                }
+            };
+        }
+    }
+
+    /**
+     * The cache key, consisting of the configuration key and the target type.
+     */
+    private static final class CacheKey {
+        private final String key;
+        private final Type type;
+
+        CacheKey(String key, Type type) {
+            this.key = key;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return Objects.equals(key, other.key) && type.equals(other.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(key) + type.hashCode();
+        }
+    }
+
+    /**
+     * A shared result, valid for the given configuration and raw input.
+     */
+    /**
+     * Weak key of a configuration, comparing the configurations by identity. Lookup keys are not registered
+     * with a queue.
+     */
+    private static final class ConfigKey extends WeakReference<Configuration> {
+        private final int hash;
+
+        ConfigKey(Configuration config, ReferenceQueue<Configuration> queue) {
+            super(config, queue);
+            this.hash = System.identityHashCode(config);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ConfigKey)) {
+                return false;
+            }
+            Configuration config = get();
+            return config != null && config == ((ConfigKey) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class CacheEntry {
+        private final WeakReference<Configuration> config;
+        private final List<Object> fingerprint;
+        private final Object value;
+
+        CacheEntry(Configuration config, List<Object> fingerprint, Object value) {
+            this.config = new WeakReference<>(config);
+            this.fingerprint = fingerprint;
+            this.value = value;
+        }
+    }
+}
@@ -43,8 +43,11 @@ public class DoubleArrayConverter implements PropertyConverter<double[]> {
 
     @Override
     public double[] convert(String value, ConversionContext context) {
-        Object array = CollectionConverter.convertArray(context);
-        return (double[])array;
+        double[] result = PrimitiveArrays.toDoubleArray(context);
+        if (result != null) {
+            return result;
+        }
+        return (double[]) CollectionConverter.convertArray(context);
     }
 
 }
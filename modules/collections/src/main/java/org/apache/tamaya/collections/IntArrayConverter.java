@@ -43,8 +43,11 @@ public class IntArrayConverter implements PropertyConverter<int[]> {
 
     @Override
     public int[] convert(String value, ConversionContext context) {
-        Object array = CollectionConverter.convertArray(context);
-        return (int[])array;
+        int[] result = PrimitiveArrays.toIntArray(context);
+        if (result != null) {
+            return result;
+        }
+        return (int[]) CollectionConverter.convertArray(context);
     }
 
 }
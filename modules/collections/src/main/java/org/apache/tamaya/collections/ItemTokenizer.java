@@ -24,6 +24,7 @@ import org.apache.tamaya.spi.ConversionContext;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -36,9 +37,10 @@ final class ItemTokenizer {
 
     private static final String ITEM_SEPARATOR = "item-separator";
     private static final String MAP_ENTRY_SEPARATOR = "map-entry-separator";
-    private static final String ITEM_CONVERTER = "item-converter";
+    static final String ITEM_CONVERTER = "item-converter";
     private static final String DEFAULT_MAP_ENTRY_SEPARATOR = ":";
     private static final String DEFAULT_LIST_ITEM_SEPARATOR = ",";
+    private static final String ITEM_QUOTING = "item-quoting";
 
     /**
      * Private singleton.
@@ -46,43 +48,148 @@ final class ItemTokenizer {
     private ItemTokenizer(){}
 
     /**
-     * Splits the given value using the given separator. Matcjhing is done by traversing the String value using
-     * {@code indexOf} calls, one by one. The last unresolvable item (without any next separator token)
-     * is added at the end of the createList.
+     * Splits the given value using the item separator configured. The last item (without any next separator
+     * token) is added at the end of the list.
      * @param value the value, not null.
      * @return the tokenized value as createList, in order of occurrence.
      */
     public static List<String> split(String value, ConversionContext ctx){
-        String itemSeparator = ctx.getMeta().getOrDefault(ITEM_SEPARATOR, DEFAULT_LIST_ITEM_SEPARATOR);
-        return split(value, itemSeparator);
+        List<String> result = new ArrayList<>();
+        forEachItem(value, ctx, result::add);
+        return result;
     }
 
     /**
-     * Splits the given value using the given separator. Matching is done by traversing the String value using
-     * {@code indexOf} calls, one by one. The last unresolvable item (without any next separator token)
-     * is added at the end of the list.
+     * Splits the given value using the given separator. Separators escaped with a backslash are part of the item.
+     * The last item (without any next separator token) is added at the end of the list.
      * @param value the value, not null.
      * @param separator the separator to be used.
      * @return the tokenized value as list, in order of occurrence.
      */
     public static List<String> split(String value, final String separator) {
-        ArrayList<String> result = new ArrayList<>();
-        int start = 0;
-        int end = value.indexOf(separator,start);
-        while(end>0) {
-            if (value.charAt(end - separator.length()) != '\\') {
-                String finalValue = value.substring(start, end);
-                result.add(finalValue.replace("\\"+separator, separator));
-                start = end + separator.length();
-                end = value.indexOf(separator,start);
-            }else{
-                end = value.indexOf(separator,end + separator.length());
+        List<String> result = new ArrayList<>();
+        forEachItem(value, separator, false, result::add);
+        return result;
+    }
+
+    /**
+     * Passes the items of the given value to the consumer, using the item separator and quoting configured.
+     * @param value the value, not null.
+     * @param ctx the conversion context, not null.
+     * @param consumer the item consumer, not null.
+     */
+    static void forEachItem(String value, ConversionContext ctx, Consumer<String> consumer){
+        forEachItem(value, getItemSeparator(ctx), isQuoting(ctx), consumer);
+    }
+
+    /**
+     * Passes the items of the given value to the consumer, in order of occurrence. The value is scanned once:
+     * separators escaped with a backslash are part of the item, an empty value has no items and a trailing
+     * separator does not add an empty item. If quoting is enabled, an item starting with a double quote ends
+     * with the next unescaped double quote, so it may contain separators; the quotes and the surrounding
+     * whitespace are removed. Items are created as substrings of the value, only items containing escapes or
+     * quotes are copied.
+     * @param value the value, not null.
+     * @param separator the separator to be used.
+     * @param quoting true, for enabling quoted items.
+     * @param consumer the item consumer, not null.
+     */
+    static void forEachItem(String value, String separator, boolean quoting, Consumer<String> consumer) {
+        final int length = value.length();
+        final int sepLength = separator.length();
+        if (sepLength == 0) {
+            if (length > 0) {
+                consumer.accept(value);
             }
+            return;
         }
-        if(start < value.length()){
-            result.add(value.substring(start));
+        final char sepStart = separator.charAt(0);
+        int pos = 0;
+        while (pos < length) {
+            StringBuilder b = null;
+            int i = pos;
+            if (quoting) {
+                int q = skipWhitespace(value, pos, length);
+                if (q < length && value.charAt(q) == '"') {
+                    b = new StringBuilder(length - q);
+                    i = readQuoted(value, q + 1, b);
+                    while (i < length && value.charAt(i) <= ' ' && !value.startsWith(separator, i)) {
+                        i++;
+                    }
+                }
+            }
+            int segment = i;
+            while (i < length) {
+                char c = value.charAt(i);
+                if (c == '\\' && value.startsWith(separator, i + 1)) {
+                    if (b == null) {
+                        b = new StringBuilder(length - pos);
+                    }
+                    b.append(value, segment, i).append(separator);
+                    i += 1 + sepLength;
+                    segment = i;
+                } else if (c == sepStart && value.startsWith(separator, i)) {
+                    break;
+                } else {
+                    i++;
+                }
+            }
+            consumer.accept(b == null ? value.substring(pos, i) : b.append(value, segment, i).toString());
+            pos = i + sepLength;
         }
-        return result;
+    }
+
+    /**
+     * Reads a quoted item, starting after the opening quote.
+     * @return the index after the closing quote.
+     */
+    private static int readQuoted(String value, int pos, StringBuilder b) {
+        int i = pos;
+        while (i < value.length()) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length() && value.charAt(i + 1) == '"') {
+                b.append('"');
+                i += 2;
+            } else if (c == '"') {
+                return i + 1;
+            } else {
+                b.append(c);
+                i++;
+            }
+        }
+        return i;
+    }
+
+    private static int skipWhitespace(String value, int start, int end) {
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(String value, int start, int end) {
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Get the item separator configured.
+     * @param ctx the conversion context, not null.
+     * @return the separator, never null.
+     */
+    static String getItemSeparator(ConversionContext ctx) {
+        return ctx.getMeta().getOrDefault(ITEM_SEPARATOR, DEFAULT_LIST_ITEM_SEPARATOR);
+    }
+
+    /**
+     * Checks, if quoted items are enabled.
+     * @param ctx the conversion context, not null.
+     * @return true, if the {@code item-quoting} meta entry is {@code true}.
+     */
+    static boolean isQuoting(ConversionContext ctx) {
+        return Boolean.parseBoolean(ctx.getMeta().getOrDefault(ITEM_QUOTING, "false"));
     }
 
     /**
@@ -107,65 +214,115 @@ final class ItemTokenizer {
      */
     public static String[] splitMapEntry(final String mapEntry, final String separator) {
         int index = mapEntry.indexOf(separator);
-        String[] items;
-        if(index<0) {
-            items = new String[]{mapEntry, mapEntry};
-        }else {
-            items = new String[]{mapEntry.substring(0,index),
-                                 mapEntry.substring(index+separator.length())};
-        }
-        if(items[0].trim().startsWith("[")){
-            items[0]= items[0].trim();
-            items[0] = items[0].substring(1);
-        }else{
-            items[0]= items[0].trim();
+        int keyEnd = index < 0 ? mapEntry.length() : index;
+        int valueStart = index < 0 ? 0 : index + separator.length();
+        int keyStart = skipWhitespace(mapEntry, 0, keyEnd);
+        keyEnd = trimEnd(mapEntry, keyStart, keyEnd);
+        if (keyStart < keyEnd && mapEntry.charAt(keyStart) == '[') {
+            keyStart++;
         }
-        if(items[1].trim().endsWith("]")){
-            items[1] = items[1].substring(0,items[1].length()-1);
-        }else{
-            items[1]= items[1].trim();
+        int valueEnd = trimEnd(mapEntry, valueStart, mapEntry.length());
+        if (valueEnd > valueStart && mapEntry.charAt(valueEnd - 1) == ']') {
+            // bracket enclosed: keep the whitespace
+            valueEnd--;
+        } else {
+            valueStart = skipWhitespace(mapEntry, valueStart, valueEnd);
         }
-        return items;
+        return new String[]{mapEntry.substring(keyStart, keyEnd), mapEntry.substring(valueStart, valueEnd)};
     }
 
     /**
-     * Parses the given value into the required collection target type, defined by the context.
+     * Parses the given value into the required collection target type, defined by the context. When converting
+     * multiple items prefer {@link #converterFor(TypeLiteral, ConversionContext)}, which resolves the converters
+     * only once.
      * @param value the raw String value.
      * @return the parsed value, or null.
      */
     public static <T> T convertValue(String value, TypeLiteral<T> targetType, ConversionContext context) {
+        return converterFor(targetType, context).convert(value);
+    }
+
+    /**
+     * Resolves the converter chain for the collection items of the given target type, including the
+     * {@code item-converter} configured, if any.
+     * @param targetType the item type, not null.
+     * @param context the context of the collection conversion, not null.
+     * @return the item converter, never null.
+     */
+    static <T> ItemConverter<T> converterFor(TypeLiteral<T> targetType, ConversionContext context) {
         String converterClass = context.getMeta().get(ITEM_CONVERTER);
         List<PropertyConverter<T>> valueConverters = new ArrayList<>(1);
         if (converterClass != null) {
-            try {
-                valueConverters.add((PropertyConverter<T>) Class.forName(converterClass).getConstructor()
-                        .newInstance());
-            } catch (Exception e) {
-                LOG.log(Level.SEVERE, "Error convertion config to ArrayList type.", e);
+            PropertyConverter<T> itemConverter = (PropertyConverter<T>) createItemConverter(converterClass);
+            if (itemConverter != null) {
+                valueConverters.add(itemConverter);
             }
         }
         valueConverters.addAll(context.getConfiguration().getContext().getPropertyConverters(targetType));
-        if (valueConverters.isEmpty()) {
-            if(targetType.getRawType().equals(String.class)) {
-                return (T)value;
-            }
-        } else {
+        if (!valueConverters.isEmpty()) {
             context = context.toBuilder()
                     .setTargetType(targetType).build();
-            T result;
-            for (PropertyConverter<T> conv : valueConverters) {
-                try {
-                    result = conv.convert(value, context);
-                    if (result != null) {
-                        return result;
+        }
+        return new ItemConverter<>(targetType, valueConverters, context);
+    }
+
+    /**
+     * Creates a new instance of the given {@code item-converter} class, which is used for the items of one
+     * conversion only.
+     * @param converterClass the converter class name, not null.
+     * @return the converter, or null, if it could not be created.
+     */
+    private static PropertyConverter<?> createItemConverter(String converterClass) {
+        try {
+            return (PropertyConverter<?>) Class.forName(converterClass).getConstructor().newInstance();
+        } catch (Exception e) {
+            LOG.log(Level.SEVERE, "Error convertion config to ArrayList type.", e);
+            return null;
+        }
+    }
+
+    /**
+     * The converter chain resolved for the items of a collection conversion.
+     * @param <T> the item type.
+     */
+    static final class ItemConverter<T> {
+        private final TypeLiteral<T> targetType;
+        private final List<PropertyConverter<T>> valueConverters;
+        private final ConversionContext context;
+
+        private ItemConverter(TypeLiteral<T> targetType, List<PropertyConverter<T>> valueConverters,
+                              ConversionContext context) {
+            this.targetType = targetType;
+            this.valueConverters = valueConverters;
+            this.context = context;
+        }
+
+        /**
+         * Parses the given value into the item type.
+         * @param value the raw String value.
+         * @return the parsed value, or null.
+         */
+        T convert(String value) {
+            if (valueConverters.isEmpty()) {
+                if(targetType.getRawType().equals(String.class)) {
+                    return (T)value;
+                }
+            } else {
+                T result;
+                for (PropertyConverter<T> conv : valueConverters) {
+                    try {
+                        result = conv.convert(value, context);
+                        if (result != null) {
+                            return result;
+                        }
+                    } catch (Exception e) {
+                        LOG.log(Level.SEVERE, "Error convertion config to ArrayList type.", e);
                     }
-                } catch (Exception e) {
-                    LOG.log(Level.SEVERE, "Error convertion config to ArrayList type.", e);
                 }
             }
+            LOG.log(Level.SEVERE, "Failed to convert collection value type for '" + value + "'.");
+            return null;
         }
-        LOG.log(Level.SEVERE, "Failed to convert collection value type for '" + value + "'.");
-        return null;
     }
 
 }
@@ -31,14 +31,28 @@ public class ListConverter implements PropertyConverter<List> {
 
     @Override
     public List convert(String value, ConversionContext context) {
-        String collectionType = "ArrayList";
+        if(CompactCollections.isImmutable(context)){
+            return CompactCollections.getShared(context,
+                    () -> CompactCollections.listOf(createList(value, context)));
+        }
         boolean readOnly = false;
+        if(context!=null) {
+            readOnly = Boolean.parseBoolean(context.getMeta().getOrDefault("read-only", "false"));
+        }
+        List result = createList(value, context);
+        if(readOnly){
+            return Collections.unmodifiableList(result);
+        }
+        return result;
+    }
+
+    private List createList(String value, ConversionContext context) {
+        String collectionType = "ArrayList";
         if(context!=null) {
             collectionType = context.getMeta().getOrDefault("collection-type", "ArrayList");
             if (collectionType.startsWith("java.util.")) {
                 collectionType = collectionType.substring("java.util.".length());
             }
-            readOnly = Boolean.parseBoolean(context.getMeta().getOrDefault("read-only", "false"));
         }
         List result;
         switch(collectionType){
@@ -51,9 +65,6 @@ public class ListConverter implements PropertyConverter<List> {
                 result = ArrayListConverter.getInstance().convert(value, context);
                 break;
         }
-        if(readOnly){
-            return Collections.unmodifiableList(result);
-        }
         return result;
     }
 }
@@ -43,8 +43,11 @@ public class LongArrayConverter implements PropertyConverter<long[]> {
 
     @Override
     public long[] convert(String value, ConversionContext context) {
-        Object array = CollectionConverter.convertArray(context);
-        return (long[])array;
+        long[] result = PrimitiveArrays.toLongArray(context);
+        if (result != null) {
+            return result;
+        }
+        return (long[]) CollectionConverter.convertArray(context);
     }
 
 }
@@ -31,14 +31,28 @@ public class MapConverter implements PropertyConverter<Map> {
 
     @Override
     public Map convert(String value, ConversionContext context) {
-        String collectionType = "HashMap";
+        if(CompactCollections.isImmutable(context)){
+            return CompactCollections.getShared(context,
+                    () -> CompactCollections.mapOf(createMap(value, context)));
+        }
         boolean readOnly = false;
+        if(context!=null) {
+            readOnly = Boolean.parseBoolean(context.getMeta().getOrDefault("read-only", "false"));
+        }
+        Map result = createMap(value, context);
+        if(readOnly){
+            return Collections.unmodifiableMap(result);
+        }
+        return result;
+    }
+
+    private Map createMap(String value, ConversionContext context) {
+        String collectionType = "HashMap";
         if(context!=null) {
             collectionType = context.getMeta().getOrDefault("collection-type", "HashMap");
             if (collectionType.startsWith("java.util.")) {
                 collectionType = collectionType.substring("java.util.".length());
             }
-            readOnly = Boolean.parseBoolean(context.getMeta().getOrDefault("read-only", "false"));
         }
         Map result;
         switch(collectionType){
@@ -55,9 +69,6 @@ public class MapConverter implements PropertyConverter<Map> {
                 result = HashMapConverter.getInstance().convert(value, context);
                 break;
         }
-        if(readOnly){
-            return Collections.unmodifiableMap(result);
-        }
         return result;
     }
 }
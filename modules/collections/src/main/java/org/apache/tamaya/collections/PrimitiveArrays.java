@@ -0,0 +1,386 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.collections;
+
+import org.apache.tamaya.TypeLiteral;
+import org.apache.tamaya.spi.ConversionContext;
+import org.apache.tamaya.spi.PropertyConverter;
+import org.apache.tamaya.spi.PropertyValue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Fast conversion of configuration values into primitive arrays. Items are parsed directly from the configured
+ * value into growable primitive buffers, without creating boxed values, intermediate lists or item Strings.
+ * <p>
+ * This path is only used for the {@code value} and {@code value_all} collection mappings, when no
+ * {@code item-converter} is configured and only Tamaya's own converters are registered for the item type.
+ * Items, that cannot be parsed by the simple decimal parsers (e.g. hexadecimal or octal literals, or
+ * {@code MIN}/{@code MAX}) are converted using the regular item converters, so the results are the same as
+ * with {@link CollectionConverter#convertArray(ConversionContext)}.
+ */
+final class PrimitiveArrays {
+
+    private static final Logger LOG = Logger.getLogger(PrimitiveArrays.class.getName());
+
+    private static final String MAPPING_VALUE = "value";
+    private static final String MAPPING_VALUE_ALL = "value_all";
+    private static final String BUILTIN_CONVERTER_PACKAGE = "org.apache.tamaya.";
+
+    private static final TypeLiteral<Integer> INTEGER_TYPE = TypeLiteral.of(Integer.class);
+    private static final TypeLiteral<Short> SHORT_TYPE = TypeLiteral.of(Short.class);
+    private static final TypeLiteral<Byte> BYTE_TYPE = TypeLiteral.of(Byte.class);
+    private static final TypeLiteral<Long> LONG_TYPE = TypeLiteral.of(Long.class);
+    private static final TypeLiteral<Double> DOUBLE_TYPE = TypeLiteral.of(Double.class);
+
+    /**
+     * Singleton constructor.
+     */
+    private PrimitiveArrays(){}
+
+    /**
+     * Converts the context's values into an {@code int[]}.
+     * @param context the conversion context, not null.
+     * @return the array, or null, if the fast path is not applicable.
+     */
+    static int[] toIntArray(ConversionContext context) {
+        IntBuffer buffer = new IntBuffer(INTEGER_TYPE, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        return fill(buffer, context) ? buffer.toIntArray() : null;
+    }
+
+    /**
+     * Converts the context's values into a {@code short[]}.
+     * @param context the conversion context, not null.
+     * @return the array, or null, if the fast path is not applicable.
+     */
+    static short[] toShortArray(ConversionContext context) {
+        IntBuffer buffer = new IntBuffer(SHORT_TYPE, Short.MIN_VALUE, Short.MAX_VALUE);
+        if (!fill(buffer, context)) {
+            return null;
+        }
+        short[] result = new short[buffer.size];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (short) buffer.data[i];
+        }
+        return result;
+    }
+
+    /**
+     * Converts the context's values into a {@code byte[]}.
+     * @param context the conversion context, not null.
+     * @return the array, or null, if the fast path is not applicable.
+     */
+    static byte[] toByteArray(ConversionContext context) {
+        IntBuffer buffer = new IntBuffer(BYTE_TYPE, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        if (!fill(buffer, context)) {
+            return null;
+        }
+        byte[] result = new byte[buffer.size];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (byte) buffer.data[i];
+        }
+        return result;
+    }
+
+    /**
+     * Converts the context's values into a {@code long[]}.
+     * @param context the conversion context, not null.
+     * @return the array, or null, if the fast path is not applicable.
+     */
+    static long[] toLongArray(ConversionContext context) {
+        LongBuffer buffer = new LongBuffer();
+        return fill(buffer, context) ? Arrays.copyOf(buffer.data, buffer.size) : null;
+    }
+
+    /**
+     * Converts the context's values into a {@code double[]}.
+     * @param context the conversion context, not null.
+     * @return the array, or null, if the fast path is not applicable.
+     */
+    static double[] toDoubleArray(ConversionContext context) {
+        DoubleBuffer buffer = new DoubleBuffer();
+        return fill(buffer, context) ? Arrays.copyOf(buffer.data, buffer.size) : null;
+    }
+
+    /**
+     * Tokenizes and parses the values relevant for the configured mapping into the given buffer.
+     * @param buffer the target buffer, not null.
+     * @param context the conversion context, not null.
+     * @return false, if the fast path is not applicable and the generic conversion must be used.
+     */
+    private static boolean fill(Buffer buffer, ConversionContext context) {
+        String mapping = context.getMeta().getOrDefault(CollectionConverter.VALUE_MAPPING, MAPPING_VALUE);
+        boolean combine;
+        if (MAPPING_VALUE.equals(mapping)) {
+            combine = false;
+        } else if (MAPPING_VALUE_ALL.equals(mapping)) {
+            combine = true;
+        } else {
+            return false;
+        }
+        List<PropertyValue> values = context.getValues();
+        if (values.isEmpty() || !hasBuiltinConverters(buffer.itemType, context)) {
+            return false;
+        }
+        int count = combine ? values.size() : 1;
+        for (int i = 0; i < count; i++) {
+            if (values.get(i).getValue() == null) {
+                return false;
+            }
+        }
+        String separator = ItemTokenizer.getItemSeparator(context);
+        boolean quoting = ItemTokenizer.isQuoting(context);
+        for (int i = 0; i < count; i++) {
+            PropertyValue val = values.get(i);
+            String value = val.getValue();
+            if (separator.isEmpty() || quoting || value.indexOf('\\') >= 0) {
+                // escaped or quoted items: let the ItemTokenizer create the items
+                ItemTokenizer.forEachItem(value, separator, quoting,
+                        token -> addItem(buffer, token, 0, token.length(), val, context));
+                continue;
+            }
+            int start = 0;
+            int end = value.indexOf(separator);
+            while (end >= 0) {
+                addItem(buffer, value, start, end, val, context);
+                start = end + separator.length();
+                end = value.indexOf(separator, start);
+            }
+            if (start < value.length()) {
+                addItem(buffer, value, start, value.length(), val, context);
+            }
+        }
+        return true;
+    }
+
+    private static void addItem(Buffer buffer, String value, int start, int end, PropertyValue val,
+                                ConversionContext context) {
+        if (buffer.parse(value, start, end)) {
+            return;
+        }
+        String token = value.substring(start, end);
+        if (buffer.itemConverter == null) {
+            buffer.itemConverter = ItemTokenizer.converterFor(buffer.itemType, context);
+        }
+        Object o = buffer.itemConverter.convert(token);
+        if (o != null) {
+            buffer.add((Number) o);
+        } else {
+            LOG.warning(String.format("Failed to convert '%s' to type: %s, key: %s",
+                    token, buffer.itemType, val.getQualifiedKey()));
+        }
+    }
+
+    /**
+     * Checks, that no custom item converter is configured and only Tamaya's converters are registered for the
+     * item type, so parsing decimals directly does not bypass any user defined conversion.
+     */
+    private static boolean hasBuiltinConverters(TypeLiteral<?> itemType, ConversionContext context) {
+        if (context.getMeta().get(ItemTokenizer.ITEM_CONVERTER) != null) {
+            return false;
+        }
+        for (PropertyConverter<?> converter : context.getConfiguration().getContext()
+                .getPropertyConverters(itemType)) {
+            if (!converter.getClass().getName().startsWith(BUILTIN_CONVERTER_PACKAGE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Growable primitive buffer.
+     */
+    private abstract static class Buffer {
+        final TypeLiteral<?> itemType;
+        /** The converters for items not parsed by the buffer, resolved on first use. */
+        ItemTokenizer.ItemConverter<?> itemConverter;
+        int size;
+        /** The result of the last successful {@link #parseDecimal(String, int, int, long, long)} call. */
+        long parsed;
+
+        Buffer(TypeLiteral<?> itemType) {
+            this.itemType = itemType;
+        }
+
+        /**
+         * Parses the item in the given range and adds it to the buffer.
+         * @return false, if the item could not be parsed.
+         */
+        abstract boolean parse(String value, int start, int end);
+
+        /**
+         * Adds an item converted by the regular item converters.
+         */
+        abstract void add(Number value);
+
+        /**
+         * Parses a trimmed, optionally signed decimal number in the given range. Numbers with leading zeros are
+         * rejected, since {@code decode} treats them as octal literals.
+         * @return true, if the number was parsed into {@link #parsed}.
+         */
+        final boolean parseDecimal(String value, int start, int end, long min, long max) {
+            while (start < end && value.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && value.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            if (start == end) {
+                return false;
+            }
+            boolean negative = false;
+            char first = value.charAt(start);
+            if (first == '-' || first == '+') {
+                negative = first == '-';
+                if (++start == end) {
+                    return false;
+                }
+            }
+            if (value.charAt(start) == '0' && end - start > 1) {
+                return false;
+            }
+            long limit = negative ? min : -max;
+            long multmin = limit / 10;
+            long result = 0;
+            for (int i = start; i < end; i++) {
+                int digit = value.charAt(i) - '0';
+                if (digit < 0 || digit > 9 || result < multmin) {
+                    return false;
+                }
+                result *= 10;
+                if (result < limit + digit) {
+                    return false;
+                }
+                result -= digit;
+            }
+            parsed = negative ? result : -result;
+            return true;
+        }
+    }
+
+    private static final class IntBuffer extends Buffer {
+        private final int min;
+        private final int max;
+        int[] data = new int[16];
+
+        IntBuffer(TypeLiteral<?> itemType, int min, int max) {
+            super(itemType);
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        boolean parse(String value, int start, int end) {
+            if (!parseDecimal(value, start, end, min, max)) {
+                return false;
+            }
+            append((int) parsed);
+            return true;
+        }
+
+        @Override
+        void add(Number value) {
+            append(value.intValue());
+        }
+
+        private void append(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size << 1);
+            }
+            data[size++] = value;
+        }
+
+        int[] toIntArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+
+    private static final class LongBuffer extends Buffer {
+        long[] data = new long[16];
+
+        LongBuffer() {
+            super(LONG_TYPE);
+        }
+
+        @Override
+        boolean parse(String value, int start, int end) {
+            if (!parseDecimal(value, start, end, Long.MIN_VALUE, Long.MAX_VALUE)) {
+                return false;
+            }
+            append(parsed);
+            return true;
+        }
+
+        @Override
+        void add(Number value) {
+            append(value.longValue());
+        }
+
+        private void append(long value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size << 1);
+            }
+            data[size++] = value;
+        }
+    }
+
+    private static final class DoubleBuffer extends Buffer {
+        double[] data = new double[16];
+
+        DoubleBuffer() {
+            super(DOUBLE_TYPE);
+        }
+
+        @Override
+        boolean parse(String value, int start, int end) {
+            while (start < end && value.charAt(start) <= ' ') {
+                start++;
+            }
+            int first = start;
+            if (first < end && (value.charAt(first) == '-' || value.charAt(first) == '+')) {
+                first++;
+            }
+            // only plain decimal numbers, named values like NaN or MAX are left to the item converters
+            if (first == end || !(Character.isDigit(value.charAt(first)) || value.charAt(first) == '.')) {
+                return false;
+            }
+            try {
+                append(Double.parseDouble(value.substring(start, end)));
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        @Override
+        void add(Number value) {
+            append(value.doubleValue());
+        }
+
+        private void append(double value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size << 1);
+            }
+            data[size++] = value;
+        }
+    }
+}
@@ -31,14 +31,28 @@ public class SetConverter implements PropertyConverter<Set> {
 
     @Override
     public Set convert(String value, ConversionContext context) {
-        String collectionType = "Set";
+        if(CompactCollections.isImmutable(context)){
+            return CompactCollections.getShared(context,
+                    () -> CompactCollections.setOf(createSet(value, context)));
+        }
         boolean readOnly = false;
+        if(context!=null) {
+            readOnly = Boolean.parseBoolean(context.getMeta().getOrDefault("read-only", "false"));
+        }
+        Set result = createSet(value, context);
+        if(readOnly){
+            return Collections.unmodifiableSet(result);
+        }
+        return result;
+    }
+
+    private Set createSet(String value, ConversionContext context) {
+        String collectionType = "Set";
         if(context!=null) {
             collectionType = context.getMeta().getOrDefault("collection-type", "HashSet");
             if (collectionType.startsWith("java.util.")) {
                 collectionType = collectionType.substring("java.util.".length());
             }
-            readOnly = Boolean.parseBoolean(context.getMeta().getOrDefault("read-only", "false"));
         }
         Set result;
         switch(collectionType){
@@ -51,9 +65,6 @@ public class SetConverter implements PropertyConverter<Set> {
                 result = HashSetConverter.getInstance().convert(value, context);
                 break;
         }
-        if(readOnly){
-            return Collections.unmodifiableSet(result);
-        }
         return result;
     }
 }
@@ -43,8 +43,11 @@ public class ShortArrayConverter implements PropertyConverter<short[]> {
 
     @Override
     public short[] convert(String value, ConversionContext context) {
-        Object array = CollectionConverter.convertArray(context);
-        return (short[])array;
+        short[] result = PrimitiveArrays.toShortArray(context);
+        if (result != null) {
+            return result;
+        }
+        return (short[]) CollectionConverter.convertArray(context);
     }
 
 }
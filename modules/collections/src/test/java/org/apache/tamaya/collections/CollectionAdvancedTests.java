@@ -80,6 +80,23 @@ public class CollectionAdvancedTests {
         assertThat(items).isNotNull().isNotEmpty().hasSize(3).containsExactly("(A)", "(B)", "(C)");
     }
 
+    /**
+     * Tests, that the custom parser is instantiated once per conversion, Config is as follows:
+     * <pre>
+     *  counting-list=a,b,c
+     *  [(META)counting-list].collection-type=List
+     *  [(META)counting-list].item-converter=org.apache.tamaya.collections.MyCountingConverter
+     * </pre>
+     */
+    @Test
+    public void testCustomParser_OncePerConversion(){
+        Configuration config = Configuration.current();
+        List<String> items = config.get("counting-list", new TypeLiteral<List<String>>(){});
+        assertThat(items).containsExactly("a-1", "b-2", "c-3");
+        items = config.get("counting-list", new TypeLiteral<List<String>>(){});
+        assertThat(items).containsExactly("a-1", "b-2", "c-3");
+    }
+
     /**
      * Redefined mapProperties format parsing, Config is as follows:
      * <pre>
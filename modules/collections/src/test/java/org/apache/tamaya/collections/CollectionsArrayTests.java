@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.collections;
+
+import org.apache.tamaya.Configuration;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the primitive array converters. Relevant configs for this tests:
+ * <pre>primitive.ints=1, -2,3 ,0x10,2147483647
+ * primitive.doubles=1.5, -2, 1e3, .5
+ * </pre>
+ */
+public class CollectionsArrayTests {
+
+    @Test
+    public void testIntArray(){
+        int[] items = Configuration.current().get("primitive.ints", int[].class);
+        assertThat(items).containsExactly(1, -2, 3, 16, Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testIntArray_ItemSeparator(){
+        int[] items = Configuration.current().get("primitive.items", int[].class);
+        assertThat(items).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void testShortArray(){
+        short[] items = Configuration.current().get("primitive.shorts", short[].class);
+        assertThat(items).containsExactly((short) 1, Short.MIN_VALUE, Short.MAX_VALUE);
+    }
+
+    @Test
+    public void testByteArray(){
+        byte[] items = Configuration.current().get("primitive.bytes", byte[].class);
+        assertThat(items).containsExactly((byte) 1, Byte.MIN_VALUE, Byte.MAX_VALUE);
+    }
+
+    @Test
+    public void testLongArray(){
+        long[] items = Configuration.current().get("primitive.longs", long[].class);
+        assertThat(items).containsExactly(1L, Long.MIN_VALUE, 42L);
+    }
+
+    @Test
+    public void testDoubleArray(){
+        double[] items = Configuration.current().get("primitive.doubles", double[].class);
+        assertThat(items).containsExactly(1.5, -2.0, 1000.0, 0.5);
+    }
+
+    @Test
+    public void testIntArray_BaseItems(){
+        int[] items = Configuration.current().get("base.items", int[].class);
+        assertThat(items).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 0);
+    }
+}
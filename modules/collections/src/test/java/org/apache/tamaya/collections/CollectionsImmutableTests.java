@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.collections;
+
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.TypeLiteral;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for immutable, shared collections. Relevant configs for this tests:
+ * <pre>shared.list=1,2,3
+ * [(META)shared.list].immutable=true
+ * shared.set=a,b,a,c
+ * [(META)shared.set].immutable=true
+ * shared.map=1:a, 2:b, 3:c
+ * [(META)shared.map].immutable=true
+ * </pre>
+ */
+public class CollectionsImmutableTests {
+
+    @Test
+    public void testList_IsShared(){
+        Configuration config = Configuration.current();
+        List<Integer> items = config.get("shared.list", new TypeLiteral<List<Integer>>(){});
+        assertThat(items).containsExactly(1, 2, 3);
+        assertThat(config.get("shared.list", new TypeLiteral<List<Integer>>(){})).isSameAs(items);
+        assertThatThrownBy(() -> items.add(4)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testList_TypeIsPartOfKey(){
+        Configuration config = Configuration.current();
+        List<String> items = config.get("shared.list", new TypeLiteral<List<String>>(){});
+        assertThat(items).containsExactly("1", "2", "3");
+        assertThat((Object) config.get("shared.list", new TypeLiteral<List<Integer>>(){})).isNotSameAs(items);
+    }
+
+    @Test
+    public void testSet_IsShared(){
+        Configuration config = Configuration.current();
+        Set<String> items = config.get("shared.set", new TypeLiteral<Set<String>>(){});
+        assertThat(items).hasSize(3).contains("a", "b", "c").doesNotContain("d");
+        assertThat(config.get("shared.set", new TypeLiteral<Set<String>>(){})).isSameAs(items);
+        assertThatThrownBy(() -> items.remove("a")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testCollection_IsShared(){
+        Configuration config = Configuration.current();
+        Collection<String> items = config.get("shared.list", new TypeLiteral<Collection<String>>(){});
+        assertThat(items).containsExactly("1", "2", "3");
+        assertThat(config.get("shared.list", new TypeLiteral<Collection<String>>(){})).isSameAs(items);
+    }
+
+    @Test
+    public void testMap_IsShared(){
+        Configuration config = Configuration.current();
+        Map<String,String> items = config.get("shared.map", new TypeLiteral<Map<String,String>>(){});
+        assertThat(items).hasSize(3)
+                .containsEntry("1", "a")
+                .containsEntry("2", "b")
+                .containsEntry("3", "c");
+        assertThat(items.get("4")).isNull();
+        assertThat(config.get("shared.map", new TypeLiteral<Map<String,String>>(){})).isSameAs(items);
+        assertThatThrownBy(() -> items.put("4", "d")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testDefault_IsMutable(){
+        Configuration config = Configuration.current();
+        List<String> items = config.get("base.items", new TypeLiteral<List<String>>(){});
+        assertThat(config.get("base.items", new TypeLiteral<List<String>>(){})).isNotSameAs(items);
+        items.add("11");
+    }
+}
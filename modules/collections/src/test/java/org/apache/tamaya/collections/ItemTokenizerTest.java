@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.collections;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ItemTokenizer}.
+ */
+public class ItemTokenizerTest {
+
+    @Test
+    public void split(){
+        assertThat(ItemTokenizer.split("a,b, c", ",")).containsExactly("a", "b", " c");
+        assertThat(ItemTokenizer.split("a||b", "||")).containsExactly("a", "b");
+        assertThat(ItemTokenizer.split("", ",")).isEmpty();
+        assertThat(ItemTokenizer.split("a,b", "")).containsExactly("a,b");
+    }
+
+    @Test
+    public void split_EmptyItems(){
+        assertThat(ItemTokenizer.split(",a,,b,", ",")).containsExactly("", "a", "", "b");
+    }
+
+    @Test
+    public void split_EscapedSeparator(){
+        assertThat(ItemTokenizer.split("a\\,b,c", ",")).containsExactly("a,b", "c");
+        assertThat(ItemTokenizer.split("a,b\\,c", ",")).containsExactly("a", "b,c");
+        assertThat(ItemTokenizer.split("a\\||b||c", "||")).containsExactly("a||b", "c");
+        assertThat(ItemTokenizer.split("a\\b,c", ",")).containsExactly("a\\b", "c");
+    }
+
+    @Test
+    public void forEachItem_Quoted(){
+        List<String> items = new ArrayList<>();
+        ItemTokenizer.forEachItem(" \"a,b\" ,c,\"d\\\"e\",\"f", ",", true, items::add);
+        assertThat(items).containsExactly("a,b", "c", "d\"e", "f");
+    }
+
+    @Test
+    public void forEachItem_QuotesIgnoredByDefault(){
+        List<String> items = new ArrayList<>();
+        ItemTokenizer.forEachItem("\"a,b\"", ",", false, items::add);
+        assertThat(items).containsExactly("\"a", "b\"");
+    }
+
+    @Test
+    public void splitMapEntry(){
+        assertThat(ItemTokenizer.splitMapEntry(" 1 : a ", ":")).containsExactly("1", "a");
+        assertThat(ItemTokenizer.splitMapEntry("[4: ]", ":")).containsExactly("4", " ");
+        assertThat(ItemTokenizer.splitMapEntry("[4: ] ", ":")).containsExactly("4", " ");
+        assertThat(ItemTokenizer.splitMapEntry(" a ", ":")).containsExactly("a", "a");
+        assertThat(ItemTokenizer.splitMapEntry("0==none", "==")).containsExactly("0", "none");
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.collections;
+
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.TypeLiteral;
+import org.apache.tamaya.spi.ConversionContext;
+import org.apache.tamaya.spi.PropertyValue;
+
+import java.util.function.Function;
+
+/**
+ * Simple throughput benchmark comparing the primitive array conversion with the generic
+ * {@link CollectionConverter#convertArray(ConversionContext)} path for arrays with 10k elements. Run with
+ * {@code main}; it is not run as part of the test suite.
+ */
+public final class PrimitiveArrayBenchmark {
+
+    private static final int ELEMENTS = 10_000;
+    private static final int WARMUP = 200;
+    private static final int RUNS = 1_000;
+
+    private PrimitiveArrayBenchmark(){}
+
+    public static void main(String... args) {
+        StringBuilder ints = new StringBuilder();
+        StringBuilder doubles = new StringBuilder();
+        for (int i = 0; i < ELEMENTS; i++) {
+            if (i > 0) {
+                ints.append(',');
+                doubles.append(',');
+            }
+            ints.append(i * 31 - 50_000);
+            doubles.append(i * 0.25);
+        }
+        ConversionContext intContext = createContext(ints.toString(), int[].class);
+        ConversionContext longContext = createContext(ints.toString(), long[].class);
+        ConversionContext doubleContext = createContext(doubles.toString(), double[].class);
+        run("int[] (generic)", intContext, CollectionConverter::convertArray);
+        run("int[] (primitive)", intContext, PrimitiveArrays::toIntArray);
+        run("long[] (generic)", longContext, CollectionConverter::convertArray);
+        run("long[] (primitive)", longContext, PrimitiveArrays::toLongArray);
+        run("double[] (generic)", doubleContext, CollectionConverter::convertArray);
+        run("double[] (primitive)", doubleContext, PrimitiveArrays::toDoubleArray);
+    }
+
+    private static ConversionContext createContext(String value, Class<?> arrayType) {
+        return new ConversionContext.Builder(Configuration.current(), "bench", TypeLiteral.of(arrayType))
+                .setValues(PropertyValue.createValue("bench", value))
+                .build();
+    }
+
+    private static void run(String name, ConversionContext context, Function<ConversionContext, Object> converter) {
+        Object result = null;
+        for (int i = 0; i < WARMUP; i++) {
+            result = converter.apply(context);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            result = converter.apply(context);
+        }
+        long avgMicros = (System.nanoTime() - start) / RUNS / 1_000L;
+        System.out.println(name + ": " + avgMicros + " us/op (" + (result != null) + ")");
+    }
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.tamaya.format;
 
+import org.apache.tamaya.resource.ParallelLoader;
 import org.apache.tamaya.spi.PropertySource;
 import org.apache.tamaya.spi.PropertySourceProvider;
 
@@ -53,6 +54,10 @@ public abstract class BaseFormatPropertySourceProvider implements PropertySource
      * The paths to be evaluated.
      */
     private final Collection<URL> paths = new ArrayList<>();
+    /**
+     * The number of threads used for reading the resources.
+     */
+    private int parallelism = ParallelLoader.getDefaultParallelism();
 
     /**
      * Creates a new instance.
@@ -138,17 +143,39 @@ public abstract class BaseFormatPropertySourceProvider implements PropertySource
     @Override
     public Collection<PropertySource> getPropertySources() {
         List<PropertySource> propertySources = new ArrayList<>();
-        for (URL res : this.paths) {
-            try{
-                for (ConfigurationFormat format : configFormats) {
-                    try (InputStream inputStream = res.openStream()){
-                        if (format.accepts(res)) {
-                            ConfigurationData data = format.readConfiguration(res.toString(), inputStream);
-                            propertySources.addAll(getPropertySources(data));
-                        }
-                    } catch (Exception e) {
-                        LOG.log(Level.WARNING, "Failed to put resource based config: " + res, e);
-                    }
+        for (List<PropertySource> read : ParallelLoader.loadAll(this.paths, parallelism, this::readPropertySources)) {
+            if (read != null) {
+                propertySources.addAll(read);
+            }
+        }
+        return propertySources;
+    }
+
+    /**
+     * Get the number of threads used for reading the resources.
+     * @return the parallelism level, 1 if resources are read sequentially.
+     * @see ParallelLoader#PARALLELISM_PROP
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the number of threads used for reading the resources. The order of the property sources
+     * returned does not depend on this setting.
+     * @param parallelism the parallelism level, values less than 2 read the resources sequentially.
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    private List<PropertySource> readPropertySources(URL res) {
+        List<PropertySource> propertySources = new ArrayList<>();
+        for (ConfigurationFormat format : configFormats) {
+            try (InputStream inputStream = res.openStream()){
+                if (format.accepts(res)) {
+                    ConfigurationData data = format.readConfiguration(res.toString(), inputStream);
+                    propertySources.addAll(getPropertySources(data));
                 }
             } catch (Exception e) {
                 LOG.log(Level.WARNING, "Failed to put resource based config: " + res, e);
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.format;
+
+import org.apache.tamaya.events.ConfigEventManager;
+import org.apache.tamaya.events.PropertySourceChange;
+import org.apache.tamaya.events.PropertySourceChangeBuilder;
+import org.apache.tamaya.spi.PropertySource;
+
+/**
+ * Publishes {@link PropertySourceChange} events for a {@link ReloadablePropertySource}. This class is only
+ * loaded, if the events module is available.
+ */
+final class ChangePublisher {
+
+    private ChangePublisher(){}
+
+    /**
+     * Evaluates the change event, before the new state is applied to the property source.
+     * @param source the property source, still containing the current state, not null.
+     * @param newState the new state, not null.
+     * @return the action publishing the change, or null, if nothing has changed.
+     */
+    static Runnable prepare(PropertySource source, PropertySource newState) {
+        final PropertySourceChange change = PropertySourceChangeBuilder.of(source)
+                .addChanges(newState).build();
+        if (change.isEmpty()) {
+            return null;
+        }
+        return () -> ConfigEventManager.getInstance().fireEvent(change);
+    }
+}
@@ -100,12 +100,28 @@ public final class ConfigurationData {
 
     /**
      * Creates a {@link PropertySource} from the given property data.
-     * @return a corresponding property source, never nhull.
+     * @return a corresponding property source, never null.
      */
     public PropertySource toPropertySource() {
         return new MappedConfigurationDataPropertySource(this).setChangeSupport(ChangeSupport.IMMUTABLE);
     }
 
+    /**
+     * Creates a {@link PropertySource} from the given property data.
+     * @param lazy if true, a lazy property source is created, which creates values on access and only keeps
+     *             the leaf nodes of this data instance.
+     * @return a corresponding property source, never null.
+     * @see MappedConfigurationDataPropertySource#isLazy()
+     */
+    public PropertySource toPropertySource(boolean lazy) {
+        if(!lazy){
+            return toPropertySource();
+        }
+        final ConfigurationData data = this;
+        return new MappedConfigurationDataPropertySource(resource, 0, () -> data, true, false)
+                .setChangeSupport(ChangeSupport.IMMUTABLE);
+    }
+
     @Override
     public String toString() {
         return "ConfigurationData{" +
@@ -23,6 +23,7 @@ import org.apache.tamaya.spi.PropertyValue;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
 
 /**
  * <p>Implementations current this class encapsulate the mechanism how to read a
@@ -56,6 +57,18 @@ public interface ConfigurationFormat {
      */
     boolean accepts(URL url);
 
+    /**
+     * Allows the format to examine the beginning of a resource before it is parsed, e.g. for a leading
+     * {@code <} or <code>{</code>. This is used to select the format to be used, if several formats accept the
+     * resource's URL, so formats should only reject content they definitively can not read.
+     * @param header the first bytes of the resource (typically up to 512 bytes), not null. The buffer
+     *               is read-only and may be consumed.
+     * @return true, if the content may be readable by this format. The default implementation returns true.
+     */
+    default boolean acceptsContent(ByteBuffer header) {
+        return true;
+    }
+
 
     /**
      * Reads a configuration from an URL, hereby parsing the given {@link java.io.InputStream}. Dependening on
@@ -18,9 +18,17 @@
  */
 package org.apache.tamaya.format;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -32,18 +40,29 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.apache.tamaya.ConfigException;
+import org.apache.tamaya.resource.ParallelLoader;
 import org.apache.tamaya.spi.PropertySource;
 import org.apache.tamaya.spi.ServiceContextManager;
 
 /**
  * Small accessor and management class dealing with {@link org.apache.tamaya.format.ConfigurationFormat}
  * instances.
+ * <p>
+ * Before a resource is parsed, the formats to be tried are narrowed down using
+ * {@link ConfigurationFormat#accepts(URL)} and {@link ConfigurationFormat#acceptsContent(ByteBuffer)} on the first
+ * bytes of the resource. If only one format remains, the resource is streamed to it without being copied. Otherwise
+ * local files are read through a {@link FileChannel} into a heap buffer and other resources are copied into memory,
+ * so every format can read the content.
  */
 public final class ConfigurationFormats {
     /**
      * The logger used.
      */
     private static final Logger LOG = Logger.getLogger(ConfigurationFormats.class.getName());
+    /**
+     * The number of bytes passed to {@link ConfigurationFormat#acceptsContent(ByteBuffer)}.
+     */
+    private static final int HEADER_SIZE = 512;
 
     private ClassLoader classLoader;
 
@@ -150,7 +169,21 @@ public final class ConfigurationFormats {
      * @throws IOException if the resource cannot be read.
      */
     public ConfigurationData readConfigurationData(URL url, Collection<ConfigurationFormat> formats) throws IOException {
-        return readConfigurationData(url.toString(), url.openStream(), formats);
+        Path file = toLocalFile(url);
+        if (file == null) {
+            return readConfigurationData(url.toString(), url.openStream(), formats);
+        }
+        List<ConfigurationFormat> candidates = filterByUrl(url, resolveFormats(formats));
+        if (candidates.size() > 1) {
+            candidates = filterByContent(candidates, readFileHeader(file));
+        }
+        if (candidates.size() <= 1) {
+            return readConfigurationData(url.toString(), candidates,
+                    () -> new BufferedInputStream(Files.newInputStream(file)));
+        }
+        final ByteBuffer content = readFile(file);
+        return readConfigurationData(url.toString(), candidates,
+                () -> new ByteBufferInputStream(content.duplicate()));
     }
 
     /**
@@ -170,15 +203,32 @@ public final class ConfigurationFormats {
      * given formats.
      */
     public Collection<ConfigurationData> readConfigurationData(Collection<URL> urls, Collection<ConfigurationFormat> formats) {
+        return readConfigurationData(urls, formats, ParallelLoader.getDefaultParallelism());
+    }
+
+    /**
+     * Reads the given urls using up to {@code parallelism} threads. The data is returned in the order of the urls.
+     *
+     * @param urls    the urls from where to read, not null.
+     * @param formats the formats to try.
+     * @param parallelism the maximal number of threads used, values less than 2 read the urls sequentially.
+     * @return the {@link org.apache.tamaya.format.ConfigurationData} of the files successfully decoded by the
+     * given formats.
+     * @see ParallelLoader#PARALLELISM_PROP
+     */
+    public Collection<ConfigurationData> readConfigurationData(Collection<URL> urls, Collection<ConfigurationFormat> formats,
+                                                               int parallelism) {
         final List<ConfigurationData> dataRead = new ArrayList<>();
-        for (final URL url : urls) {
+        for (ConfigurationData data : ParallelLoader.loadAll(urls, parallelism, url -> {
             try {
-                final ConfigurationData data = readConfigurationData(url, formats);
-                if (data != null) {
-                    dataRead.add(data);
-                }
+                return readConfigurationData(url, formats);
             } catch (final Exception e) {
                 LOG.log(Level.SEVERE, "Error reading file: " + url.toExternalForm(), e);
+                return null;
+            }
+        })) {
+            if (data != null) {
+                dataRead.add(data);
             }
         }
         return dataRead;
@@ -211,25 +261,207 @@ public final class ConfigurationFormats {
     public ConfigurationData readConfigurationData(String resource, InputStream inputStream,
                                                           Collection<ConfigurationFormat> formats) throws IOException {
         Objects.requireNonNull(resource, "Config resource required for traceability.");
-        if(formats.isEmpty()){
-            formats = getFormats();
+        Objects.requireNonNull(inputStream);
+        List<ConfigurationFormat> candidates = resolveFormats(formats);
+        try {
+            candidates = filterByUrl(new URL(resource), candidates);
+        } catch (MalformedURLException e) {
+            // not an URL, no extension to be evaluated
+        }
+        InputStream input = inputStream;
+        if (candidates.size() > 1) {
+            BufferedInputStream bufferedInput = new BufferedInputStream(inputStream, HEADER_SIZE);
+            candidates = filterByContent(candidates, readHeader(bufferedInput));
+            input = bufferedInput;
         }
-        try(InputStreamFactory isFactory = new InputStreamFactory(Objects.requireNonNull(inputStream))) {
-            for (final ConfigurationFormat format : formats) {
-                try (InputStream is = isFactory.createInputStream()) {
-                    final ConfigurationData data = format.readConfiguration(resource, is);
-                    if (data != null) {
-                        return data;
-                    }
-                } catch (final Exception e) {
-                    LOG.log(Level.INFO,
-                            "Format " + format.getClass().getName() + " failed to read resource " + resource, e);
+        if (candidates.size() <= 1) {
+            final InputStream singleInput = input;
+            try {
+                return readConfigurationData(resource, candidates, () -> singleInput);
+            } finally {
+                closeQuietly(singleInput);
+            }
+        }
+        try (InputStreamFactory isFactory = new InputStreamFactory(input)) {
+            return readConfigurationData(resource, candidates, isFactory::createInputStream);
+        }
+    }
+
+    /**
+     * Tries the given formats in order, each one on a new stream created.
+     * @param resource the resource name, not null.
+     * @param formats the formats to try.
+     * @param inputSupplier the supplier of the input streams.
+     * @return the data read by the first successful format, or null.
+     */
+    private ConfigurationData readConfigurationData(String resource, List<ConfigurationFormat> formats,
+                                                    InputSupplier inputSupplier) throws IOException {
+        Exception failure = null;
+        for (final ConfigurationFormat format : formats) {
+            try (InputStream is = inputSupplier.get()) {
+                final ConfigurationData data = format.readConfiguration(resource, is);
+                if (data != null) {
+                    return data;
                 }
+            } catch (final Exception e) {
+                failure = e;
+                LOG.log(Level.FINE,
+                        "Format " + format.getClass().getName() + " failed to read resource " + resource, e);
             }
         }
+        if (failure != null) {
+            LOG.log(Level.INFO, "No format of " + formats + " could read resource " + resource, failure);
+        }
         return null;
     }
 
+    private List<ConfigurationFormat> resolveFormats(Collection<ConfigurationFormat> formats) {
+        if (formats.isEmpty()) {
+            return getFormats();
+        }
+        return new ArrayList<>(formats);
+    }
+
+    /**
+     * Filters the formats by {@link ConfigurationFormat#accepts(URL)}, if no format accepts the URL,
+     * all formats are returned.
+     */
+    private static List<ConfigurationFormat> filterByUrl(URL url, List<ConfigurationFormat> formats) {
+        if (formats.size() <= 1) {
+            return formats;
+        }
+        List<ConfigurationFormat> result = new ArrayList<>(formats.size());
+        for (ConfigurationFormat format : formats) {
+            if (format.accepts(url)) {
+                result.add(format);
+            }
+        }
+        return result.isEmpty() ? formats : result;
+    }
+
+    /**
+     * Filters the formats by {@link ConfigurationFormat#acceptsContent(ByteBuffer)}, if no format accepts the
+     * content, all formats are returned.
+     */
+    private static List<ConfigurationFormat> filterByContent(List<ConfigurationFormat> formats, ByteBuffer content) {
+        if (formats.size() <= 1) {
+            return formats;
+        }
+        ByteBuffer header = content.asReadOnlyBuffer();
+        header.limit(Math.min(header.limit(), header.position() + HEADER_SIZE));
+        List<ConfigurationFormat> result = new ArrayList<>(formats.size());
+        for (ConfigurationFormat format : formats) {
+            try {
+                if (format.acceptsContent(header.duplicate())) {
+                    result.add(format);
+                }
+            } catch (Exception e) {
+                LOG.log(Level.FINEST, "Format " + format.getName() + " failed to evaluate content.", e);
+                result.add(format);
+            }
+        }
+        return result.isEmpty() ? formats : result;
+    }
+
+    /**
+     * Get the first byte of the given header, which is not part of an UTF-8 byte order mark or whitespace. This
+     * allows formats to implement {@link ConfigurationFormat#acceptsContent(ByteBuffer)} by checking for the
+     * leading character of their syntax.
+     * @param header the header, not null. The header is consumed.
+     * @return the first content byte, or -1, if the header has no content or is not UTF-8 (or ASCII) encoded, so
+     * it can not be examined.
+     */
+    public static int firstContentByte(ByteBuffer header) {
+        while (header.hasRemaining()) {
+            int b = header.get() & 0xFF;
+            if (b == 0xFE || b == 0xFF || b == 0x00) {
+                // UTF-16 or UTF-32, not examined
+                return -1;
+            }
+            if (b != 0xEF && b != 0xBB && b != 0xBF && !Character.isWhitespace(b)) {
+                return b;
+            }
+        }
+        return -1;
+    }
+
+    private static ByteBuffer readHeader(BufferedInputStream input) throws IOException {
+        byte[] header = new byte[HEADER_SIZE];
+        input.mark(HEADER_SIZE);
+        int count = 0;
+        int read;
+        while (count < HEADER_SIZE && (read = input.read(header, count, HEADER_SIZE - count)) > 0) {
+            count += read;
+        }
+        input.reset();
+        return ByteBuffer.wrap(header, 0, count);
+    }
+
+    /**
+     * Evaluates the local file of an URL.
+     * @return the file, or null, if the URL is not a local regular file.
+     */
+    private static Path toLocalFile(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            Path path = Paths.get(url.toURI());
+            return Files.isRegularFile(path) ? path : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the first bytes of a local file.
+     */
+    private static ByteBuffer readFileHeader(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // read the header
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    /**
+     * Reads a local file through a {@link FileChannel}. The file is not mapped into memory, since a mapping keeps
+     * the file locked on some platforms until it is garbage collected, which prevents editing reloadable files.
+     */
+    private static ByteBuffer readFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File too large: " + file);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // read fully
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    private static void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            LOG.log(Level.FINEST, "Error closing stream: " + inputStream, e);
+        }
+    }
+
+    /**
+     * Supplier of the input streams passed to the formats.
+     */
+    @FunctionalInterface
+    private interface InputSupplier {
+        InputStream get() throws IOException;
+    }
+
     /**
      * Tries to read configuration data from a given URL, hereby explicitly trying all given formats
      * in order and transforms it into a {@link PropertySource} using a default mapping.
@@ -242,7 +474,7 @@ public final class ConfigurationFormats {
      * @throws IOException if the URL's stream can not be opened.
      */
     public PropertySource createPropertySource(URL url, ConfigurationFormat... formats)throws IOException{
-        return createPropertySource(url.toString(), url.openStream(), formats);
+        return createPropertySource(url, Arrays.asList(formats));
     }
 
     /**
@@ -257,7 +489,7 @@ public final class ConfigurationFormats {
      * @throws IOException if the URL's stream can not be opened.
      */
     public PropertySource createPropertySource(URL url, Collection<ConfigurationFormat> formats)throws IOException{
-        return createPropertySource(url.toString(), url.openStream(), formats);
+        return toPropertySource(url.toString(), readConfigurationData(url, formats), formats);
     }
 
     /**
@@ -291,25 +523,20 @@ public final class ConfigurationFormats {
     public PropertySource createPropertySource(String resource, InputStream inputStream,
                                                        Collection<ConfigurationFormat> formats) {
         Objects.requireNonNull(resource, "Config resource required for traceability.");
-        try(InputStreamFactory isFactory = new InputStreamFactory(Objects.requireNonNull(inputStream))) {
-            if(formats.isEmpty()){
-                formats = getFormats();
-            }
-            for (final ConfigurationFormat format : formats) {
-                try (InputStream is = isFactory.createInputStream()) {
-                    final ConfigurationData data = format.readConfiguration(resource, is);
-                    if (data != null) {
-                        return new MappedConfigurationDataPropertySource(data);
-                    }
-                } catch (final Exception e) {
-                    LOG.log(Level.INFO,
-                            "Format " + format.getClass().getName() + " failed to read resource " + resource, e);
-                }
-            }
+        try {
+            return toPropertySource(resource, readConfigurationData(resource, inputStream, formats), formats);
         }catch(IOException ioe){
             throw new ConfigException("Failed to read from input stream for "+resource, ioe);
         }
-        throw new ConfigException("No matching format found for "+resource+", tried: "+ formats);
+    }
+
+    private PropertySource toPropertySource(String resource, ConfigurationData data,
+                                            Collection<ConfigurationFormat> formats) {
+        if (data == null) {
+            throw new ConfigException("No matching format found for " + resource + ", tried: " +
+                    (formats.isEmpty() ? getFormats() : formats));
+        }
+        return new MappedConfigurationDataPropertySource(data);
     }
 
 
@@ -19,6 +19,8 @@
 package org.apache.tamaya.format;
 
 import org.apache.tamaya.functions.Supplier;
+import org.apache.tamaya.resource.KeyPool;
+import org.apache.tamaya.resource.MetadataTemplate;
 import org.apache.tamaya.spi.PropertyValue;
 import org.apache.tamaya.spisupport.propertysource.BasePropertySource;
 
@@ -32,11 +34,23 @@ import java.util.logging.Logger;
  * Mapped PropertySource that uses the flattened config data read from an URL by a
  * {@link org.apache.tamaya.format.ConfigurationFormat}. Use of a {@link Supplier}
  * allows deferring the load until a resource is available.
+ * <p>
+ * In <i>lazy</i> mode only the key paths are indexed on load, each referencing its leaf node in the parsed data
+ * tree, so no values are copied. The {@link PropertyValue}s are created on access from the node's value and a
+ * single {@link MetadataTemplate}, so the metadata is held once for the whole source and not once per value.
+ * Hereby {@link #populateData(ConfigurationData, Map)} is not called. If the data is not <i>retained</i>, the
+ * reference to the supplier is dropped after the first load, so only the indexed leaf nodes of the tree remain.
  */
 public class MappedConfigurationDataPropertySource extends BasePropertySource {
     private static final Logger LOG = Logger.getLogger(MappedConfigurationDataPropertySource.class.getName());
     private Map<String, PropertyValue> properties = new HashMap<>();
-    private final Supplier<ConfigurationData> dataSupplier;
+    private volatile Supplier<ConfigurationData> dataSupplier;
+    /** Flag, if values are created on first access. */
+    private final boolean lazy;
+    /** Flag, if the data supplier is kept for reloading. */
+    private final boolean retainData;
+    /** The values of the indexed leaf nodes in lazy mode, created on access. */
+    private volatile Map<String, PropertyValue> values = Collections.emptyMap();
 
     /*
      * Constructor, uses hereby the flattened config data read from an URL by a
@@ -79,14 +93,43 @@ public class MappedConfigurationDataPropertySource extends BasePropertySource {
      * @see ConfigurationData#getCombinedProperties()
      */
     public MappedConfigurationDataPropertySource(String name, int defaultOrdinal, Supplier<ConfigurationData> dataSupplier) {
+        this(name, defaultOrdinal, dataSupplier, false, true);
+    }
+
+    /**
+     * Constructor, uses hereby the flattened config data read from an URL by a
+     * ${@link org.apache.tamaya.format.ConfigurationFormat}.
+     * @param name the name of the property source, not null.
+     * @param defaultOrdinal the default ordinal.
+     * @param dataSupplier the supplier of the data, not null.
+     * @param lazy if true, values are created on first access.
+     * @param retainData if false, the supplier is released after the first load, so {@link #load()} can not
+     *                   reload the data.
+     */
+    public MappedConfigurationDataPropertySource(String name, int defaultOrdinal, Supplier<ConfigurationData> dataSupplier,
+                                                 boolean lazy, boolean retainData) {
         super(defaultOrdinal);
         setName(name);
         this.dataSupplier = dataSupplier;
+        this.lazy = lazy;
+        this.retainData = retainData;
         load();
     }
 
+    /**
+     * Checks if values are created on first access.
+     * @return true, if this property source is lazy.
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
     public void load(){
-        ConfigurationData data = dataSupplier.get();
+        Supplier<ConfigurationData> supplier = this.dataSupplier;
+        if(supplier==null){
+            return;
+        }
+        ConfigurationData data = supplier.get();
         if(data==null){
             return;
         }
@@ -94,7 +137,23 @@ public class MappedConfigurationDataPropertySource extends BasePropertySource {
         meta.put("source", data.getResource());
         meta.put("timestamp",String.valueOf(System.currentTimeMillis()));
         try{
-            this.properties.putAll(populateData(data, meta));
+            if(lazy){
+                Map<String, PropertyValue> index = new HashMap<>();
+                for(PropertyValue val:data.getData()) {
+                    if(!val.getKey().isEmpty()) {
+                        indexNode(val, index);
+                    }
+                    for(PropertyValue child:val) {
+                        indexNode(child, index);
+                    }
+                }
+                this.values = MetadataTemplate.of(meta).createView(index);
+            }else {
+                this.properties.putAll(populateData(data, meta));
+            }
+            if(!retainData){
+                this.dataSupplier = null;
+            }
         }catch(Exception e){
             LOG.log(Level.INFO, "Failed to load property source: " + getName(), e);
             if(this.properties==null) {
@@ -142,20 +201,43 @@ public class MappedConfigurationDataPropertySource extends BasePropertySource {
         }
     }
 
+    private void indexNode(PropertyValue val, Map<String, PropertyValue> index){
+        if(val.isLeaf()){
+            index.put(KeyPool.intern(val.getQualifiedKey()), val);
+        }else{
+            for(PropertyValue child:val) {
+                indexNode(child, index);
+            }
+        }
+    }
+
     @Override
     public PropertyValue get(String key) {
-       return properties.get(key);
+        PropertyValue value = properties.get(key);
+        if(value!=null || !lazy){
+            return value;
+        }
+        return values.get(key);
     }
 
     @Override
     public Map<String, PropertyValue> getProperties() {
-        return Collections.unmodifiableMap(properties);
+        if(!lazy){
+            return Collections.unmodifiableMap(properties);
+        }
+        if(properties.isEmpty()){
+            return values;
+        }
+        Map<String, PropertyValue> result = new HashMap<>(values);
+        result.putAll(properties);
+        return Collections.unmodifiableMap(result);
     }
 
     @Override
     protected String toStringValues() {
         return  super.toStringValues() +
-                "  dataSupplier=" + dataSupplier + '\n';
+                "  dataSupplier=" + dataSupplier + '\n' +
+                "  lazy=" + lazy + '\n';
     }
 
 }
@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.format;
+
+import org.apache.tamaya.resource.KeyPool;
+import org.apache.tamaya.resource.MetadataTemplate;
+import org.apache.tamaya.spi.ChangeSupport;
+import org.apache.tamaya.spi.PropertySource;
+import org.apache.tamaya.spi.PropertyValue;
+import org.apache.tamaya.spisupport.propertysource.BasePropertySource;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * PropertySource reading a local file with a {@link ConfigurationFormat}, which is reloaded, when the file
+ * changes. The file is registered with a {@link java.nio.file.WatchService} shared by all instances, on a change
+ * only the changed file is parsed again and its values are indexed directly from the parsed
+ * {@link ConfigurationData}. The new values are applied by atomically replacing the value map, so
+ * readers are never blocked by a reload. If the file can not be read or parsed, the current values are kept.
+ * <p>
+ * If the events module is available, a {@link org.apache.tamaya.events.PropertySourceChange} is published
+ * for every reload changing any value.
+ * <p>
+ * Instances must be {@link #close() closed}, when not used anymore, to stop watching the file.
+ */
+public class ReloadablePropertySource extends BasePropertySource implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(ReloadablePropertySource.class.getName());
+
+    /** Flag, if the events module is available. */
+    private static final boolean EVENTS_AVAILABLE = isEventsAvailable();
+
+    private final Path file;
+    private final URL url;
+    private final List<ConfigurationFormat> formats;
+    /** The current values, replaced as a whole on reload. */
+    private volatile Map<String, PropertyValue> properties = Collections.emptyMap();
+    /** Lock serializing reloads, never used by readers. */
+    private final Object reloadLock = new Object();
+    /** The modification timestamp and size of the file last loaded. */
+    private long lastModified = -1L;
+    private long lastSize = -1L;
+    private final Runnable watchListener = this::reloadIfModified;
+    private volatile boolean watching;
+
+    /**
+     * Creates a new instance and starts watching the file.
+     * @param file the file, not null.
+     * @param formats the formats to be used, if none are passed, all formats accepting the file are used.
+     */
+    public ReloadablePropertySource(Path file, ConfigurationFormat... formats) {
+        this(file, 0, Arrays.asList(formats));
+    }
+
+    /**
+     * Creates a new instance and starts watching the file.
+     * @param file the file, not null.
+     * @param defaultOrdinal the default ordinal.
+     * @param formats the formats to be used, if empty, all formats accepting the file are used.
+     */
+    public ReloadablePropertySource(Path file, int defaultOrdinal, Collection<ConfigurationFormat> formats) {
+        super(defaultOrdinal);
+        this.file = file.toAbsolutePath().normalize();
+        try {
+            this.url = this.file.toUri().toURL();
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid file: " + file, e);
+        }
+        this.formats = formats.isEmpty() ?
+                ConfigurationFormats.getInstance().getFormats(url) : new ArrayList<>(formats);
+        setName(url.toString());
+        setChangeSupport(ChangeSupport.SUPPORTED);
+        reload();
+        try {
+            ResourceWatcher.getInstance().register(this.file, watchListener);
+            this.watching = true;
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Failed to watch " + file + ", changes will not be reloaded.", e);
+        }
+    }
+
+    /**
+     * Creates a new instance for a {@code file:} URL.
+     * @param url the url, not null.
+     * @param defaultOrdinal the default ordinal.
+     * @param formats the formats to be used, if none are passed, all formats accepting the file are used.
+     * @return the new property source, never null.
+     * @throws IllegalArgumentException if the URL does not reference a local file.
+     */
+    public static ReloadablePropertySource of(URL url, int defaultOrdinal, ConfigurationFormat... formats) {
+        if (!"file".equals(url.getProtocol())) {
+            throw new IllegalArgumentException("Not a file URL: " + url);
+        }
+        try {
+            return new ReloadablePropertySource(Paths.get(url.toURI()), defaultOrdinal, Arrays.asList(formats));
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid file URL: " + url, e);
+        }
+    }
+
+    /**
+     * Get the file read.
+     * @return the file, never null.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Checks if the file is watched for changes.
+     * @return true, if changes are reloaded automatically.
+     */
+    public boolean isWatching() {
+        return watching;
+    }
+
+    /**
+     * Reads and parses the file, regardless if it has been modified, and applies the new values.
+     * @return true, if any value has changed.
+     */
+    public boolean reload() {
+        synchronized (reloadLock) {
+            long modified;
+            long size;
+            Map<String, PropertyValue> leaves = new HashMap<>();
+            try {
+                modified = Files.getLastModifiedTime(file).toMillis();
+                size = Files.size(file);
+                ConfigurationData data = ConfigurationFormats.getInstance().readConfigurationData(url, formats);
+                if (data == null) {
+                    LOG.warning("No format could read " + file + ", keeping current values.");
+                    return false;
+                }
+                for (PropertyValue value : data.getData()) {
+                    addLeaves(value, leaves);
+                }
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Failed to read " + file + ", keeping current values.", e);
+                return false;
+            }
+            this.lastModified = modified;
+            this.lastSize = size;
+            Map<String, PropertyValue> newProperties = Collections.unmodifiableMap(
+                    MetadataTemplate.of(url.toString()).createView(leaves));
+            if (newProperties.equals(this.properties)) {
+                return false;
+            }
+            Runnable publisher = null;
+            if (EVENTS_AVAILABLE) {
+                publisher = ChangePublisher.prepare(this, new Snapshot(getName(), newProperties));
+            }
+            this.properties = newProperties;
+            LOG.fine("Reloaded " + file);
+            if (publisher != null) {
+                try {
+                    publisher.run();
+                } catch (Exception e) {
+                    LOG.log(Level.WARNING, "Failed to publish change of " + file, e);
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Indexes all leaves of the given node by their qualified keys.
+     */
+    private static void addLeaves(PropertyValue node, Map<String, PropertyValue> leaves) {
+        if (node.isLeaf()) {
+            if (!node.getKey().isEmpty()) {
+                leaves.put(KeyPool.intern(node.getQualifiedKey()), node);
+            }
+        } else {
+            for (PropertyValue child : node) {
+                addLeaves(child, leaves);
+            }
+        }
+    }
+
+    /**
+     * Reloads the file, if its modification timestamp or size have changed since the last load.
+     */
+    private void reloadIfModified() {
+        synchronized (reloadLock) {
+            try {
+                if (Files.getLastModifiedTime(file).toMillis() == lastModified && Files.size(file) == lastSize) {
+                    return;
+                }
+            } catch (IOException e) {
+                LOG.log(Level.FINE, "Failed to access " + file, e);
+                return;
+            }
+            reload();
+        }
+    }
+
+    @Override
+    public PropertyValue get(String key) {
+        return properties.get(key);
+    }
+
+    @Override
+    public Map<String, PropertyValue> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Stops watching the file, the current values are kept.
+     */
+    @Override
+    public void close() {
+        ResourceWatcher.getInstance().unregister(file, watchListener);
+        this.watching = false;
+    }
+
+    @Override
+    protected String toStringValues() {
+        return super.toStringValues() +
+                "  file=" + file + '\n' +
+                "  watching=" + watching + '\n';
+    }
+
+    private static boolean isEventsAvailable() {
+        try {
+            Class.forName("org.apache.tamaya.events.PropertySourceChangeBuilder", false,
+                    ReloadablePropertySource.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            LOG.finest("Events module not available, no change events are published.");
+            return false;
+        }
+    }
+
+    /**
+     * Property source representing the new state of a reload.
+     */
+    private static final class Snapshot extends BasePropertySource {
+        private final Map<String, PropertyValue> properties;
+
+        Snapshot(String name, Map<String, PropertyValue> properties) {
+            super(name, 0);
+            this.properties = properties;
+        }
+
+        @Override
+        public Map<String, PropertyValue> getProperties() {
+            return properties;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.format;
+
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of the {@link ReloadablePropertySource}s created by a property source provider. Each local file is read
+ * and watched by one source only, which is reused for later lookups. Disabling reloading closes all sources
+ * created.
+ */
+public final class ReloadablePropertySources {
+
+    /** The sources created, by URL. */
+    private final Map<String, ReloadablePropertySource> sources = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    /**
+     * Checks if local files are reloaded, when they change.
+     * @return true, if {@link ReloadablePropertySource}s are created for local files.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables reloading of local files. Disabling reloading closes the sources created.
+     * @param enabled true, to reload local files on change.
+     */
+    public synchronized void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            for (ReloadablePropertySource source : sources.values()) {
+                source.close();
+            }
+            sources.clear();
+        }
+    }
+
+    /**
+     * Get the reloadable source for the given URL, creating it on first access.
+     * @param url the url, not null.
+     * @param format the format to read the file, not null.
+     * @return the source, or null, if reloading is disabled or the URL does not reference a local file.
+     */
+    public ReloadablePropertySource get(URL url, ConfigurationFormat format) {
+        if (!enabled || !"file".equals(url.getProtocol())) {
+            return null;
+        }
+        return sources.computeIfAbsent(url.toString(), u -> ReloadablePropertySource.of(url, 0, format));
+    }
+}
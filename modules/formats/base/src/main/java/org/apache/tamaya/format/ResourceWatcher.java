@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.format;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystem;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Shared watcher notifying listeners about changes of single files. A single {@link WatchService} (and
+ * polling thread) is created per {@link FileSystem} on first use and the parent directories of the watched
+ * files are registered with it. When the last file of a file system is unregistered, its watch service is closed,
+ * which also ends the polling thread. Listeners are called on the (daemon) watcher thread, so they should not
+ * block.
+ */
+final class ResourceWatcher {
+
+    private static final Logger LOG = Logger.getLogger(ResourceWatcher.class.getName());
+
+    private static final ResourceWatcher INSTANCE = new ResourceWatcher();
+
+    /** The watch services, by file system. */
+    private final Map<FileSystem, WatchService> services = new HashMap<>();
+    /** The registered directories. */
+    private final Map<Path, WatchKey> directories = new HashMap<>();
+    /** The listeners, by (absolute) file path. */
+    private final Map<Path, Set<Runnable>> listeners = new ConcurrentHashMap<>();
+
+    private ResourceWatcher(){}
+
+    /**
+     * Access the shared watcher instance.
+     * @return the watcher, never null.
+     */
+    static ResourceWatcher getInstance(){
+        return INSTANCE;
+    }
+
+    /**
+     * Registers a listener to be called, when the given file is created or modified.
+     * @param file the file, not null.
+     * @param listener the listener, not null.
+     * @throws IOException if the parent directory can not be watched.
+     */
+    synchronized void register(Path file, Runnable listener) throws IOException {
+        Path path = file.toAbsolutePath().normalize();
+        Path dir = path.getParent();
+        if (!directories.containsKey(dir)) {
+            WatchService service = services.get(dir.getFileSystem());
+            if (service == null) {
+                service = dir.getFileSystem().newWatchService();
+                services.put(dir.getFileSystem(), service);
+                startPolling(service);
+            }
+            directories.put(dir, dir.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY));
+        }
+        listeners.computeIfAbsent(path, p -> new CopyOnWriteArraySet<>()).add(listener);
+    }
+
+    /**
+     * Removes a listener. The parent directory is not watched anymore, if no other file in it is watched. The
+     * watch service of the file system is closed, if no directory of the file system is watched anymore.
+     * @param file the file, not null.
+     * @param listener the listener, not null.
+     */
+    synchronized void unregister(Path file, Runnable listener) {
+        Path path = file.toAbsolutePath().normalize();
+        Set<Runnable> fileListeners = listeners.get(path);
+        if (fileListeners == null) {
+            return;
+        }
+        fileListeners.remove(listener);
+        if (fileListeners.isEmpty()) {
+            listeners.remove(path);
+            Path dir = path.getParent();
+            for (Path watched : listeners.keySet()) {
+                if (dir.equals(watched.getParent())) {
+                    return;
+                }
+            }
+            WatchKey key = directories.remove(dir);
+            if (key != null) {
+                key.cancel();
+            }
+            closeIfUnused(dir.getFileSystem());
+        }
+    }
+
+    /**
+     * Closes the watch service of the given file system, if none of its directories is watched anymore. Closing
+     * the service ends its polling thread.
+     * @param fileSystem the file system, not null.
+     */
+    private void closeIfUnused(FileSystem fileSystem) {
+        for (Path dir : directories.keySet()) {
+            if (fileSystem.equals(dir.getFileSystem())) {
+                return;
+            }
+        }
+        WatchService service = services.remove(fileSystem);
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                LOG.log(Level.FINE, "Failed to close watch service of " + fileSystem, e);
+            }
+        }
+    }
+
+    /**
+     * Checks if a file is currently watched.
+     * @param file the file, not null.
+     * @return true, if at least one listener is registered for the file.
+     */
+    boolean isWatched(Path file) {
+        return listeners.containsKey(file.toAbsolutePath().normalize());
+    }
+
+    /**
+     * Checks if a watch service is open for the given file system.
+     * @param fileSystem the file system, not null.
+     * @return true, if files of the file system are watched.
+     */
+    synchronized boolean hasWatchService(FileSystem fileSystem) {
+        return services.containsKey(fileSystem);
+    }
+
+    private void startPolling(WatchService service) {
+        Thread thread = new Thread(() -> poll(service), "tamaya-resource-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void poll(WatchService service) {
+        while (true) {
+            WatchKey key;
+            try {
+                key = service.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            Path dir = (Path) key.watchable();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    // events were lost, notify all files in this directory
+                    for (Map.Entry<Path, Set<Runnable>> en : listeners.entrySet()) {
+                        if (dir.equals(en.getKey().getParent())) {
+                            notifyListeners(en.getKey(), en.getValue());
+                        }
+                    }
+                } else {
+                    Path file = dir.resolve((Path) event.context());
+                    Set<Runnable> fileListeners = listeners.get(file);
+                    if (fileListeners != null) {
+                        notifyListeners(file, fileListeners);
+                    }
+                }
+            }
+            key.reset();
+        }
+    }
+
+    private void notifyListeners(Path file, Set<Runnable> fileListeners) {
+        for (Runnable listener : fileListeners) {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                LOG.log(Level.WARNING, "Failed to process change of " + file, e);
+            }
+        }
+    }
+}
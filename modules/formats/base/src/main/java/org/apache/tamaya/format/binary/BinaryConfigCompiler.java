@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.format.binary;
+
+import org.apache.tamaya.ConfigException;
+import org.apache.tamaya.format.ConfigurationData;
+import org.apache.tamaya.format.ConfigurationFormat;
+import org.apache.tamaya.format.ConfigurationFormats;
+import org.apache.tamaya.format.MappedConfigurationDataPropertySource;
+import org.apache.tamaya.spi.PropertyValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiler converting a configuration resource in any supported {@link ConfigurationFormat} into the binary
+ * format read by {@link BinaryPropertySource}. Can be used at build time from the command line:
+ * <pre>
+ * java org.apache.tamaya.format.binary.BinaryConfigCompiler &lt;input file or URL&gt; &lt;output file&gt; [format...]
+ * </pre>
+ * If no format names are given, the format is detected by {@link ConfigurationFormats}.
+ */
+public final class BinaryConfigCompiler {
+
+    /**
+     * Singleton constructor.
+     */
+    private BinaryConfigCompiler(){}
+
+    /**
+     * Compiles the given resource.
+     * @param input the resource to read, not null.
+     * @param output the file to write, not null.
+     * @param formatNames the names of the formats to try, if empty all formats are tried.
+     * @return the number of properties written.
+     * @throws IOException if reading or writing fails.
+     * @throws ConfigException if no format can read the resource.
+     */
+    public static int compile(URL input, Path output, String... formatNames) throws IOException {
+        ConfigurationFormats formats = ConfigurationFormats.getInstance();
+        ConfigurationData data;
+        if (formatNames.length == 0) {
+            data = formats.readConfigurationData(input);
+        } else {
+            List<ConfigurationFormat> selected = formats.getFormats(formatNames);
+            if (selected.isEmpty()) {
+                throw new ConfigException("No such format: " + Arrays.toString(formatNames));
+            }
+            data = formats.readConfigurationData(input, selected);
+        }
+        if (data == null) {
+            throw new ConfigException("No matching format found for " + input);
+        }
+        Map<String, String> properties = new HashMap<>();
+        for (Map.Entry<String, PropertyValue> en : new MappedConfigurationDataPropertySource(data)
+                .getProperties().entrySet()) {
+            properties.put(en.getKey(), en.getValue().getValue());
+        }
+        Map<String, String> meta = new HashMap<>();
+        meta.put("compiledFrom", input.toString());
+        meta.put("format", data.getFormat().getName());
+        meta.put("compiledAt", String.valueOf(System.currentTimeMillis()));
+        BinaryConfigWriter.write(properties, meta, output);
+        return properties.size();
+    }
+
+    /**
+     * Command line entry point.
+     * @param args the input file or URL, the output file and optionally the format names to try.
+     */
+    public static void main(String... args) {
+        if (args.length < 2) {
+            System.err.println("Usage: BinaryConfigCompiler <input file or URL> <output file> [format...]");
+            System.exit(2);
+        }
+        try {
+            URL input = toURL(args[0]);
+            Path output = Paths.get(args[1]);
+            int count = compile(input, output, Arrays.copyOfRange(args, 2, args.length));
+            System.out.println("Compiled " + count + " properties from " + input + " to " + output);
+        } catch (Exception e) {
+            System.err.println("Failed to compile " + args[0] + ": " + e);
+            System.exit(1);
+        }
+    }
+
+    private static URL toURL(String location) throws MalformedURLException {
+        File file = new File(location);
+        if (file.exists()) {
+            return file.toURI().toURL();
+        }
+        return new URL(location);
+    }
+}
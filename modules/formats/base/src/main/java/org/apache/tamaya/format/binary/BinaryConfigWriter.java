@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.format.binary;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writer for the binary configuration format read by {@link BinaryPropertySource}. All numbers are written
+ * big-endian, the layout is:
+ * <pre>
+ * header:      magic (int), version (int), entry count (int), value count (int), meta count (int),
+ *              data offset (int)
+ * key table:   entry count x (key offset (int), value index (int)), sorted by the UTF-8 bytes of the key
+ * value table: value count x value offset (int), each distinct value is stored only once
+ * meta table:  meta count x (key offset (int), value offset (int))
+ * data:        strings, each as length (int) followed by the UTF-8 bytes
+ * </pre>
+ * All offsets are relative to the start of the data section, a value index or offset of -1 denotes
+ * {@code null}.
+ */
+public final class BinaryConfigWriter {
+
+    /** The magic number, {@code TCFG}. */
+    static final int MAGIC = 0x54434647;
+    /** The format version. */
+    static final int VERSION = 1;
+    /** The size of the header in bytes. */
+    static final int HEADER_SIZE = 24;
+
+    /**
+     * Singleton constructor.
+     */
+    private BinaryConfigWriter(){}
+
+    /**
+     * Writes the given properties to a file.
+     * @param properties the properties, not null.
+     * @param meta the metadata to be stored, not null.
+     * @param file the target file, not null.
+     * @throws IOException if writing fails.
+     */
+    public static void write(Map<String, String> properties, Map<String, String> meta, Path file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            write(properties, meta, out);
+        }
+    }
+
+    /**
+     * Writes the given properties to a stream.
+     * @param properties the properties, not null.
+     * @param meta the metadata to be stored, not null.
+     * @param out the target stream, not null. The stream is not closed.
+     * @throws IOException if writing fails.
+     */
+    public static void write(Map<String, String> properties, Map<String, String> meta, OutputStream out)
+            throws IOException {
+        Objects.requireNonNull(properties);
+        Objects.requireNonNull(meta);
+        List<byte[]> keys = new ArrayList<>(properties.size());
+        Map<byte[], String> keyNames = new HashMap<>();
+        for (String key : properties.keySet()) {
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            keys.add(bytes);
+            keyNames.put(bytes, key);
+        }
+        keys.sort(BinaryConfigWriter::compare);
+
+        StringPool pool = new StringPool();
+        Map<String, Integer> valueIndexes = new HashMap<>();
+        List<Integer> valueOffsets = new ArrayList<>();
+        int[] keyTable = new int[keys.size() * 2];
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] key = keys.get(i);
+            keyTable[i * 2] = pool.add(key);
+            String value = properties.get(keyNames.get(key));
+            if (value == null) {
+                keyTable[i * 2 + 1] = -1;
+            } else {
+                Integer index = valueIndexes.get(value);
+                if (index == null) {
+                    index = valueOffsets.size();
+                    valueIndexes.put(value, index);
+                    valueOffsets.add(pool.add(value.getBytes(StandardCharsets.UTF_8)));
+                }
+                keyTable[i * 2 + 1] = index;
+            }
+        }
+        int[] metaTable = new int[meta.size() * 2];
+        int m = 0;
+        for (Map.Entry<String, String> en : meta.entrySet()) {
+            metaTable[m++] = pool.add(en.getKey().getBytes(StandardCharsets.UTF_8));
+            metaTable[m++] = en.getValue() == null ? -1 : pool.add(en.getValue().getBytes(StandardCharsets.UTF_8));
+        }
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(keys.size());
+        data.writeInt(valueOffsets.size());
+        data.writeInt(meta.size());
+        data.writeInt(HEADER_SIZE + keyTable.length * 4 + valueOffsets.size() * 4 + metaTable.length * 4);
+        for (int val : keyTable) {
+            data.writeInt(val);
+        }
+        for (int val : valueOffsets) {
+            data.writeInt(val);
+        }
+        for (int val : metaTable) {
+            data.writeInt(val);
+        }
+        pool.data.writeTo(data);
+        data.flush();
+    }
+
+    /**
+     * Compares two UTF-8 encoded strings by their unsigned bytes.
+     */
+    static int compare(byte[] a, byte[] b) {
+        int len = Math.min(a.length, b.length);
+        for (int i = 0; i < len; i++) {
+            int diff = (a[i] & 0xFF) - (b[i] & 0xFF);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return a.length - b.length;
+    }
+
+    /**
+     * The data section, strings are appended as length and bytes.
+     */
+    private static final class StringPool {
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+        int add(byte[] bytes) {
+            int offset = data.size();
+            data.write(bytes.length >>> 24);
+            data.write(bytes.length >>> 16);
+            data.write(bytes.length >>> 8);
+            data.write(bytes.length);
+            data.write(bytes, 0, bytes.length);
+            return offset;
+        }
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.format.binary;
+
+import org.apache.tamaya.ConfigException;
+import org.apache.tamaya.spi.PropertyValue;
+import org.apache.tamaya.spisupport.propertysource.BasePropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * {@link org.apache.tamaya.spi.PropertySource} reading a file written by {@link BinaryConfigWriter}. Local files
+ * are mapped into memory, keys are looked up by binary search on the sorted key table, so no map of all
+ * properties is created. Values are decoded on first access only.
+ * <p>
+ * A mapping can not be released explicitly, it is only unmapped when the buffer is garbage collected. On Windows
+ * the file stays locked until then, so it could not be replaced by a newly compiled version. Therefore local
+ * files are read into a heap buffer on Windows, see {@link #MAP_FILES}.
+ */
+public class BinaryPropertySource extends BasePropertySource {
+
+    /** Flag, if local files are mapped into memory by default, which is the case on all platforms but Windows. */
+    public static final boolean MAP_FILES = !System.getProperty("os.name", "")
+            .toLowerCase(Locale.ROOT).startsWith("windows");
+
+    private final ByteBuffer buffer;
+    private final int entryCount;
+    private final int keyTable;
+    private final int valueTable;
+    private final int dataOffset;
+    /** The decoded values, by value index. */
+    private final AtomicReferenceArray<String> values;
+    /** The metadata stored in the file, attached to all values. */
+    private final Map<String, String> metadata;
+    /** The metadata attached to the values, including the source. */
+    private final Map<String, String> valueMetadata;
+
+    /**
+     * Creates a new instance, mapping the given file into memory, if {@link #MAP_FILES} is set.
+     * @param file the file, not null.
+     * @throws IOException if the file can not be read.
+     * @throws ConfigException if the file is not a valid binary configuration.
+     */
+    public BinaryPropertySource(Path file) throws IOException {
+        this(file, MAP_FILES);
+    }
+
+    /**
+     * Creates a new instance.
+     * @param file the file, not null.
+     * @param mapped if true, the file is mapped into memory, else it is read into a heap buffer.
+     * @throws IOException if the file can not be read.
+     * @throws ConfigException if the file is not a valid binary configuration.
+     */
+    public BinaryPropertySource(Path file, boolean mapped) throws IOException {
+        this(file.toString(), mapped ? mapFile(file) : readFile(file), 0);
+    }
+
+    /**
+     * Creates a new instance. Local files are mapped into memory, if {@link #MAP_FILES} is set, other resources
+     * are read.
+     * @param url the resource, not null.
+     * @throws IOException if the resource can not be read.
+     * @throws ConfigException if the resource is not a valid binary configuration.
+     */
+    public BinaryPropertySource(URL url) throws IOException {
+        this(url.toString(), readResource(url), 0);
+    }
+
+    /**
+     * Creates a new instance.
+     * @param name the name of the property source, not null.
+     * @param buffer the data, not null. The buffer's position and limit are not changed.
+     * @param defaultOrdinal the default ordinal.
+     * @throws ConfigException if the data is not a valid binary configuration.
+     */
+    public BinaryPropertySource(String name, ByteBuffer buffer, int defaultOrdinal) {
+        super(name, defaultOrdinal);
+        this.buffer = buffer.slice();
+        if (this.buffer.limit() < BinaryConfigWriter.HEADER_SIZE
+                || this.buffer.getInt(0) != BinaryConfigWriter.MAGIC) {
+            throw new ConfigException("Not a binary configuration: " + name);
+        }
+        if (this.buffer.getInt(4) != BinaryConfigWriter.VERSION) {
+            throw new ConfigException("Unsupported binary configuration version " + this.buffer.getInt(4)
+                    + ": " + name);
+        }
+        this.entryCount = this.buffer.getInt(8);
+        int valueCount = this.buffer.getInt(12);
+        int metaCount = this.buffer.getInt(16);
+        this.dataOffset = this.buffer.getInt(20);
+        this.keyTable = BinaryConfigWriter.HEADER_SIZE;
+        this.valueTable = keyTable + entryCount * 8;
+        int metaTable = valueTable + valueCount * 4;
+        this.values = new AtomicReferenceArray<>(valueCount);
+        Map<String, String> meta = new HashMap<>();
+        for (int i = 0; i < metaCount; i++) {
+            meta.put(readString(this.buffer.getInt(metaTable + i * 8)),
+                    readString(this.buffer.getInt(metaTable + i * 8 + 4)));
+        }
+        this.metadata = Collections.unmodifiableMap(meta);
+        Map<String, String> valueMeta = new HashMap<>(meta);
+        valueMeta.put("source", name);
+        this.valueMetadata = Collections.unmodifiableMap(valueMeta);
+    }
+
+    private static ByteBuffer mapFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static ByteBuffer readFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File too large: " + file);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // read fully
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    private static ByteBuffer readResource(URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                Path file = Paths.get(url.toURI());
+                return MAP_FILES ? mapFile(file) : readFile(file);
+            } catch (java.net.URISyntaxException e) {
+                throw new IOException("Invalid file URL: " + url, e);
+            }
+        }
+        try (InputStream is = url.openStream()) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            byte[] bytes = new byte[8192];
+            int read;
+            while ((read = is.read(bytes)) > 0) {
+                bos.write(bytes, 0, read);
+            }
+            return ByteBuffer.wrap(bos.toByteArray());
+        }
+    }
+
+    /**
+     * Get the metadata stored with the binary configuration, e.g. the source and format it was compiled from.
+     * @return the metadata, never null.
+     */
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * Get the number of properties contained.
+     * @return the number of properties.
+     */
+    public int size() {
+        return entryCount;
+    }
+
+    @Override
+    public PropertyValue get(String key) {
+        int index = indexOf(Objects.requireNonNull(key));
+        if (index < 0) {
+            return null;
+        }
+        return createValue(key, index);
+    }
+
+    @Override
+    public Map<String, PropertyValue> getProperties() {
+        return new PropertiesView();
+    }
+
+    private PropertyValue createValue(String key, int index) {
+        return PropertyValue.createValue(key, valueAt(index)).setMeta(valueMetadata);
+    }
+
+    /**
+     * Binary search for the given key.
+     * @return the entry index, or -1.
+     */
+    private int indexOf(String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = entryCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareKey(mid, keyBytes);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private int compareKey(int index, byte[] key) {
+        int offset = dataOffset + buffer.getInt(keyTable + index * 8);
+        int length = buffer.getInt(offset);
+        offset += 4;
+        int len = Math.min(length, key.length);
+        for (int i = 0; i < len; i++) {
+            int diff = (buffer.get(offset + i) & 0xFF) - (key[i] & 0xFF);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length - key.length;
+    }
+
+    private String keyAt(int index) {
+        return readString(buffer.getInt(keyTable + index * 8));
+    }
+
+    private String valueAt(int index) {
+        int valueIndex = buffer.getInt(keyTable + index * 8 + 4);
+        if (valueIndex < 0) {
+            return null;
+        }
+        String value = values.get(valueIndex);
+        if (value == null) {
+            value = readString(buffer.getInt(valueTable + valueIndex * 4));
+            values.set(valueIndex, value);
+        }
+        return value;
+    }
+
+    private String readString(int offset) {
+        if (offset < 0) {
+            return null;
+        }
+        int position = dataOffset + offset;
+        byte[] bytes = new byte[buffer.getInt(position)];
+        ByteBuffer source = buffer.duplicate();
+        source.position(position + 4);
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected String toStringValues() {
+        return super.toStringValues() +
+                "  entries=" + entryCount + '\n' +
+                "  metadata=" + metadata + '\n';
+    }
+
+    /**
+     * Read-only map view on the properties, lookups use the binary search.
+     */
+    private final class PropertiesView extends AbstractMap<String, PropertyValue> {
+
+        @Override
+        public PropertyValue get(Object key) {
+            return key instanceof String ? BinaryPropertySource.this.get((String) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String && indexOf((String) key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return entryCount;
+        }
+
+        @Override
+        public Set<Entry<String, PropertyValue>> entrySet() {
+            return new AbstractSet<Entry<String, PropertyValue>>() {
+                @Override
+                public Iterator<Entry<String, PropertyValue>> iterator() {
+                    return new Iterator<Entry<String, PropertyValue>>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < entryCount;
+                        }
+
+                        @Override
+                        public Entry<String, PropertyValue> next() {
+                            if (index >= entryCount) {
+                                throw new NoSuchElementException();
+                            }
+                            String key = keyAt(index);
+                            PropertyValue value = createValue(key, index++);
+                            return new SimpleImmutableEntry<>(key, value);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return entryCount;
+                }
+            };
+        }
+    }
+}
@@ -21,25 +21,30 @@ package org.apache.tamaya.format.formats;
 import org.apache.tamaya.ConfigException;
 import org.apache.tamaya.format.ConfigurationData;
 import org.apache.tamaya.format.ConfigurationFormat;
+import org.apache.tamaya.resource.MetadataTemplate;
 import org.apache.tamaya.spi.ObjectValue;
 import org.apache.tamaya.spi.PropertyValue;
 import org.osgi.service.component.annotations.Component;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.net.URL;
+import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
- * Implements a ini file format.
+ * Implements a ini file format. The input is parsed in a single pass over a char buffer, entries before the first
+ * section header are added to the {@code default} section. The format metadata is attached to the sections only,
+ * the values carry the {@code source} metadata.
  */
 @Component
 public class IniConfigurationFormat implements ConfigurationFormat {
 
+    /** The section used for entries before the first section header. */
+    private static final String DEFAULT_SECTION = "default";
+
     @Override
     public String getName() {
         return "ini";
@@ -56,47 +61,62 @@ public class IniConfigurationFormat implements ConfigurationFormat {
     throws IOException{
         PropertyValue data = PropertyValue.createObject();
         data.setMeta("resource", resource);
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            String line = reader.readLine();
+        Map<String, String> sourceMeta = MetadataTemplate.of(resource).getMeta();
+        try (InputStream stream = inputStream) {
+            CharBuffer input = PropertiesParser.readFully(stream, StandardCharsets.UTF_8);
+            char[] in = input.array();
+            int pos = input.arrayOffset() + input.position();
+            int limit = input.arrayOffset() + input.limit();
             int lineNum = 0;
-            Map<String,PropertyValue> sections = new HashMap<>();
+            Map<String,PropertyValue> sections = new LinkedHashMap<>();
             String section = null;
-            while (line != null) {
+            ObjectValue sectionPV = null;
+            while (pos < limit) {
                 lineNum++;
-                line = line.trim();
-                if (line.isEmpty()) {
-                    line = reader.readLine();
+                int start = pos;
+                while (pos < limit && in[pos] != '\n' && in[pos] != '\r') {
+                    pos++;
+                }
+                int end = pos;
+                if (pos < limit && in[pos] == '\r' && pos + 1 < limit && in[pos + 1] == '\n') {
+                    pos++;
+                }
+                pos++;
+                // trim, as String.trim()
+                while (start < end && in[start] <= ' ') {
+                    start++;
+                }
+                while (end > start && in[end - 1] <= ' ') {
+                    end--;
+                }
+                if (start == end || in[start] == '#') {
                     continue;
                 }
-                if (line.startsWith("[")) {
-                    int end = line.indexOf(']');
-                    if (end < 0) {
+                if (in[start] == '[') {
+                    int close = indexOf(in, start, end, ']');
+                    if (close < 0) {
                         throw new ConfigException(
                                 "Invalid INI-Format, ']' expected, at " + lineNum + " in " + resource);
                     }
-                    section = line.substring(1, end);
-                } else if (line.trim().startsWith("#")) {
-                    // comment
+                    section = new String(in, start + 1, close - start - 1);
+                    sectionPV = null;
                 } else {
-                    int sep = line.indexOf('=');
-                    String key = line.substring(0, sep);
-                    String value = line.substring(sep + 1);
-                    if (section != null) {
-                        final String finalSection = section;
-                        ObjectValue sectionPV = (ObjectValue)sections.computeIfAbsent(finalSection,
-                                s -> PropertyValue.createObject(finalSection)
-                        .setMeta(ConfigurationFormat.class.getName(), this));
-                        sectionPV.setValue(key, value).setMeta("source", resource)
-                                .setMeta(ConfigurationFormat.class.getName(), this);
-                    } else {
-                        String finalSection = "default";
-                        ObjectValue sectionBuilder = (ObjectValue)sections.computeIfAbsent(finalSection,
-                                s -> PropertyValue.createObject(finalSection).setMeta("source", resource));
-                        sectionBuilder.setValue(key, value).setMeta("source", resource)
-                                .setMeta(ConfigurationFormat.class.getName(), this);
+                    int sep = indexOf(in, start, end, '=');
+                    if (sep < 0) {
+                        throw new ConfigException(
+                                "Invalid INI-Format, '=' expected, at " + lineNum + " in " + resource);
+                    }
+                    if (sectionPV == null) {
+                        String name = section != null ? section : DEFAULT_SECTION;
+                        sectionPV = (ObjectValue) sections.get(name);
+                        if (sectionPV == null) {
+                            sectionPV = createSection(section, resource);
+                            sections.put(name, sectionPV);
+                        }
                     }
+                    sectionPV.setValue(new String(in, start, sep - start), new String(in, sep + 1, end - sep - 1))
+                            .setMeta(sourceMeta);
                 }
-                line = reader.readLine();
             }
             return new ConfigurationData(resource, this, sections.values());
         } catch (Exception e) {
@@ -107,4 +127,18 @@ public class IniConfigurationFormat implements ConfigurationFormat {
             }
         }
     }
+
+    private ObjectValue createSection(String section, String resource) {
+        return (ObjectValue) PropertyValue.createObject(section != null ? section : DEFAULT_SECTION)
+                .setMeta("source", resource).setMeta(ConfigurationFormat.class.getName(), this);
+    }
+
+    private static int indexOf(char[] in, int start, int end, char c) {
+        for (int i = start; i < end; i++) {
+            if (in[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
 }
@@ -20,16 +20,24 @@ package org.apache.tamaya.format.formats;
 
 import org.apache.tamaya.format.ConfigurationData;
 import org.apache.tamaya.format.ConfigurationFormat;
+import org.apache.tamaya.resource.MetadataTemplate;
 import org.apache.tamaya.spi.PropertyValue;
 import org.osgi.service.component.annotations.Component;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
-import java.util.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
- * Implementation of a {@link org.apache.tamaya.format.ConfigurationFormat} for -properties files.
+ * Implementation of a {@link org.apache.tamaya.format.ConfigurationFormat} for -properties files. The input is
+ * parsed in a single pass with the syntax of {@link java.util.Properties#load(java.io.InputStream)}, hereby
+ * using ISO 8859-1 encoding. The values only carry the {@code source} metadata, the format is available from
+ * {@link ConfigurationData#getFormat()}.
  *
  * @see java.util.Properties#load(java.io.InputStream)
  */
@@ -48,18 +56,15 @@ public class PropertiesFormat implements ConfigurationFormat {
                 fileName.endsWith(".conf") || fileName.endsWith(".CONF");
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public ConfigurationData readConfiguration(String resource, InputStream inputStream)throws IOException {
-            final Properties p = new Properties();
-            p.load(inputStream);
-            Set<PropertyValue> data = new HashSet<>();
-            for(Map.Entry en:p.entrySet()) {
-                PropertyValue pv = PropertyValue.createValue(en.getKey().toString(), en.getValue().toString())
-                        .setMeta("source", resource)
-                        .setMeta(ConfigurationFormat.class.getName(), this);
-                data.add(pv);
-            }
-            return new ConfigurationData(resource, this, data);
+        final Map<String, String> properties = new LinkedHashMap<>();
+        PropertiesParser.parse(PropertiesParser.readFully(inputStream, StandardCharsets.ISO_8859_1), properties::put);
+        MetadataTemplate template = MetadataTemplate.of(resource);
+        List<PropertyValue> data = new ArrayList<>(properties.size());
+        for(Map.Entry<String, String> en:properties.entrySet()) {
+            data.add(template.createValue(en.getKey(), en.getValue()));
+        }
+        return new ConfigurationData(resource, this, data);
     }
 }
@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.format.formats;
+
+import org.apache.tamaya.ConfigException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Single pass parser for the {@code .properties} syntax as defined by
+ * {@link java.util.Properties#load(java.io.Reader)}, working on a char buffer. Other than
+ * {@link java.util.Properties} it is not synchronized and does not create any intermediate tables; keys and values
+ * without escapes are created directly from the input buffer.
+ */
+final class PropertiesParser {
+
+    private final char[] in;
+    private final int limit;
+    private int pos;
+    /** Buffer for the current logical line, only needed for lines with continuations. */
+    private char[] lineBuf = new char[256];
+
+    private PropertiesParser(CharBuffer input) {
+        this.in = input.array();
+        this.pos = input.arrayOffset() + input.position();
+        this.limit = input.arrayOffset() + input.limit();
+    }
+
+    /**
+     * Reads the complete stream into a char buffer. ISO 8859-1 input is mapped directly, without a decoder.
+     * @param inputStream the stream, not null. The stream is not closed.
+     * @param charset the charset, not null.
+     * @return the buffer, backed by an array.
+     * @throws IOException if the stream can not be read.
+     */
+    static CharBuffer readFully(InputStream inputStream, Charset charset) throws IOException {
+        // one more than available, so a stream of known size is read without growing the buffer
+        byte[] buf = new byte[Math.max(8192, inputStream.available() + 1)];
+        int len = 0;
+        int read;
+        while ((read = inputStream.read(buf, len, buf.length - len)) >= 0) {
+            len += read;
+            if (len == buf.length) {
+                buf = Arrays.copyOf(buf, buf.length * 2);
+            }
+        }
+        if (StandardCharsets.ISO_8859_1.equals(charset)) {
+            char[] chars = new char[len];
+            for (int i = 0; i < len; i++) {
+                chars[i] = (char) (buf[i] & 0xFF);
+            }
+            return CharBuffer.wrap(chars);
+        }
+        return charset.decode(ByteBuffer.wrap(buf, 0, len));
+    }
+
+    /**
+     * Parses the given input, passing all key/value pairs in order to the consumer. Duplicate keys
+     * are passed as they occur.
+     * @param input the input, backed by an array, not null.
+     * @param consumer the consumer, not null.
+     */
+    static void parse(CharBuffer input, BiConsumer<String, String> consumer) {
+        new PropertiesParser(input).parse(consumer);
+    }
+
+    private void parse(BiConsumer<String, String> consumer) {
+        int len;
+        while ((len = readLine()) >= 0) {
+            int keyLen = 0;
+            int valueStart = len;
+            boolean hasSep = false;
+            boolean precedingBackslash = false;
+            while (keyLen < len) {
+                char c = lineBuf[keyLen];
+                if ((c == '=' || c == ':') && !precedingBackslash) {
+                    valueStart = keyLen + 1;
+                    hasSep = true;
+                    break;
+                } else if ((c == ' ' || c == '\t' || c == '\f') && !precedingBackslash) {
+                    valueStart = keyLen + 1;
+                    break;
+                }
+                precedingBackslash = c == '\\' && !precedingBackslash;
+                keyLen++;
+            }
+            while (valueStart < len) {
+                char c = lineBuf[valueStart];
+                if (c != ' ' && c != '\t' && c != '\f') {
+                    if (!hasSep && (c == '=' || c == ':')) {
+                        hasSep = true;
+                    } else {
+                        break;
+                    }
+                }
+                valueStart++;
+            }
+            consumer.accept(unescape(lineBuf, 0, keyLen), unescape(lineBuf, valueStart, len - valueStart));
+        }
+    }
+
+    /**
+     * Reads the next logical line into {@link #lineBuf}, hereby skipping blank and comment lines, leading
+     * whitespaces and joining continuation lines.
+     * @return the length of the line, or -1 at the end of the input.
+     */
+    private int readLine() {
+        int len = 0;
+        boolean skipWhitespace = true;
+        boolean appendedLineBegin = false;
+        boolean precedingBackslash = false;
+        while (true) {
+            if (pos >= limit) {
+                if (len == 0) {
+                    return -1;
+                }
+                return precedingBackslash ? len - 1 : len;
+            }
+            char c = in[pos++];
+            if (skipWhitespace) {
+                if (c == ' ' || c == '\t' || c == '\f') {
+                    continue;
+                }
+                if (!appendedLineBegin && (c == '\r' || c == '\n')) {
+                    continue;
+                }
+                skipWhitespace = false;
+                appendedLineBegin = false;
+            }
+            if (len == 0 && (c == '#' || c == '!')) {
+                // comment, skip the rest of the line
+                while (pos < limit) {
+                    c = in[pos++];
+                    if (c == '\r' || c == '\n') {
+                        break;
+                    }
+                }
+                skipWhitespace = true;
+                continue;
+            }
+            if (c != '\n' && c != '\r') {
+                if (len == lineBuf.length) {
+                    lineBuf = Arrays.copyOf(lineBuf, len * 2);
+                }
+                lineBuf[len++] = c;
+                precedingBackslash = c == '\\' && !precedingBackslash;
+            } else if (len == 0) {
+                skipWhitespace = true;
+            } else if (pos >= limit) {
+                return precedingBackslash ? len - 1 : len;
+            } else if (precedingBackslash) {
+                // continuation, the backslash is not part of the line
+                len--;
+                skipWhitespace = true;
+                appendedLineBegin = true;
+                precedingBackslash = false;
+                if (c == '\r' && in[pos] == '\n') {
+                    pos++;
+                }
+            } else {
+                return len;
+            }
+        }
+    }
+
+    /**
+     * Creates a string from the given range, hereby resolving escapes.
+     */
+    private static String unescape(char[] buf, int off, int len) {
+        int end = off + len;
+        int firstEscape = -1;
+        for (int i = off; i < end; i++) {
+            if (buf[i] == '\\') {
+                firstEscape = i;
+                break;
+            }
+        }
+        if (firstEscape < 0) {
+            return new String(buf, off, len);
+        }
+        StringBuilder b = new StringBuilder(len);
+        b.append(buf, off, firstEscape - off);
+        int i = firstEscape;
+        while (i < end) {
+            char c = buf[i++];
+            if (c != '\\') {
+                b.append(c);
+                continue;
+            }
+            if (i >= end) {
+                // trailing single backslash is dropped
+                break;
+            }
+            c = buf[i++];
+            switch (c) {
+                case 'u':
+                    if (i + 4 > end) {
+                        throw new ConfigException("Malformed \\uxxxx encoding.");
+                    }
+                    int value = 0;
+                    for (int j = 0; j < 4; j++) {
+                        value = (value << 4) + hexDigit(buf[i++]);
+                    }
+                    b.append((char) value);
+                    break;
+                case 't':
+                    b.append('\t');
+                    break;
+                case 'r':
+                    b.append('\r');
+                    break;
+                case 'n':
+                    b.append('\n');
+                    break;
+                case 'f':
+                    b.append('\f');
+                    break;
+                default:
+                    b.append(c);
+            }
+        }
+        return b.toString();
+    }
+
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return 10 + c - 'a';
+        }
+        if (c >= 'A' && c <= 'F') {
+            return 10 + c - 'A';
+        }
+        throw new ConfigException("Malformed \\uxxxx encoding.");
+    }
+}
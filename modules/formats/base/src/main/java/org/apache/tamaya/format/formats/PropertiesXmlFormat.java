@@ -20,12 +20,14 @@ package org.apache.tamaya.format.formats;
 
 import org.apache.tamaya.format.ConfigurationData;
 import org.apache.tamaya.format.ConfigurationFormat;
+import org.apache.tamaya.format.ConfigurationFormats;
 import org.apache.tamaya.spi.PropertyValue;
 import org.osgi.service.component.annotations.Component;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 /**
@@ -48,6 +50,12 @@ public class PropertiesXmlFormat implements ConfigurationFormat {
         return fileName.endsWith(".xml") || fileName.endsWith(".XML");
     }
 
+    @Override
+    public boolean acceptsContent(ByteBuffer header) {
+        int b = ConfigurationFormats.firstContentByte(header);
+        return b < 0 || b == '<';
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public ConfigurationData readConfiguration(String resource, InputStream inputStream)
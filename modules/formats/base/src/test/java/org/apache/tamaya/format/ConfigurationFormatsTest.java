@@ -18,7 +18,17 @@
  */
 package org.apache.tamaya.format;
 
+import org.apache.tamaya.format.formats.PropertiesFormat;
+import org.apache.tamaya.format.formats.PropertiesXmlFormat;
+import org.apache.tamaya.spi.PropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -128,4 +138,74 @@ public class ConfigurationFormatsTest {
         assertThat(data).isNotNull();
         System.out.println(data);
     }
+
+    @org.junit.Test
+    public void testReadConfigurationData_DetectsFormatByExtension() throws Exception {
+        ConfigurationData data = ConfigurationFormats.getInstance().readConfigurationData(
+                getClass().getResource("/Test.ini"), ConfigurationFormats.getInstance().getFormats());
+        assertThat(data).isNotNull();
+        assertThat(data.getFormat().getName()).isEqualTo("ini");
+    }
+
+    @org.junit.Test
+    public void testReadConfigurationData_DetectsFormatByContent() throws Exception {
+        ConfigurationData data = ConfigurationFormats.getInstance().readConfigurationData(
+                "test",
+                new ByteArrayInputStream("a=b".getBytes(StandardCharsets.UTF_8)),
+                new PropertiesXmlFormat(), new PropertiesFormat());
+        assertThat(data).isNotNull();
+        assertThat(data.getFormat().getName()).isEqualTo("properties");
+        assertThat(new PropertiesXmlFormat().acceptsContent(
+                java.nio.ByteBuffer.wrap("\n <?xml version=\"1.0\"?>".getBytes(StandardCharsets.UTF_8)))).isTrue();
+    }
+
+    @org.junit.Test
+    public void testReadConfigurationData_DetectsLocalFileFormatByContent() throws Exception {
+        File file = File.createTempFile("config", ".cfg");
+        file.deleteOnExit();
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write("a=b\n");
+        }
+        ConfigurationData data = ConfigurationFormats.getInstance().readConfigurationData(
+                file.toURI().toURL(), new PropertiesXmlFormat(), new PropertiesFormat());
+        assertThat(data).isNotNull();
+        assertThat(data.getFormat().getName()).isEqualTo("properties");
+    }
+
+    @org.junit.Test
+    public void testFirstContentByte() {
+        assertThat(ConfigurationFormats.firstContentByte(java.nio.ByteBuffer.wrap(
+                new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF, ' ', '\n', '{'}))).isEqualTo('{');
+        assertThat(ConfigurationFormats.firstContentByte(java.nio.ByteBuffer.wrap(
+                new byte[]{(byte) 0xFE, (byte) 0xFF, 0, '{'}))).isEqualTo(-1);
+        assertThat(ConfigurationFormats.firstContentByte(java.nio.ByteBuffer.wrap(" \t".getBytes(StandardCharsets.UTF_8))))
+                .isEqualTo(-1);
+    }
+
+    @org.junit.Test
+    public void testCreatePropertySource_LargeLocalFile() throws Exception {
+        File file = File.createTempFile("large", ".properties");
+        file.deleteOnExit();
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            for (int i = 0; i < 10000; i++) {
+                writer.write("key" + i + "=value" + i + "\n");
+            }
+        }
+        PropertySource ps = ConfigurationFormats.getInstance().createPropertySource(file.toURI().toURL());
+        assertThat(ps.get("key9999").getValue()).isEqualTo("value9999");
+        assertThat(ps.get("key0").getValue()).isEqualTo("value0");
+    }
+
+    @org.junit.Test
+    public void testReadConfigurationData_Parallel() throws Exception {
+        List<URL> urls = new ArrayList<>();
+        urls.add(getClass().getResource("/Test.ini"));
+        urls.add(getClass().getResource("/Test.properties"));
+        urls.add(new URL("file:///doesnotexist/Test.properties"));
+        List<ConfigurationData> data = new ArrayList<>(ConfigurationFormats.getInstance().readConfigurationData(
+                urls, ConfigurationFormats.getInstance().getFormats(), 4));
+        assertThat(data).hasSize(2);
+        assertThat(data.get(0).getResource()).isEqualTo(urls.get(0).toString());
+        assertThat(data.get(1).getResource()).isEqualTo(urls.get(1).toString());
+    }
 }
@@ -18,11 +18,51 @@
  */
 package org.apache.tamaya.format;
 
+import org.apache.tamaya.format.formats.PropertiesFormat;
+import org.apache.tamaya.spi.PropertySource;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.net.URL;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * Tests for {@link MappedConfigurationDataPropertySource}.
  */
 public class MappedConfigurationDataPropertySourceTest {
 
+    @Test
+    public void testLazy() throws Exception {
+        ConfigurationData data = readTestProperties();
+        MappedConfigurationDataPropertySource eager = new MappedConfigurationDataPropertySource(data);
+        MappedConfigurationDataPropertySource lazy = new MappedConfigurationDataPropertySource(
+                data.getResource(), 0, () -> data, true, false);
+        assertThat(lazy.isLazy()).isTrue();
+        assertThat(eager.isLazy()).isFalse();
+        assertThat(lazy.get("aGeneralEntry").getValue()).isEqualTo("blabla");
+        assertThat(lazy.get("aGeneralEntry").getMeta("source")).isEqualTo(data.getResource());
+        assertThat(lazy.get("foo")).isNull();
+        assertThat(lazy.getProperties().keySet()).isEqualTo(eager.getProperties().keySet());
+        assertThat(lazy.getProperties()).isSameAs(lazy.getProperties());
+        // data is dropped, reload keeps the current values
+        lazy.load();
+        assertThat(lazy.get("MySection1.sectionEntry1").getValue()).isEqualTo("value1");
+    }
+
+    @Test
+    public void testToPropertySource_Lazy() throws Exception {
+        PropertySource ps = readTestProperties().toPropertySource(true);
+        assertThat(ps.get("MySection2.sectionEntry2").getValue()).isEqualTo("value2");
+    }
+
+    private ConfigurationData readTestProperties() throws Exception {
+        URL url = getClass().getResource("/Test.properties");
+        try (InputStream is = url.openStream()) {
+            return new PropertiesFormat().readConfiguration(url.toString(), is);
+        }
+    }
+
 //    @Test
 //    public void testGetName() throws Exception {
 //        MappedConfigurationDataPropertySource ps = new MappedConfigurationDataPropertySource(createConfigurationData("test1"));
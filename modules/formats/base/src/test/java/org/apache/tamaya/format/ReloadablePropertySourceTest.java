@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.format;
+
+import org.apache.tamaya.events.ConfigEventListener;
+import org.apache.tamaya.events.ConfigEventManager;
+import org.apache.tamaya.events.PropertySourceChange;
+import org.apache.tamaya.format.formats.IniConfigurationFormat;
+import org.apache.tamaya.format.formats.PropertiesFormat;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ReloadablePropertySource}.
+ */
+public class ReloadablePropertySourceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testReload() throws Exception {
+        Path file = write(folder.newFile("test.properties").toPath(), "a=1\nb=2\n");
+        try (ReloadablePropertySource ps = new ReloadablePropertySource(file, new PropertiesFormat())) {
+            assertThat(ps.get("a").getValue()).isEqualTo("1");
+            assertThat(ps.getProperties()).hasSize(2);
+            assertThat(ps.reload()).isFalse();
+            write(file, "a=3\nc=4\n");
+            assertThat(ps.reload()).isTrue();
+            assertThat(ps.get("a").getValue()).isEqualTo("3");
+            assertThat(ps.get("b")).isNull();
+            assertThat(ps.get("c").getValue()).isEqualTo("4");
+        }
+    }
+
+    @Test
+    public void testReload_InvalidFileKeepsValues() throws Exception {
+        Path file = write(folder.newFile("test.properties").toPath(), "a=1\n");
+        try (ReloadablePropertySource ps = new ReloadablePropertySource(file, new PropertiesFormat())) {
+            Files.delete(file);
+            assertThat(ps.reload()).isFalse();
+            assertThat(ps.get("a").getValue()).isEqualTo("1");
+        }
+    }
+
+    @Test
+    public void testReload_PublishesChange() throws Exception {
+        Path file = write(folder.newFile("test.properties").toPath(), "a=1\n");
+        List<PropertySourceChange> changes = new CopyOnWriteArrayList<>();
+        ConfigEventListener listener = event -> changes.add((PropertySourceChange) event);
+        ConfigEventManager.getInstance().addListener(listener, PropertySourceChange.class);
+        try (ReloadablePropertySource ps = new ReloadablePropertySource(file, new PropertiesFormat())) {
+            write(file, "a=2\n");
+            ps.reload();
+            assertThat(changes).isNotEmpty();
+            assertThat(changes.get(0).getResource()).isSameAs(ps);
+            assertThat(changes.get(0).isKeyAffected("a")).isTrue();
+        } finally {
+            ConfigEventManager.getInstance().removeListener(listener, PropertySourceChange.class);
+        }
+    }
+
+    @Test
+    public void testReload_QualifiedKeys() throws Exception {
+        Path file = write(folder.newFile("test.ini").toPath(), "[section]\na=1\n");
+        try (ReloadablePropertySource ps = new ReloadablePropertySource(file, new IniConfigurationFormat())) {
+            assertThat(ps.get("section.a").getValue()).isEqualTo("1");
+            assertThat(ps.get("section.a").getMeta("source")).isEqualTo(file.toUri().toURL().toString());
+        }
+    }
+
+    @Test
+    public void testReloadablePropertySources() throws Exception {
+        Path file = write(folder.newFile("test.properties").toPath(), "a=1\n");
+        ReloadablePropertySources sources = new ReloadablePropertySources();
+        PropertiesFormat format = new PropertiesFormat();
+        assertThat(sources.get(file.toUri().toURL(), format)).isNull();
+        sources.setEnabled(true);
+        ReloadablePropertySource ps = sources.get(file.toUri().toURL(), format);
+        assertThat(ps.get("a").getValue()).isEqualTo("1");
+        assertThat(sources.get(file.toUri().toURL(), format)).isSameAs(ps);
+        assertThat(sources.get(new URL("http://localhost/test.properties"), format)).isNull();
+        sources.setEnabled(false);
+        assertThat(ps.isWatching()).isFalse();
+    }
+
+    @Test
+    public void testWatch() throws Exception {
+        Path file = write(folder.newFile("test.properties").toPath(), "a=1\n");
+        ReloadablePropertySource ps = new ReloadablePropertySource(file, new PropertiesFormat());
+        assertThat(ps.isWatching()).isTrue();
+        assertThat(ResourceWatcher.getInstance().isWatched(file)).isTrue();
+        write(file, "a=12\n");
+        long timeout = System.currentTimeMillis() + 30_000L;
+        while (!"12".equals(ps.get("a").getValue()) && System.currentTimeMillis() < timeout) {
+            Thread.sleep(100L);
+        }
+        assertThat(ps.get("a").getValue()).isEqualTo("12");
+        ps.close();
+        assertThat(ps.isWatching()).isFalse();
+        assertThat(ResourceWatcher.getInstance().isWatched(file)).isFalse();
+        assertThat(ResourceWatcher.getInstance().hasWatchService(file.getFileSystem())).isFalse();
+    }
+
+    private static Path write(Path file, String content) throws Exception {
+        return Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.format.binary;
+
+import org.apache.tamaya.ConfigException;
+import org.apache.tamaya.spi.PropertyValue;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BinaryPropertySource}, {@link BinaryConfigWriter} and {@link BinaryConfigCompiler}.
+ */
+public class BinaryPropertySourceTest {
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        Map<String, String> properties = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            properties.put("key." + i, "value" + (i % 10));
+        }
+        properties.put("ümlaut.日本", "äö");
+        properties.put("nullValue", null);
+        Map<String, String> meta = new HashMap<>();
+        meta.put("format", "test");
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        BinaryConfigWriter.write(properties, meta, bos);
+
+        BinaryPropertySource ps = new BinaryPropertySource("test", ByteBuffer.wrap(bos.toByteArray()), 0);
+        assertThat(ps.size()).isEqualTo(properties.size());
+        assertThat(ps.getMetadata()).containsEntry("format", "test");
+        for (Map.Entry<String, String> en : properties.entrySet()) {
+            PropertyValue value = ps.get(en.getKey());
+            assertThat(value).isNotNull();
+            assertThat(value.getValue()).isEqualTo(en.getValue());
+        }
+        assertThat(ps.get("key.1000")).isNull();
+        assertThat(ps.get("")).isNull();
+        assertThat(ps.get("key.5").getMeta("source")).isEqualTo("test");
+        assertThat(ps.getProperties()).hasSize(properties.size());
+        assertThat(ps.getProperties().keySet()).isEqualTo(properties.keySet());
+        assertThat(ps.getProperties().containsKey("key.999")).isTrue();
+    }
+
+    @Test
+    public void testCompile() throws Exception {
+        File output = File.createTempFile("Test", ".tcfg");
+        output.deleteOnExit();
+        int count = BinaryConfigCompiler.compile(getClass().getResource("/Test.properties"), output.toPath());
+        assertThat(count).isEqualTo(3);
+
+        BinaryPropertySource ps = new BinaryPropertySource(output.toPath());
+        assertThat(ps.get("aGeneralEntry").getValue()).isEqualTo("blabla");
+        assertThat(ps.get("MySection1.sectionEntry1").getValue()).isEqualTo("value1");
+        assertThat(ps.getMetadata()).containsEntry("format", "properties");
+    }
+
+    @Test
+    public void testReadIntoHeap() throws Exception {
+        File output = File.createTempFile("Test", ".tcfg");
+        output.deleteOnExit();
+        BinaryConfigCompiler.compile(getClass().getResource("/Test.properties"), output.toPath());
+
+        BinaryPropertySource ps = new BinaryPropertySource(output.toPath(), false);
+        assertThat(output.delete()).isTrue();
+        assertThat(ps.get("aGeneralEntry").getValue()).isEqualTo("blabla");
+        assertThat(ps.size()).isEqualTo(3);
+    }
+
+    @Test(expected = ConfigException.class)
+    public void testInvalidData() {
+        new BinaryPropertySource("invalid", ByteBuffer.wrap(new byte[32]), 0);
+    }
+}
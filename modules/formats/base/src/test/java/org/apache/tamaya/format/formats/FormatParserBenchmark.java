@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.format.formats;
+
+import org.apache.tamaya.format.ConfigurationData;
+import org.apache.tamaya.format.ConfigurationFormat;
+import org.apache.tamaya.spi.ObjectValue;
+import org.apache.tamaya.spi.PropertyValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing {@link PropertiesFormat} and {@link IniConfigurationFormat} with the previous
+ * {@link Properties} and line based implementations on multi-megabyte inputs. The {@code parse*} benchmarks
+ * only compare the parsers, without creating {@link PropertyValue}s. Run with {@code main}; it is not run as part
+ * of the test suite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class FormatParserBenchmark {
+
+    private static final int ENTRIES = 100_000;
+
+    private final PropertiesFormat propertiesFormat = new PropertiesFormat();
+    private final IniConfigurationFormat iniFormat = new IniConfigurationFormat();
+    private byte[] properties;
+    private byte[] ini;
+
+    public static void main(String... args) throws Exception {
+        new Runner(new OptionsBuilder().include(FormatParserBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void createInput() {
+        StringBuilder b = new StringBuilder();
+        for (int i = 0; i < ENTRIES; i++) {
+            if (i % 20 == 0) {
+                b.append("# section ").append(i / 20).append('\n');
+            }
+            b.append("app.module").append(i % 50).append(".key").append(i).append(" = some value ").append(i)
+                    .append('\n');
+        }
+        properties = b.toString().getBytes(StandardCharsets.ISO_8859_1);
+        b.setLength(0);
+        for (int i = 0; i < ENTRIES; i++) {
+            if (i % 20 == 0) {
+                b.append("\n[section").append(i / 20).append("]\n# comment\n");
+            }
+            b.append("key").append(i).append("=some value ").append(i).append('\n');
+        }
+        ini = b.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Properties parsePropertiesLegacy() throws IOException {
+        Properties p = new Properties();
+        p.load(new ByteArrayInputStream(properties));
+        return p;
+    }
+
+    @Benchmark
+    public Map<String, String> parseProperties() throws IOException {
+        Map<String, String> result = new LinkedHashMap<>();
+        PropertiesParser.parse(PropertiesParser.readFully(new ByteArrayInputStream(properties),
+                StandardCharsets.ISO_8859_1), result::put);
+        return result;
+    }
+
+    @Benchmark
+    public ConfigurationData readPropertiesLegacy() throws IOException {
+        return legacyProperties(new ByteArrayInputStream(properties));
+    }
+
+    @Benchmark
+    public ConfigurationData readProperties() throws IOException {
+        return propertiesFormat.readConfiguration("bench", new ByteArrayInputStream(properties));
+    }
+
+    @Benchmark
+    public ConfigurationData readIniLegacy() throws IOException {
+        return legacyIni(new ByteArrayInputStream(ini));
+    }
+
+    @Benchmark
+    public ConfigurationData readIni() throws IOException {
+        return iniFormat.readConfiguration("bench", new ByteArrayInputStream(ini));
+    }
+
+    /** The previous implementation of {@link PropertiesFormat}. */
+    private static ConfigurationData legacyProperties(InputStream inputStream) throws IOException {
+        ConfigurationFormat format = new PropertiesFormat();
+        final Properties p = new Properties();
+        p.load(inputStream);
+        Set<PropertyValue> data = new HashSet<>();
+        for (Map.Entry<Object, Object> en : p.entrySet()) {
+            data.add(PropertyValue.createValue(en.getKey().toString(), en.getValue().toString())
+                    .setMeta("source", "bench")
+                    .setMeta(ConfigurationFormat.class.getName(), format));
+        }
+        return new ConfigurationData("bench", format, data);
+    }
+
+    /** The previous implementation of {@link IniConfigurationFormat}. */
+    private static ConfigurationData legacyIni(InputStream inputStream) throws IOException {
+        ConfigurationFormat format = new IniConfigurationFormat();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            Map<String, PropertyValue> sections = new HashMap<>();
+            String section = null;
+            while (line != null) {
+                line = line.trim();
+                if (line.isEmpty()) {
+                    line = reader.readLine();
+                    continue;
+                }
+                if (line.startsWith("[")) {
+                    section = line.substring(1, line.indexOf(']'));
+                } else if (!line.trim().startsWith("#")) {
+                    int sep = line.indexOf('=');
+                    String key = line.substring(0, sep);
+                    String value = line.substring(sep + 1);
+                    final String finalSection = section != null ? section : "default";
+                    ObjectValue sectionPV = (ObjectValue) sections.computeIfAbsent(finalSection,
+                            s -> PropertyValue.createObject(finalSection)
+                                    .setMeta(ConfigurationFormat.class.getName(), format));
+                    sectionPV.setValue(key, value).setMeta("source", "bench")
+                            .setMeta(ConfigurationFormat.class.getName(), format);
+                }
+                line = reader.readLine();
+            }
+            return new ConfigurationData("bench", format, sections.values());
+        }
+    }
+}
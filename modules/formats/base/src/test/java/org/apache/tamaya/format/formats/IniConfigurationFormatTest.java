@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.format.formats;
+
+import org.apache.tamaya.format.ConfigurationData;
+import org.apache.tamaya.format.ConfigurationFormat;
+import org.apache.tamaya.spi.PropertySource;
+import org.apache.tamaya.spi.PropertyValue;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link IniConfigurationFormat}.
+ */
+public class IniConfigurationFormatTest {
+
+    private final IniConfigurationFormat format = new IniConfigurationFormat();
+
+    @Test
+    public void testReadConfiguration() throws Exception {
+        PropertySource ps = read("a=1\r\n  # comment\n\n[s1]\n b = 2 \n[s2]\n[s3]\nc=x=y\n").toPropertySource();
+        assertThat(ps.get("default.a").getValue()).isEqualTo("1");
+        assertThat(ps.get("s1.b ").getValue()).isEqualTo(" 2");
+        assertThat(ps.get("s3.c").getValue()).isEqualTo("x=y");
+        assertThat(ps.get("s3.c").getMeta("source")).isEqualTo("test.ini");
+        assertThat(ps.getProperties()).hasSize(3);
+    }
+
+    @Test
+    public void testReadConfiguration_FormatMetadataOnSections() throws Exception {
+        ConfigurationData data = read("a=1\n[s1]\nb=2\n");
+        assertThat(data.getData()).hasSize(2);
+        for (PropertyValue section : data.getData()) {
+            assertThat(section.getMeta(ConfigurationFormat.class.getName())).isNotNull();
+            assertThat(section.getMeta("source")).isEqualTo("test.ini");
+            for (PropertyValue value : section) {
+                assertThat(value.getMeta(ConfigurationFormat.class.getName())).isNull();
+                assertThat(value.getMeta("source")).isEqualTo("test.ini");
+            }
+        }
+    }
+
+    @Test
+    public void testReadConfiguration_MissingBracket() {
+        assertThatThrownBy(() -> read("[section\na=b\n")).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void testReadConfiguration_MissingSeparator() {
+        assertThatThrownBy(() -> read("[section]\nab\n")).isInstanceOf(IOException.class);
+    }
+
+    private ConfigurationData read(String text) throws IOException {
+        return format.readConfiguration("test.ini", new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
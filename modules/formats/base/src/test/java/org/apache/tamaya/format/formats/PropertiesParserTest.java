@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.format.formats;
+
+import org.apache.tamaya.format.ConfigurationData;
+import org.apache.tamaya.format.ConfigurationFormat;
+import org.apache.tamaya.spi.PropertyValue;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PropertiesParser}, comparing the results with {@link Properties}.
+ */
+public class PropertiesParserTest {
+
+    @Test
+    public void testFormatMetadata() throws Exception {
+        PropertiesFormat format = new PropertiesFormat();
+        ConfigurationData data = format.readConfiguration("test",
+                new ByteArrayInputStream("a=1\nb=2\n".getBytes(StandardCharsets.ISO_8859_1)));
+        assertThat(data.getFormat()).isSameAs(format);
+        for (PropertyValue value : data.getData()) {
+            assertThat(value.getMeta("source")).isEqualTo("test");
+            assertThat(value.getMeta(ConfigurationFormat.class.getName())).isNull();
+        }
+    }
+
+    @Test
+    public void testSimple() throws Exception {
+        assertSameAsProperties("a=1\nb = 2\r\nc:3\rd 4\n  e=5  \n");
+    }
+
+    @Test
+    public void testCommentsAndBlankLines() throws Exception {
+        assertSameAsProperties("# comment\n! other comment\n\n   \n\t# indented comment\na=1\n#b=2\n");
+    }
+
+    @Test
+    public void testContinuations() throws Exception {
+        assertSameAsProperties("a=first \\\n   second \\\r\n\tthird\nb=\\\\\nc=4\\\n");
+    }
+
+    @Test
+    public void testEscapes() throws Exception {
+        assertSameAsProperties("a\\=b=c\\:d\nkey\\ with\\ spaces=\\u0041\\t\\n\\x\nempty\nonlysep=\n");
+    }
+
+    @Test
+    public void testDuplicates() throws Exception {
+        assertSameAsProperties("a=1\na=2\n");
+    }
+
+    @Test
+    public void testReadFully() throws Exception {
+        StringBuilder b = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            b.append("key").append(i).append('=').append(i).append('\n');
+        }
+        CharBuffer buffer = PropertiesParser.readFully(
+                new ByteArrayInputStream(b.toString().getBytes(StandardCharsets.ISO_8859_1)),
+                StandardCharsets.ISO_8859_1);
+        assertThat(buffer.toString()).isEqualTo(b.toString());
+    }
+
+    private static void assertSameAsProperties(String text) throws Exception {
+        Properties expected = new Properties();
+        expected.load(new StringReader(text));
+        Map<String, String> parsed = new HashMap<>();
+        PropertiesParser.parse(CharBuffer.wrap(text.toCharArray()), parsed::put);
+        assertThat(parsed).isEqualTo(expected);
+    }
+}
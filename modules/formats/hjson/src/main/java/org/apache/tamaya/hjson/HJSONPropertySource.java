@@ -19,6 +19,7 @@
 package org.apache.tamaya.hjson;
 
 import org.apache.tamaya.ConfigException;
+import org.apache.tamaya.resource.MetadataTemplate;
 import org.apache.tamaya.spi.PropertySource;
 import org.apache.tamaya.spi.PropertyValue;
 import org.hjson.JsonValue;
@@ -29,7 +30,6 @@ import java.io.InputStreamReader;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.logging.Level;
@@ -114,12 +114,7 @@ public class HJSONPropertySource implements PropertySource {
         try (InputStream is = urlResource.openStream()) {
             JsonValue root = JsonValue.readHjson(new InputStreamReader(is, Charset.forName("UTF-8")));
             HJSONDataBuilder visitor = new HJSONDataBuilder(urlResource.toString(), root);
-            Map<String, String> values = visitor.build().toMap();
-            Map<String, PropertyValue> result = new HashMap<>();
-            for(Map.Entry<String,String> en:values.entrySet()){
-                result.put(en.getKey(), PropertyValue.createValue(en.getKey(), en.getValue()).setMeta("source", getName()));
-            }
-            return result;
+            return MetadataTemplate.of(getName(), "hjson").createValues(visitor.build().toMap());
         }catch(IOException ioe){
             throw ioe;
         }catch (Exception t) {
@@ -25,7 +25,6 @@ import org.apache.tamaya.spi.PropertyValue;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
-import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
 import java.util.logging.Level;
@@ -35,7 +34,8 @@ import java.util.logging.Logger;
 import static java.lang.String.format;
 
 /**
- * Property source based on a HOCON file.
+ * Property source based on a HOCON file. The values are held by a lazy
+ * {@link org.apache.tamaya.format.MappedConfigurationDataPropertySource}, which creates them on first access.
  */
 public class HOCONPropertySource implements PropertySource {
 
@@ -43,8 +43,8 @@ public class HOCONPropertySource implements PropertySource {
 
     /** The underlying resource. */
     private final URL urlResource;
-    /** The values read. */
-    private final Map<String, PropertyValue> values;
+    /** The lazy property source holding the values read. */
+    private final PropertySource data;
     /** The evaluated ordinal. */
     private int ordinal;
 
@@ -68,9 +68,10 @@ public class HOCONPropertySource implements PropertySource {
     public HOCONPropertySource(URL resource, int defaultOrdinal)throws IOException {
         urlResource = Objects.requireNonNull(resource);
         this.ordinal = defaultOrdinal; // may be overriden by read...
-        this.values = readConfig(urlResource);
-        if (this.values.containsKey(TAMAYA_ORDINAL)) {
-            this.ordinal = Integer.parseInt(this.values.get(TAMAYA_ORDINAL).getValue());
+        this.data = readPropertySource(urlResource);
+        PropertyValue configuredOrdinal = this.data.get(TAMAYA_ORDINAL);
+        if (configuredOrdinal != null) {
+            this.ordinal = Integer.parseInt(configuredOrdinal.getValue());
         }
     }
 
@@ -95,25 +96,36 @@ public class HOCONPropertySource implements PropertySource {
 
     @Override
     public PropertyValue get(String key) {
-        return getProperties().get(key);
+        return data.get(key);
     }
 
     @Override
     public Map<String, PropertyValue> getProperties() {
-
-        return Collections.unmodifiableMap(values);
+        return data.getProperties();
     }
 
     /**
-     * Reads the configuration.
+     * Reads the configuration. All values are created, use {@link #readPropertySource(URL)} to create them on
+     * first access.
      * @param url soure of the configuration.
      * @return the configuration read from the given resource URL.
      * @throws ConfigException if resource URL cannot be read.
      * @throws IOException if reading the urlResource fails.
      */
     protected Map<String, PropertyValue> readConfig(URL url) throws IOException{
+        return readPropertySource(url).getProperties();
+    }
+
+    /**
+     * Reads the configuration into a lazy property source.
+     * @param url soure of the configuration.
+     * @return the property source, creating the values read from the given resource URL on first access.
+     * @throws ConfigException if resource URL cannot be read.
+     * @throws IOException if reading the urlResource fails.
+     */
+    protected PropertySource readPropertySource(URL url) throws IOException{
         try (InputStream is = url.openStream()) {
-            return HOCON_FORMAT.readConfiguration(url.toString(), is).toPropertySource().getProperties();
+            return HOCON_FORMAT.readConfiguration(url.toString(), is).toPropertySource(true);
         }catch(IOException ioe){
             throw ioe;
         }catch (Exception t) {
@@ -18,6 +18,8 @@
  */
 package org.apache.tamaya.hocon;
 
+import org.apache.tamaya.format.ReloadablePropertySource;
+import org.apache.tamaya.format.ReloadablePropertySources;
 import org.apache.tamaya.resource.AbstractPathPropertySourceProvider;
 import org.apache.tamaya.spi.PropertySource;
 
@@ -35,14 +37,37 @@ public class PathBasedHOCONPropertySourceProvider extends AbstractPathPropertySo
 
     private static final Logger LOG = Logger.getLogger(PathBasedHOCONPropertySourceProvider.class.getName());
     private HOCONFormat hoconFormat = new HOCONFormat();
+    private final ReloadablePropertySources reloadableSources = new ReloadablePropertySources();
 
     public PathBasedHOCONPropertySourceProvider(String... paths) {
         super(paths);
     }
 
+    /**
+     * Checks if local files are reloaded, when they change.
+     * @return true, if {@link ReloadablePropertySource}s are created for local files.
+     */
+    public boolean isReloadable() {
+        return reloadableSources.isEnabled();
+    }
+
+    /**
+     * Enables or disables reloading of local files. If enabled, a {@link ReloadablePropertySource} is created for
+     * every local file found and reused for later lookups, other resources are read once. Disabling reloading
+     * closes the reloadable sources created.
+     * @param reloadable true, to reload local files on change.
+     */
+    public void setReloadable(boolean reloadable) {
+        reloadableSources.setEnabled(reloadable);
+    }
+
     @Override
     protected Collection<PropertySource> getPropertySources(URL url) {
         if(hoconFormat.accepts(url)){
+            PropertySource reloadable = reloadableSources.get(url, hoconFormat);
+            if(reloadable!=null){
+                return Collections.singletonList(reloadable);
+            }
             try {
                 return Collections.singletonList(
                         hoconFormat.readConfiguration(url.toString(), url.openStream()).toPropertySource());
@@ -20,12 +20,15 @@ package org.apache.tamaya.json;
 
 import org.apache.tamaya.format.ConfigurationData;
 import org.apache.tamaya.format.ConfigurationFormat;
+import org.apache.tamaya.format.ConfigurationFormats;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 
@@ -33,10 +36,15 @@ import javax.json.Json;
 import javax.json.JsonObject;
 import javax.json.JsonReader;
 import javax.json.JsonReaderFactory;
+import javax.json.stream.JsonParserFactory;
+
+import org.apache.tamaya.spi.PropertyValue;
 
 /**
  * Implementation of the {@link org.apache.tamaya.format.ConfigurationFormat}
- * able to read configuration properties with comments represented in JSON
+ * able to read configuration properties with comments represented in JSON. By default the document is read into
+ * a tree first, in <i>streaming</i> mode the flattened values are created directly while parsing, which keeps
+ * the memory required independent of the document size.
  *
  * @see <a href="http://www.json.org">JSON format specification</a>
  */
@@ -50,14 +58,41 @@ public class JSONFormat implements ConfigurationFormat {
      * The reader factory used.
      */
     private final JsonReaderFactory readerFactory;
+    /**
+     * The streaming reader, or null, if the tree based reader is used.
+     */
+    private final JSONStreamReader streamReader;
 
     /**
      * Constructor, initializing the JSON reader factory.
      */
     public JSONFormat() {
+        this(false);
+    }
+
+    /**
+     * Constructor, initializing the JSON reader or parser factory.
+     * @param streaming if true, the JSON data is flattened while parsing, without building a tree.
+     */
+    public JSONFormat(boolean streaming) {
         Map<String, Object> config = new HashMap<>();
         config.put(JOHNZON_SUPPORTS_COMMENTS_PROP, true);
-        this.readerFactory = Json.createReaderFactory(config);
+        if (streaming) {
+            JsonParserFactory parserFactory = Json.createParserFactory(config);
+            this.streamReader = new JSONStreamReader(parserFactory);
+            this.readerFactory = null;
+        } else {
+            this.readerFactory = Json.createReaderFactory(config);
+            this.streamReader = null;
+        }
+    }
+
+    /**
+     * Checks if this format uses the streaming reader.
+     * @return true, if values are flattened while parsing.
+     */
+    public boolean isStreaming() {
+        return streamReader != null;
     }
 
     @Override
@@ -70,8 +105,24 @@ public class JSONFormat implements ConfigurationFormat {
         return Objects.requireNonNull(url).getPath().endsWith(".json");
     }
 
+    @Override
+    public boolean acceptsContent(ByteBuffer header) {
+        int b = ConfigurationFormats.firstContentByte(header);
+        // objects, arrays or comments
+        return b < 0 || b == '{' || b == '[' || b == '/';
+    }
+
     @Override
     public ConfigurationData readConfiguration(String resource, InputStream inputStream) throws IOException {
+        if (streamReader != null) {
+            try {
+                Map<String, PropertyValue> values = new LinkedHashMap<>();
+                streamReader.read(resource, inputStream, values);
+                return new ConfigurationData(resource, this, values.values());
+            } catch (Exception e) {
+                throw new IOException("Failed to read data from " + resource, e);
+            }
+        }
         try (JsonReader reader = this.readerFactory.createReader(inputStream, Charset.forName("UTF-8"))) {
             JsonObject root = reader.readObject();
             JSONDataBuilder dataBuilder = new JSONDataBuilder(resource, root);
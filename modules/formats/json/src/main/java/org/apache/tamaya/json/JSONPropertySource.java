@@ -19,6 +19,7 @@
 package org.apache.tamaya.json;
 
 import org.apache.tamaya.ConfigException;
+import org.apache.tamaya.resource.MetadataTemplate;
 import org.apache.tamaya.spi.PropertySource;
 import org.apache.tamaya.spi.PropertyValue;
 
@@ -145,12 +146,7 @@ public class JSONPropertySource implements PropertySource {
                 JsonStructure root = reader.read();
 
                 JSONDataBuilder visitor = new JSONDataBuilder(urlResource.toString(), root);
-                Map<String, String> values = visitor.build().toMap();
-                Map<String, PropertyValue> result = new HashMap<>();
-                for (Map.Entry<String, String> en : values.entrySet()) {
-                    result.put(en.getKey(), PropertyValue.createValue(en.getKey(), en.getValue()).setMeta("source", getName()));
-                }
-                return result;
+                return MetadataTemplate.of(getName(), "json").createValues(visitor.build().toMap());
             }
         } catch (IOException ioe) {
             throw ioe;
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.tamaya.json;
+
+import org.apache.tamaya.ConfigException;
+import org.apache.tamaya.spi.PropertyValue;
+
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParserFactory;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Streaming reader that flattens a JSON document into {@link PropertyValue}s while parsing, without
+ * building a {@link javax.json.JsonStructure} or a {@link org.apache.tamaya.spi.ObjectValue} tree first.
+ * Only the path of the currently open objects and arrays is kept, so memory use depends on the nesting depth
+ * of the document rather than on its size. The keys created are the same as the qualified keys of the tree
+ * built by {@link JSONDataBuilder}, e.g. {@code a.b} for nested objects and {@code a[0]} for array entries.
+ * As in the tree, {@code null} array entries are skipped and do not take an index. All values carry the
+ * {@code resource} and {@code format} metadata, which {@link JSONDataBuilder} attaches to its root node.
+ */
+class JSONStreamReader {
+
+    private final JsonParserFactory parserFactory;
+
+    JSONStreamReader(JsonParserFactory parserFactory) {
+        this.parserFactory = Objects.requireNonNull(parserFactory);
+    }
+
+    /**
+     * Reads the given stream and adds all leaf values to the target map.
+     * @param resource the resource name, used for error messages, not null.
+     * @param inputStream the input, not null.
+     * @param target the target map, not null.
+     * @throws ConfigException if the document is empty or its root is not an object or array.
+     */
+    void read(String resource, InputStream inputStream, Map<String, PropertyValue> target) {
+        Deque<Frame> path = new ArrayDeque<>();
+        String key = null;
+        boolean rootRead = false;
+        Map<String, String> meta = new HashMap<>();
+        meta.put("resource", resource);
+        meta.put("format", "json");
+        try (JsonParser parser = parserFactory.createParser(inputStream, StandardCharsets.UTF_8)) {
+            while (parser.hasNext()) {
+                JsonParser.Event event = parser.next();
+                switch (event) {
+                    case START_OBJECT:
+                    case START_ARRAY:
+                        String prefix = path.isEmpty() ? "" : childKey(path.peek(), key);
+                        path.push(new Frame(prefix, event == JsonParser.Event.START_ARRAY));
+                        rootRead = true;
+                        break;
+                    case END_OBJECT:
+                    case END_ARRAY:
+                        path.pop();
+                        break;
+                    case KEY_NAME:
+                        key = parser.getString();
+                        break;
+                    case VALUE_NULL:
+                        if (!path.isEmpty() && !path.peek().array) {
+                            put(target, meta, childKey(path.peek(), key), null);
+                        }
+                        break;
+                    case VALUE_FALSE:
+                        put(target, meta, valueKey(path, key, resource), Boolean.FALSE.toString());
+                        break;
+                    case VALUE_TRUE:
+                        put(target, meta, valueKey(path, key, resource), Boolean.TRUE.toString());
+                        break;
+                    case VALUE_NUMBER:
+                        put(target, meta, valueKey(path, key, resource), parser.getBigDecimal().toString());
+                        break;
+                    case VALUE_STRING:
+                        put(target, meta, valueKey(path, key, resource), parser.getString());
+                        break;
+                    default:
+                        throw new ConfigException("Internal failure while processing JSON document.");
+                }
+            }
+        }
+        if (!rootRead) {
+            throw new ConfigException("No JSON object or array found in " + resource);
+        }
+    }
+
+    private static String valueKey(Deque<Frame> path, String key, String resource) {
+        if (path.isEmpty()) {
+            throw new ConfigException("Unknown JsonType encountered in " + resource + ", expected object or array.");
+        }
+        return childKey(path.peek(), key);
+    }
+
+    private static String childKey(Frame parent, String key) {
+        if (parent.array) {
+            return parent.prefix + '[' + (parent.index++) + ']';
+        }
+        return parent.prefix.isEmpty() ? key : parent.prefix + '.' + key;
+    }
+
+    private static void put(Map<String, PropertyValue> target, Map<String, String> meta, String key, String value) {
+        target.put(key, PropertyValue.createValue(key, value).setMeta(meta));
+    }
+
+    /**
+     * An object or array currently open.
+     */
+    private static final class Frame {
+        final String prefix;
+        final boolean array;
+        int index;
+
+        Frame(String prefix, boolean array) {
+            this.prefix = prefix;
+            this.array = array;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.tamaya.json;
+
+
+import org.apache.tamaya.format.ConfigurationData;
+import org.apache.tamaya.format.MappedConfigurationDataPropertySource;
+import org.apache.tamaya.spi.PropertySource;
+import org.apache.tamaya.spi.PropertyValue;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JSONStreamingFormatTest extends CommonJSONTestCaseCollection {
+    private final JSONFormat format = new JSONFormat(true);
+
+    @Test
+    public void isStreaming() throws Exception {
+        assertThat(format.isStreaming()).isTrue();
+        assertThat(new JSONFormat().isStreaming()).isFalse();
+    }
+
+    @Test
+    public void createsSameKeysAsTreeReader() throws Exception {
+        String json = "{\"a\": {\"b\": [1, \"x\", null, {\"c\": true}, [2.5, 3]], \"d\": null}, \"e\": {}, \"f\": false}";
+        PropertySource streamed = read(format, json);
+        PropertySource tree = read(new JSONFormat(), json);
+        assertThat(streamed.getProperties().keySet()).isEqualTo(tree.getProperties().keySet());
+        for (String key : tree.getProperties().keySet()) {
+            assertThat(streamed.get(key).getValue()).isEqualTo(tree.get(key).getValue());
+        }
+        assertThat(streamed.get("a.b[2].c").getValue()).isEqualTo("true");
+        assertThat(streamed.get("a.b[3][0]").getValue()).isEqualTo("2.5");
+    }
+
+    @Test
+    public void addsResourceMetadata() throws Exception {
+        try (InputStream is = new ByteArrayInputStream("{\"a\": \"b\"}".getBytes(StandardCharsets.UTF_8))) {
+            ConfigurationData data = format.readConfiguration("test", is);
+            PropertyValue value = data.getData().iterator().next();
+            assertThat(value.getMeta()).containsEntry("resource", "test").containsEntry("format", "json");
+        }
+    }
+
+    @Test
+    public void readsRootArray() throws Exception {
+        PropertySource streamed = read(format, "[\"a\", {\"b\": \"c\"}]");
+        assertThat(streamed.get("[0]").getValue()).isEqualTo("a");
+        assertThat(streamed.get("[1].b").getValue()).isEqualTo("c");
+    }
+
+    private PropertySource read(JSONFormat format, String json) throws Exception {
+        try (InputStream is = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))) {
+            return new MappedConfigurationDataPropertySource(format.readConfiguration("test", is));
+        }
+    }
+
+    @Override
+    PropertySource getPropertiesFrom(URL source) throws Exception {
+        try (InputStream is = source.openStream()) {
+            ConfigurationData data = format.readConfiguration(source.toString(), is);
+            return new MappedConfigurationDataPropertySource(data);
+        }
+    }
+}
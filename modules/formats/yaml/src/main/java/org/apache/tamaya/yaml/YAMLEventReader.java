@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.tamaya.yaml;
+
+import org.apache.tamaya.ConfigException;
+import org.apache.tamaya.spi.PropertyValue;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.reader.UnicodeReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reader that flattens a YAML document into {@link PropertyValue}s directly from the SnakeYAML event stream,
+ * without building the generic {@link Map}/{@link List} object graph first. Scalars are resolved and
+ * constructed the same way as by {@link Yaml#load(InputStream)}, so the values created are identical.
+ * Anchored nodes are recorded as flattened entries relative to the anchor, so aliases and merge keys
+ * ({@code <<}) are resolved by replaying these entries at the alias position. All values carry the
+ * {@code resource} and {@code format} metadata, which the object graph based reading attaches to its root node.
+ * <p>
+ * The events are read with a plain {@link ParserImpl}, no {@link Yaml} instance is created. The {@link Resolver}
+ * is only read after construction and is shared by all readers, see {@link #RESOLVER}. The scalar constructor
+ * keeps state while constructing timestamps, so instances are not thread safe, but can be reused for reading
+ * any number of documents on the same thread.
+ */
+class YAMLEventReader {
+
+    /**
+     * The resolver for implicit tags, shared by all readers and by the object graph based reading of
+     * {@link YAMLFormat}, since it is never modified after construction.
+     */
+    static final Resolver RESOLVER = new Resolver();
+
+    private final ScalarConstructor constructor = new ScalarConstructor();
+
+    /**
+     * Reads the given stream and adds all leaf values to the target map.
+     * @param resource the resource name, used for error messages, not null.
+     * @param inputStream the input, not null.
+     * @param target the target map, not null.
+     * @throws ConfigException if the document is invalid or its root is not a mapping or sequence.
+     */
+    void read(String resource, InputStream inputStream, Map<String, PropertyValue> target) {
+        new Parse(resource, target).run(new ParserImpl(new StreamReader(new UnicodeReader(inputStream))));
+    }
+
+    /**
+     * Resolves and constructs the value of a scalar the same way as the default composer and constructor do.
+     */
+    private Object scalarValue(ScalarEvent event) {
+        String tag = event.getTag();
+        Tag nodeTag;
+        if (tag == null || tag.equals("!")) {
+            nodeTag = RESOLVER.resolve(NodeId.scalar, event.getValue(), event.getImplicit().canOmitTagInPlainScalar());
+        } else {
+            nodeTag = new Tag(tag);
+        }
+        return constructor.construct(new ScalarNode(nodeTag, event.getValue(), event.getStartMark(),
+                event.getEndMark(), event.getStyle()));
+    }
+
+    private boolean isMergeKey(ScalarEvent event) {
+        return event.getTag() == null && event.getImplicit().canOmitTagInPlainScalar()
+                && Tag.MERGE.equals(RESOLVER.resolve(NodeId.scalar, event.getValue(), true));
+    }
+
+    /**
+     * State of a single read.
+     */
+    private final class Parse {
+        private final String resource;
+        private final Map<String, PropertyValue> target;
+        /** The metadata shared by all values read. */
+        private final Map<String, String> meta = new HashMap<>();
+        private final Deque<Frame> path = new ArrayDeque<>();
+        /** The flattened entries of all anchored nodes, relative to the anchored node. */
+        private final Map<String, Map<String, String>> anchors = new HashMap<>();
+        /** The anchored collections currently open. */
+        private final List<Frame> recording = new ArrayList<>();
+        private boolean rootRead;
+
+        Parse(String resource, Map<String, PropertyValue> target) {
+            this.resource = resource;
+            this.target = target;
+            meta.put("resource", resource);
+            meta.put("format", "yaml");
+        }
+
+        void run(Parser parser) {
+            for (Event event = parser.getEvent(); event != null; event = parser.getEvent()) {
+                if (event.is(Event.ID.DocumentStart) && rootRead) {
+                    throw new ConfigException("Expected a single document in " + resource);
+                } else if (event.is(Event.ID.MappingStart) || event.is(Event.ID.SequenceStart)) {
+                    startCollection((CollectionStartEvent) event);
+                } else if (event.is(Event.ID.MappingEnd) || event.is(Event.ID.SequenceEnd)) {
+                    endCollection();
+                } else if (event.is(Event.ID.Scalar)) {
+                    scalar((ScalarEvent) event);
+                } else if (event.is(Event.ID.Alias)) {
+                    alias((AliasEvent) event);
+                }
+            }
+            if (!rootRead) {
+                throw new ConfigException("No YAML mapping or sequence found in " + resource);
+            }
+        }
+
+        private void startCollection(CollectionStartEvent event) {
+            boolean sequence = event.is(Event.ID.SequenceStart);
+            Frame frame;
+            if (path.isEmpty()) {
+                frame = new Frame("", sequence, false);
+                rootRead = true;
+            } else {
+                Frame parent = path.peek();
+                if (parent.expectsKey()) {
+                    throw new ConfigException("Complex mapping keys are not supported in " + resource);
+                }
+                if (parent.mergeSequence && sequence) {
+                    throw new ConfigException("Invalid merge of a sequence in " + resource);
+                }
+                if (parent.mergePending || parent.mergeSequence) {
+                    // merged content is added to the mapping containing the merge key, explicit keys take precedence
+                    frame = new Frame(parent.prefix, false, true);
+                    frame.mergeSequence = sequence;
+                } else {
+                    frame = new Frame(parent.childKey(), sequence, parent.ifAbsent);
+                }
+                parent.valueDone();
+            }
+            if (event.getAnchor() != null) {
+                frame.anchor = event.getAnchor();
+                frame.recorded = new LinkedHashMap<>();
+                recording.add(frame);
+            }
+            path.push(frame);
+        }
+
+        private void endCollection() {
+            Frame frame = path.pop();
+            if (frame.anchor != null) {
+                recording.remove(frame);
+                anchors.put(frame.anchor, frame.recorded);
+            }
+        }
+
+        private void scalar(ScalarEvent event) {
+            if (path.isEmpty()) {
+                throw new ConfigException("Unknown YamlType encountered in " + resource + ", expected mapping or sequence.");
+            }
+            Frame frame = path.peek();
+            if (frame.expectsKey()) {
+                frame.key = event.getValue();
+                frame.mergePending = isMergeKey(event);
+                return;
+            }
+            if (frame.mergePending || frame.mergeSequence) {
+                throw new ConfigException("Invalid merge of a scalar in " + resource);
+            }
+            Object value = scalarValue(event);
+            String text = value == null && !frame.sequence ? null : String.valueOf(value);
+            if (event.getAnchor() != null) {
+                anchors.put(event.getAnchor(), Collections.singletonMap("", text));
+            }
+            emit(frame.childKey(), text, frame.ifAbsent);
+            frame.valueDone();
+        }
+
+        private void alias(AliasEvent event) {
+            Map<String, String> entries = anchors.get(event.getAnchor());
+            if (entries == null) {
+                throw new ConfigException("Found undefined alias " + event.getAnchor() + " in " + resource);
+            }
+            Frame frame = path.peek();
+            if (frame.expectsKey()) {
+                frame.key = entries.get("");
+                frame.mergePending = false;
+                return;
+            }
+            boolean merge = frame.mergePending || frame.mergeSequence;
+            String base = merge ? frame.prefix : frame.childKey();
+            if (merge && entries.containsKey("")) {
+                throw new ConfigException("Invalid merge of a scalar in " + resource);
+            }
+            for (Map.Entry<String, String> en : entries.entrySet()) {
+                emit(join(base, en.getKey()), en.getValue(), merge || frame.ifAbsent);
+            }
+            frame.valueDone();
+        }
+
+        private void emit(String key, String value, boolean ifAbsent) {
+            if (!ifAbsent || !target.containsKey(key)) {
+                target.put(key, PropertyValue.createValue(key, value).setMeta(meta));
+            }
+            for (Frame frame : recording) {
+                String relative = relative(frame.prefix, key);
+                if (ifAbsent) {
+                    frame.recorded.putIfAbsent(relative, value);
+                } else {
+                    frame.recorded.put(relative, value);
+                }
+            }
+        }
+    }
+
+    private static String relative(String prefix, String key) {
+        if (prefix.isEmpty()) {
+            return key.startsWith("[") ? key : '.' + key;
+        }
+        return key.substring(prefix.length());
+    }
+
+    private static String join(String base, String relative) {
+        if (relative.isEmpty()) {
+            return base;
+        }
+        if (base.isEmpty()) {
+            return relative.startsWith(".") ? relative.substring(1) : relative;
+        }
+        return base + relative;
+    }
+
+    /**
+     * A mapping or sequence currently open.
+     */
+    private static final class Frame {
+        final String prefix;
+        final boolean sequence;
+        /** Flag, if values are only added if not yet present, as required for merged mappings. */
+        final boolean ifAbsent;
+        /** Flag, if this is a sequence of mappings to be merged into the enclosing mapping. */
+        boolean mergeSequence;
+        /** Flag, if the current key is a merge key. */
+        boolean mergePending;
+        String key;
+        int index;
+        String anchor;
+        Map<String, String> recorded;
+
+        Frame(String prefix, boolean sequence, boolean ifAbsent) {
+            this.prefix = prefix;
+            this.sequence = sequence;
+            this.ifAbsent = ifAbsent;
+        }
+
+        boolean expectsKey() {
+            return !sequence && !mergeSequence && key == null;
+        }
+
+        String childKey() {
+            if (sequence) {
+                return prefix + '[' + index + ']';
+            }
+            return prefix.isEmpty() ? key : prefix + '.' + key;
+        }
+
+        void valueDone() {
+            if (sequence) {
+                index++;
+            } else {
+                key = null;
+                mergePending = false;
+            }
+        }
+    }
+
+    /**
+     * Constructor giving access to the scalar constructs of the {@link SafeConstructor}.
+     */
+    private static final class ScalarConstructor extends SafeConstructor {
+        Object construct(ScalarNode node) {
+            return getConstructor(node).construct(node);
+        }
+    }
+}
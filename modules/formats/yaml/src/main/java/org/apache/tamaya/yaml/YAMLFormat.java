@@ -24,10 +24,14 @@ import org.apache.tamaya.format.ConfigurationFormat;
 import org.apache.tamaya.spi.ListValue;
 import org.apache.tamaya.spi.ObjectValue;
 import org.apache.tamaya.spi.PropertyValue;
+import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.Constructor;
+import org.yaml.snakeyaml.representer.Representer;
 
 import java.io.InputStream;
 import java.net.URL;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -39,7 +43,8 @@ import static java.lang.String.format;
 
 /**
  * Implementation of the {@link org.apache.tamaya.format.ConfigurationFormat}
- * able to read configuration properties represented in JSON
+ * able to read configuration properties represented in JSON. By default the document is loaded into a generic
+ * object graph first, in <i>streaming</i> mode the flattened values are created directly from the parser events.
  *
  * @see <a href="http://www.json.org">JSON format specification</a>
  */
@@ -49,6 +54,34 @@ public class YAMLFormat implements ConfigurationFormat {
      */
     private static final Logger LOG = Logger.getLogger(YAMLFormat.class.getName());
 
+    /**
+     * Flag, if the event based reader is used.
+     */
+    private final boolean streaming;
+
+    /**
+     * Constructor, creating a format that loads the YAML object graph.
+     */
+    public YAMLFormat() {
+        this(false);
+    }
+
+    /**
+     * Constructor.
+     * @param streaming if true, the YAML data is flattened directly from the parser events.
+     */
+    public YAMLFormat(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    /**
+     * Checks if this format uses the event based reader.
+     * @return true, if values are flattened from the parser events.
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
     @Override
     public String getName() {
         return "yaml";
@@ -61,8 +94,18 @@ public class YAMLFormat implements ConfigurationFormat {
 
     @Override
     public ConfigurationData readConfiguration(String resource, InputStream inputStream) {
+        if (streaming) {
+            try {
+                Map<String, PropertyValue> values = new LinkedHashMap<>();
+                new YAMLEventReader().read(resource, inputStream, values);
+                return new ConfigurationData(resource, this, values.values());
+            } catch (Throwable t) {
+                throw new ConfigException(format("Failed to read properties from %s", resource), t);
+            }
+        }
         try {
-            Yaml yaml = new Yaml();
+            // Yaml instances are not thread safe, only the immutable resolver is shared
+            Yaml yaml = new Yaml(new Constructor(), new Representer(), new DumperOptions(), YAMLEventReader.RESOLVER);
             PropertyValue data;
             Object config = yaml.load(inputStream);
             if (config instanceof Map) {
@@ -19,13 +19,13 @@
 package org.apache.tamaya.yaml;
 
 import org.apache.tamaya.format.ConfigurationData;
+import org.apache.tamaya.resource.MetadataTemplate;
 import org.apache.tamaya.spi.PropertySource;
 import org.apache.tamaya.spi.PropertyValue;
 
 import java.io.IOException;
 import java.net.URL;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.logging.Level;
@@ -65,13 +65,10 @@ public class YAMLPropertySource implements PropertySource {
         urlResource = Objects.requireNonNull(resource);
         this.ordinal = defaultOrdinal; // may be overriden by read...
         ConfigurationData data = format.readConfiguration(urlResource.toString(), resource.openStream());
-        this.values = new HashMap<>();
-        for(Map.Entry<String,String> en:data.getData().get(0).toMap().entrySet()){
-            this.values.put(en.getKey(), PropertyValue.createValue(en.getKey(), en.getValue()).setMeta("source",
-                    getName()));
-        }
-        if (data.getData().get(0).toMap().containsKey(TAMAYA_ORDINAL)) {
-            this.ordinal = Integer.parseInt(data.getData().get(0).toMap().get(TAMAYA_ORDINAL));
+        Map<String, String> properties = data.getData().get(0).toMap();
+        this.values = MetadataTemplate.of(getName(), "yaml").createValues(properties);
+        if (properties.containsKey(TAMAYA_ORDINAL)) {
+            this.ordinal = Integer.parseInt(properties.get(TAMAYA_ORDINAL));
         }
     }
 
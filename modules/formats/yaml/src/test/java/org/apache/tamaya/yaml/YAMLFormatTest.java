@@ -20,12 +20,16 @@ package org.apache.tamaya.yaml;
 
 
 import org.apache.tamaya.format.ConfigurationData;
+import org.apache.tamaya.format.MappedConfigurationDataPropertySource;
+import org.apache.tamaya.spi.PropertySource;
 import org.apache.tamaya.spi.PropertyValue;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -90,6 +94,62 @@ public class YAMLFormatTest {
         }
     }
 
+    @Test
+    public void testStreaming_SameAsTree() throws IOException {
+        for(String file:new String[]{"contact.yaml", "list.yaml", "test.yaml", "test-with-prio.yaml"}) {
+            URL configURL = YAMLPropertySourceTest.class.getResource("/configs/valid/" + file);
+            assertSameProperties(
+                    new YAMLFormat(true).readConfiguration(configURL.toString(), configURL.openStream()),
+                    format.readConfiguration(configURL.toString(), configURL.openStream()));
+        }
+    }
+
+    @Test
+    public void testStreaming_AnchorsAndAliases() throws IOException {
+        String yaml = "defaults: &defaults\n" +
+                "  adapter: postgres\n" +
+                "  host: localhost\n" +
+                "  ports: [1, 2]\n" +
+                "name: &name db\n" +
+                "development:\n" +
+                "  <<: *defaults\n" +
+                "  host: devhost\n" +
+                "  alias: *name\n" +
+                "copies:\n" +
+                "  - *defaults\n" +
+                "  - *name\n";
+        ConfigurationData streamed = new YAMLFormat(true).readConfiguration("test",
+                new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8)));
+        ConfigurationData tree = format.readConfiguration("test",
+                new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8)));
+        assertSameProperties(streamed, tree);
+        PropertySource ps = new MappedConfigurationDataPropertySource(streamed);
+        assertThat(ps.get("development.adapter").getValue()).isEqualTo("postgres");
+        assertThat(ps.get("development.host").getValue()).isEqualTo("devhost");
+        assertThat(ps.get("development.ports[1]").getValue()).isEqualTo("2");
+        assertThat(ps.get("development.alias").getValue()).isEqualTo("db");
+        assertThat(ps.get("copies[0].host").getValue()).isEqualTo("localhost");
+        assertThat(ps.get("copies[1]").getValue()).isEqualTo("db");
+    }
+
+    @Test
+    public void testStreaming_ValuesCarryMetadata() throws IOException {
+        ConfigurationData data = new YAMLFormat(true).readConfiguration("test",
+                new ByteArrayInputStream("a:\n  b: c\n".getBytes(StandardCharsets.UTF_8)));
+        PropertyValue value = data.getData().iterator().next();
+        assertThat(value.getKey()).isEqualTo("a.b");
+        assertThat(value.getMeta()).containsEntry("resource", "test").containsEntry("format", "yaml");
+    }
+
+    private void assertSameProperties(ConfigurationData streamed, ConfigurationData tree) {
+        PropertySource streamedSource = new MappedConfigurationDataPropertySource(streamed);
+        PropertySource treeSource = new MappedConfigurationDataPropertySource(tree);
+        assertThat(streamedSource.getProperties().keySet()).isEqualTo(treeSource.getProperties().keySet());
+        for(String key:treeSource.getProperties().keySet()){
+            assertThat(streamedSource.get(key).getValue()).isEqualTo(treeSource.get(key).getValue());
+        }
+    }
+
     private ConfigurationData loadConfigurationData(URL configURL) throws IOException {
         return format.readConfiguration(configURL.toString(), configURL.openStream());
     }
@@ -95,27 +95,7 @@ public final class ConfigurationFunctions {
      * @return the section configuration, with the areaKey stripped away.
      */
     public static UnaryOperator<Configuration> section(final String areaKey, final boolean stripKeys) {
-        return cfg -> {
-                Configuration filtered = new FilteredConfiguration(cfg,
-                        new PropertyMatcher() {
-                            @Override
-                            public boolean test(String k, String v) {
-                                return isKeyInSection(k, areaKey);
-                            }
-                        }, "section: " + areaKey);
-                if (stripKeys) {
-                    return new MappedConfiguration(filtered, new KeyMapper(){
-                        @Override
-                        public String mapKey(String key) {
-                            if(key.startsWith(areaKey)) {
-                                return key.substring(areaKey.length());
-                            }
-                            return areaKey + key;
-                        }
-                    }, "stripped");
-                }
-                return filtered;
-            };
+        return cfg -> SectionView.of(cfg, areaKey, stripKeys);
     }
 
     /**
@@ -153,16 +133,7 @@ public final class ConfigurationFunctions {
      * @return s setCurrent with all sections, never {@code null}.
      */
     public static Function<Configuration, Set<String>> sections() {
-        return config -> {
-                final Set<String> areas = new TreeSet<>();
-                for (String s : config.getProperties().keySet()) {
-                    int index = s.lastIndexOf('.');
-                    if (index > 0) {
-                        areas.add(s.substring(0, index));
-                    }
-                }
-                return areas;
-            };
+        return config -> new TreeSet<>(KeyIndex.of(config, config.getProperties()).getSections());
     }
 
     /**
@@ -174,19 +145,7 @@ public final class ConfigurationFunctions {
      * @return s setCurrent with all transitive sections, never {@code null}.
      */
     public static Function<Configuration, Set<String>> transitiveSections() {
-        return config -> {
-                final Set<String> transitiveAreas = new TreeSet<>();
-                for (String s : config.adapt(sections())) {
-                    transitiveAreas.add(s);
-                    int index = s.lastIndexOf('.');
-                    while (index > 0) {
-                        s = s.substring(0, index);
-                        transitiveAreas.add(s);
-                        index = s.lastIndexOf('.');
-                    }
-                }
-                return transitiveAreas;
-            };
+        return config -> new TreeSet<>(KeyIndex.of(config, config.getProperties()).getTransitiveSections());
     }
 
     /**
@@ -277,12 +236,8 @@ public final class ConfigurationFunctions {
      */
     public static UnaryOperator<Configuration> sectionRecursive(final boolean stripKeys, final String... sectionKeys) {
         return config -> {
-                Configuration filtered = new FilteredConfiguration(config, new PropertyMatcher() {
-                    @Override
-                    public boolean test(final String k, String v) {
-                        return isKeyInSections(k, sectionKeys);
-                    }
-                }, "sections: " + Arrays.toString(sectionKeys));
+                Configuration filtered = new FilteredConfiguration(config,
+                        "sections: " + Arrays.toString(sectionKeys), sectionKeys);
                 if (stripKeys) {
                     return new MappedConfiguration(filtered, new KeyMapper() {
                         @Override
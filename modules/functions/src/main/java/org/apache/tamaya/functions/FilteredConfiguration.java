@@ -36,11 +36,29 @@ class FilteredConfiguration implements Configuration {
     private final Configuration baseConfiguration;
     private final PropertyMatcher matcher;
     private final String filterType;
+    /** The key prefixes selected, or null, if the entries are selected by the matcher only. */
+    private final String[] keyPrefixes;
 
     FilteredConfiguration(Configuration baseConfiguration, PropertyMatcher matcher, String filterType) {
         this.baseConfiguration = Objects.requireNonNull(baseConfiguration);
         this.matcher = Objects.requireNonNull(matcher);
         this.filterType = filterType!=null?filterType:this.matcher.toString();
+        this.keyPrefixes = null;
+    }
+
+    /**
+     * Creates a configuration containing the keys starting with one of the given prefixes. The entries are
+     * selected using the {@link KeyIndex} of the base configuration, so only the matching keys are visited when
+     * copying the entries. The base properties are still evaluated on each call.
+     * @param baseConfiguration the base configuration, not null.
+     * @param filterType the filter description, not null.
+     * @param keyPrefixes the key prefixes, not null.
+     */
+    FilteredConfiguration(Configuration baseConfiguration, String filterType, String... keyPrefixes) {
+        this.baseConfiguration = Objects.requireNonNull(baseConfiguration);
+        this.keyPrefixes = keyPrefixes.clone();
+        this.matcher = (k, v) -> ConfigurationFunctions.isKeyInSections(k, this.keyPrefixes);
+        this.filterType = filterType;
     }
 
     @Override
@@ -73,11 +91,18 @@ class FilteredConfiguration implements Configuration {
 
     @Override
     public <T> T get(String key, TypeLiteral<T> type) {
+        if(keyPrefixes!=null){
+            // the prefix matcher does not depend on the value
+            return matcher.test(key, null) ? baseConfiguration.get(key, type) : null;
+        }
         String value = baseConfiguration.get(key);
-        if (matcher.test(key, value)) {
-            return baseConfiguration.get(key, type);
+        if (!matcher.test(key, value)) {
+            return null;
         }
-        return null;
+        if (String.class.equals(type.getRawType())) {
+            return (T)value;
+        }
+        return baseConfiguration.get(key, type);
     }
 
     @Override
@@ -91,6 +116,15 @@ class FilteredConfiguration implements Configuration {
 
     @Override
     public Map<String, String> getProperties() {
+        if(keyPrefixes!=null){
+            Map<String, String> properties = baseConfiguration.getProperties();
+            KeyIndex index = KeyIndex.of(baseConfiguration, properties);
+            Map<String, String> result = new HashMap<>();
+            for(String prefix:keyPrefixes) {
+                index.forEachKeyWithPrefix(prefix, key -> result.put(key, properties.get(key)));
+            }
+            return result;
+        }
         Map<String, String> result = new HashMap<>();
         for(Map.Entry<String,String> en:baseConfiguration.getProperties().entrySet()){
             if(matcher.test(en.getKey(), en.getValue())){
@@ -0,0 +1,316 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.functions;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical index of configuration keys, built as a trie of their dot separated segments. The index is
+ * immutable and allows to evaluate sections and keys with a given prefix in time proportional to the size of
+ * the result, instead of scanning all keys.
+ * <p>
+ * Indexes are shared using {@link #of(Object, Map)}: an index is reused for the same owner (e.g. a
+ * {@link org.apache.tamaya.Configuration} or a property map), as long as the keys have not changed.
+ */
+final class KeyIndex {
+
+    /** The number of indexes cached. */
+    private static final int CACHE_SIZE = 16;
+
+    /** The cache slots, replaced round robin. */
+    private static final CacheSlot[] CACHE = new CacheSlot[CACHE_SIZE];
+    private static int nextSlot;
+
+    /** The root node, representing the empty prefix. */
+    private final Node root = new Node("");
+    /** The keys indexed. */
+    private final Set<String> keys;
+    /** The nodes having keys as direct children. */
+    private final List<Node> sectionNodes = new ArrayList<>();
+    /** The sections, evaluated lazily. */
+    private volatile SortedSet<String> sections;
+    /** The transitive sections, evaluated lazily. */
+    private volatile SortedSet<String> transitiveSections;
+
+    private KeyIndex(Collection<String> keys) {
+        this.keys = new HashSet<>(keys);
+        for (String key : this.keys) {
+            add(key);
+        }
+        collectSectionNodes(root);
+    }
+
+    /**
+     * Creates a new index for the given keys.
+     * @param keys the keys, not null.
+     * @return the new index, never null.
+     */
+    static KeyIndex of(Collection<String> keys) {
+        return new KeyIndex(keys);
+    }
+
+    /**
+     * Get the index for the given properties. The index is shared for the same owner: it is reused, if the
+     * properties are the same instance than for the last lookup and have the same size, or if they have the same
+     * keys. Property maps are therefore expected not to be modified in place, as it is the case for the maps
+     * returned by configurations and property sources. The keys are compared without holding the cache lock.
+     * @param owner the owner of the properties, e.g. the configuration, not null.
+     * @param properties the current properties of the owner, not null.
+     * @return the index, never null.
+     */
+    static KeyIndex of(Object owner, Map<String, ?> properties) {
+        CacheSlot slot = lookup(owner);
+        if (slot != null && slot.properties.get() == properties && slot.index.size() == properties.size()) {
+            return slot.index;
+        }
+        KeyIndex index = slot != null && slot.index.keys.equals(properties.keySet())
+                ? slot.index : new KeyIndex(properties.keySet());
+        store(new CacheSlot(owner, properties, index));
+        return index;
+    }
+
+    private static CacheSlot lookup(Object owner) {
+        synchronized (CACHE) {
+            for (CacheSlot slot : CACHE) {
+                if (slot != null && slot.owner.get() == owner) {
+                    return slot;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static void store(CacheSlot newSlot) {
+        Object owner = newSlot.owner.get();
+        synchronized (CACHE) {
+            for (int i = 0; i < CACHE_SIZE; i++) {
+                if (CACHE[i] != null && CACHE[i].owner.get() == owner) {
+                    CACHE[i] = newSlot;
+                    return;
+                }
+            }
+            CACHE[nextSlot] = newSlot;
+            nextSlot = (nextSlot + 1) % CACHE_SIZE;
+        }
+    }
+
+    private void add(String key) {
+        Node node = root;
+        int start = 0;
+        int end = key.indexOf('.');
+        while (end >= 0) {
+            node = node.child(key, start, end);
+            start = end + 1;
+            end = key.indexOf('.', start);
+        }
+        node.hasKeys = true;
+        node.child(key, start, key.length()).isKey = true;
+    }
+
+    private void collectSectionNodes(Node node) {
+        if (node.hasKeys) {
+            sectionNodes.add(node);
+        }
+        for (Node child : node.children()) {
+            collectSectionNodes(child);
+        }
+    }
+
+    /**
+     * Get the number of keys indexed.
+     * @return the number of keys.
+     */
+    int size() {
+        return keys.size();
+    }
+
+    /**
+     * Get all fully qualified section names, using the semantics of {@link ConfigurationFunctions#sections()}:
+     * the part of a key before its last dot, if the dot is not the first character.
+     * @return the sections, never null.
+     */
+    SortedSet<String> getSections() {
+        SortedSet<String> result = sections;
+        if (result == null) {
+            result = new TreeSet<>();
+            for (Node node : sectionNodes) {
+                if (!node.path.isEmpty()) {
+                    result.add(node.path);
+                }
+            }
+            result = Collections.unmodifiableSortedSet(result);
+            sections = result;
+        }
+        return result;
+    }
+
+    /**
+     * Get all fully qualified section names, using the semantics of
+     * {@link PropertySourceFunctions#sections(Map)}: a leading dot is ignored, keys without a section are reported
+     * as {@code <root>}.
+     * @return the sections, never null.
+     */
+    Set<String> getNormalizedSections() {
+        Set<String> result = new HashSet<>();
+        for (Node node : sectionNodes) {
+            String section = node.path.startsWith(".") ? node.path.substring(1) : node.path;
+            result.add(section.isEmpty() ? "<root>" : section);
+        }
+        return result;
+    }
+
+    /**
+     * Get all fully qualified section names including their parent sections, using the semantics of
+     * {@link ConfigurationFunctions#transitiveSections()}.
+     * @return the sections, never null.
+     */
+    SortedSet<String> getTransitiveSections() {
+        SortedSet<String> result = transitiveSections;
+        if (result == null) {
+            result = new TreeSet<>();
+            collectTransitiveSections(root, result);
+            result = Collections.unmodifiableSortedSet(result);
+            transitiveSections = result;
+        }
+        return result;
+    }
+
+    /**
+     * Adds the section of the given node and all its sub nodes, if they have keys attached.
+     * @return true, if the node or one of its sub nodes has keys attached.
+     */
+    private static boolean collectTransitiveSections(Node node, Set<String> result) {
+        boolean found = node.hasKeys;
+        for (Node child : node.children()) {
+            found |= collectTransitiveSections(child, result);
+        }
+        if (found && !node.path.isEmpty()) {
+            result.add(node.path);
+        }
+        return found;
+    }
+
+    /**
+     * Passes all keys starting with the given prefix to the consumer. Prefixes are matched as Strings, so
+     * {@code a.b} matches {@code a.b.c} and {@code a.bc}.
+     * @param prefix the prefix, not null.
+     * @param consumer the consumer, not null.
+     */
+    void forEachKeyWithPrefix(String prefix, Consumer<String> consumer) {
+        Node node = root;
+        int start = 0;
+        int end = prefix.indexOf('.');
+        while (end >= 0) {
+            node = node.children == null ? null : node.children.get(prefix.substring(start, end));
+            if (node == null) {
+                return;
+            }
+            start = end + 1;
+            end = prefix.indexOf('.', start);
+        }
+        if (node.children == null) {
+            return;
+        }
+        String partial = prefix.substring(start);
+        for (Map.Entry<String, Node> en : node.children.tailMap(partial, true).entrySet()) {
+            if (!en.getKey().startsWith(partial)) {
+                break;
+            }
+            forEachKey(en.getValue(), consumer);
+        }
+    }
+
+    private static void forEachKey(Node node, Consumer<String> consumer) {
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            Node current = stack.pop();
+            if (current.isKey) {
+                consumer.accept(current.path);
+            }
+            for (Node child : current.children()) {
+                stack.push(child);
+            }
+        }
+    }
+
+    /**
+     * A node of the trie, representing the key prefix up to the end of a segment.
+     */
+    private static final class Node {
+        /** The key prefix, e.g. {@code a.b}. */
+        final String path;
+        /** The child nodes, by segment, or null. */
+        TreeMap<String, Node> children;
+        /** Flag, if the path is a key. */
+        boolean isKey;
+        /** Flag, if keys are direct children of this node, so the path is a section. */
+        boolean hasKeys;
+
+        Node(String path) {
+            this.path = path;
+        }
+
+        Node child(String key, int start, int end) {
+            if (children == null) {
+                children = new TreeMap<>();
+            }
+            String segment = key.substring(start, end);
+            Node child = children.get(segment);
+            if (child == null) {
+                child = new Node(key.substring(0, end));
+                children.put(segment, child);
+            }
+            return child;
+        }
+
+        Collection<Node> children() {
+            return children == null ? Collections.<Node>emptyList() : children.values();
+        }
+    }
+
+    /**
+     * A cached index, with the owner and the properties it was evaluated for. Slots are immutable and replaced
+     * on change.
+     */
+    private static final class CacheSlot {
+        final WeakReference<Object> owner;
+        final WeakReference<Map<String, ?>> properties;
+        final KeyIndex index;
+
+        CacheSlot(Object owner, Map<String, ?> properties, KeyIndex index) {
+            this.owner = new WeakReference<>(owner);
+            this.properties = new WeakReference<>(properties);
+            this.index = index;
+        }
+    }
+}
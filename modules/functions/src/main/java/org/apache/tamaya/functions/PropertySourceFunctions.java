@@ -87,11 +87,6 @@ public final class PropertySourceFunctions {
         return curAreaKey.equals(sectionKey);
     }
 
-    private static String normalizeKey(String key) {
-        return key.startsWith(".") ? key.substring(1)
-                                   : key;
-    }
-
     static String normalizeSectionKey(String sectionKey) {
         // Ignore unneeded and trailing dot at the end of the section key
 
@@ -167,18 +162,7 @@ public final class PropertySourceFunctions {
      * @return setCurrent with all sections, never {@code null}.
      */
     public static Set<String> sections(Map<String, String> properties) {
-        final Set<String> areas = new HashSet<>();
-        for (String key : properties.keySet()) {
-            String normalizedKey = normalizeKey(key);
-
-            int index = normalizedKey.lastIndexOf('.');
-            if (index > 0) {
-                areas.add(normalizedKey.substring(0, index));
-            } else {
-                areas.add("<root>");
-            }
-        }
-        return areas;
+        return KeyIndex.of(properties, properties).getNormalizedSections();
     }
 
     /**
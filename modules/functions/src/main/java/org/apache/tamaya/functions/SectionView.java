@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.functions;
+
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.ConfigurationSnapshot;
+import org.apache.tamaya.TypeLiteral;
+import org.apache.tamaya.spi.ConfigurationContext;
+import org.apache.tamaya.spisupport.DefaultConfigurationSnapshot;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Configuration view on a section of a base configuration. Keys are translated by prefix arithmetic only: a key
+ * of the view is the base key with the stripped prefix removed, and it is visible, if the base key starts with
+ * the selected prefix. Each lookup translates the key and does a single lookup on the base configuration.
+ * <p>
+ * Creating a section of a section view results in a single view on the original base configuration, with the
+ * prefixes combined, so stacked sections do not create chains of wrappers.
+ */
+final class SectionView implements Configuration {
+
+    private final Configuration baseConfiguration;
+    /** The prefix all visible base keys start with, or null, if the view is empty. */
+    private final String selectedPrefix;
+    /** The prefix removed from the base keys, a prefix of the selected prefix. */
+    private final String strippedPrefix;
+
+    private SectionView(Configuration baseConfiguration, String selectedPrefix, String strippedPrefix) {
+        this.baseConfiguration = Objects.requireNonNull(baseConfiguration);
+        this.selectedPrefix = selectedPrefix;
+        this.strippedPrefix = strippedPrefix;
+    }
+
+    /**
+     * Creates a view on the keys of the given configuration starting with the given section key.
+     * @param config the configuration, not null.
+     * @param sectionKey the section key, used as plain key prefix, not null.
+     * @param stripKeys if true, the section key is stripped away from the keys of the view.
+     * @return the section view, never null.
+     */
+    static Configuration of(Configuration config, String sectionKey, boolean stripKeys) {
+        Objects.requireNonNull(sectionKey, "Section key must be given.");
+        if (config instanceof SectionView) {
+            SectionView view = (SectionView) config;
+            String prefix = view.strippedPrefix + sectionKey;
+            return new SectionView(view.baseConfiguration, merge(view.selectedPrefix, prefix),
+                    stripKeys ? prefix : view.strippedPrefix);
+        }
+        return new SectionView(config, sectionKey, stripKeys ? sectionKey : "");
+    }
+
+    /**
+     * Evaluates the prefix selecting the keys starting with both prefixes.
+     * @return the longer prefix, or null, if no key can start with both prefixes.
+     */
+    private static String merge(String prefix1, String prefix2) {
+        if (prefix1 == null) {
+            return null;
+        }
+        if (prefix2.startsWith(prefix1)) {
+            return prefix2;
+        }
+        if (prefix1.startsWith(prefix2)) {
+            return prefix1;
+        }
+        return null;
+    }
+
+    /**
+     * Translates a key of this view into the key of the base configuration.
+     * @param key the key, not null.
+     * @return the base key, or null, if the key is not visible in this view.
+     */
+    private String toBaseKey(String key) {
+        if (selectedPrefix == null) {
+            return null;
+        }
+        String baseKey = strippedPrefix.isEmpty() ? key : strippedPrefix.concat(key);
+        return baseKey.startsWith(selectedPrefix) ? baseKey : null;
+    }
+
+    @Override
+    public String get(String key) {
+        return get(key, String.class);
+    }
+
+    @Override
+    public String getOrDefault(String key, String defaultValue) {
+        String val = get(key);
+        if(val==null){
+            return defaultValue;
+        }
+        return val;
+    }
+
+    @Override
+    public <T> T getOrDefault(String key, Class<T> type, T defaultValue) {
+        T val = get(key, type);
+        if(val==null){
+            return defaultValue;
+        }
+        return val;
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> type) {
+        return (T)get(key, TypeLiteral.of(type));
+    }
+
+    @Override
+    public <T> T get(String key, TypeLiteral<T> type) {
+        String baseKey = toBaseKey(Objects.requireNonNull(key, "Key must be given."));
+        if (baseKey == null) {
+            return null;
+        }
+        return baseConfiguration.get(baseKey, type);
+    }
+
+    @Override
+    public <T> T getOrDefault(String key, TypeLiteral<T> type, T defaultValue) {
+        T val = get(key, type);
+        if(val==null){
+            return defaultValue;
+        }
+        return val;
+    }
+
+    @Override
+    public Map<String, String> getProperties() {
+        if (selectedPrefix == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> properties = baseConfiguration.getProperties();
+        Map<String, String> result = new HashMap<>();
+        int strip = strippedPrefix.length();
+        KeyIndex.of(baseConfiguration, properties).forEachKeyWithPrefix(selectedPrefix,
+                key -> result.put(key.substring(strip), properties.get(key)));
+        return result;
+    }
+
+    @Override
+    public ConfigurationContext getContext() {
+        return baseConfiguration.getContext();
+    }
+
+    @Override
+    public ConfigurationSnapshot getSnapshot(Iterable<String> keys) {
+        return new DefaultConfigurationSnapshot(this, keys);
+    }
+
+    @Override
+    public String toString() {
+        return "SectionView{" +
+                "baseConfiguration=" + baseConfiguration +
+                ", selectedPrefix=" + selectedPrefix +
+                ", strippedPrefix=" + strippedPrefix +
+                '}';
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.functions;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link KeyIndex}.
+ */
+public class KeyIndexTest {
+
+    private final KeyIndex index = KeyIndex.of(Arrays.asList(
+            "a", "a.b", "a.b.c", "a.bc.d", "x.y.z", ".hidden.key", "java.version"));
+
+    @Test
+    public void getSections() {
+        assertThat(index.getSections()).containsExactly(".hidden", "a", "a.b", "a.bc", "java", "x.y");
+    }
+
+    @Test
+    public void getTransitiveSections() {
+        assertThat(index.getTransitiveSections())
+                .containsExactly(".hidden", "a", "a.b", "a.bc", "java", "x", "x.y");
+    }
+
+    @Test
+    public void getNormalizedSections() {
+        assertThat(index.getNormalizedSections())
+                .containsExactlyInAnyOrder("<root>", "hidden", "a", "a.b", "a.bc", "java", "x.y");
+    }
+
+    @Test
+    public void forEachKeyWithPrefix() {
+        assertThat(keysWithPrefix("a.b")).containsExactlyInAnyOrder("a.b", "a.b.c", "a.bc.d");
+        assertThat(keysWithPrefix("a.b.")).containsExactly("a.b.c");
+        assertThat(keysWithPrefix("a")).containsExactlyInAnyOrder("a", "a.b", "a.b.c", "a.bc.d");
+        assertThat(keysWithPrefix("j")).containsExactly("java.version");
+        assertThat(keysWithPrefix(".")).containsExactly(".hidden.key");
+        assertThat(keysWithPrefix("")).hasSize(7);
+        assertThat(keysWithPrefix("b")).isEmpty();
+        assertThat(keysWithPrefix("a.c.d")).isEmpty();
+    }
+
+    @Test
+    public void of_IsShared() {
+        Object owner = new Object();
+        Map<String, String> properties = new HashMap<>();
+        properties.put("a.b", "1");
+        KeyIndex shared = KeyIndex.of(owner, properties);
+        assertThat(KeyIndex.of(owner, properties)).isSameAs(shared);
+        assertThat(KeyIndex.of(owner, new HashMap<>(properties))).isSameAs(shared);
+        properties.put("a.c", "2");
+        assertThat(KeyIndex.of(owner, new HashMap<>(properties))).isNotSameAs(shared);
+    }
+
+    @Test
+    public void of_RenamedKeysAreIndexed() {
+        Object owner = new Object();
+        Map<String, String> properties = new HashMap<>();
+        properties.put("a.b", "1");
+        KeyIndex shared = KeyIndex.of(owner, properties);
+        Map<String, String> renamed = new HashMap<>();
+        renamed.put("x.b", "1");
+        KeyIndex index = KeyIndex.of(owner, renamed);
+        assertThat(index).isNotSameAs(shared);
+        assertThat(index.getSections()).containsExactly("x");
+    }
+
+    private List<String> keysWithPrefix(String prefix) {
+        List<String> keys = new ArrayList<>();
+        index.forEachKeyWithPrefix(prefix, keys::add);
+        return keys;
+    }
+}
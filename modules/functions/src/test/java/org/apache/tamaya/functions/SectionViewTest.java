@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.functions;
+
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.TypeLiteral;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link SectionView}.
+ */
+public class SectionViewTest {
+
+    private final Configuration base = createConfiguration();
+
+    private static Configuration createConfiguration() {
+        InMemoryPropertySource propertySource = new InMemoryPropertySource().setName("test")
+                .add("a.b.c", "1")
+                .add("a.b.d", "2")
+                .add("a.bc", "3")
+                .add("x.y", "4");
+        propertySource.setScannable(true);
+        return Configuration.createConfigurationBuilder()
+                .addPropertySources(propertySource)
+                .build();
+    }
+
+    @Test
+    public void get_Stripped() {
+        Configuration view = SectionView.of(base, "a.b.", true);
+        assertThat(view.get("c")).isEqualTo("1");
+        assertThat(view.get("d", Integer.class)).isEqualTo(2);
+        assertThat(view.get("a.b.c")).isNull();
+        assertThat(view.getProperties()).hasSize(2).containsEntry("c", "1").containsEntry("d", "2");
+    }
+
+    @Test
+    public void get_NotStripped() {
+        Configuration view = SectionView.of(base, "a.b", false);
+        assertThat(view.get("a.b.c")).isEqualTo("1");
+        assertThat(view.get("a.bc")).isEqualTo("3");
+        assertThat(view.get("x.y")).isNull();
+        assertThat(view.getProperties()).hasSize(3).containsKeys("a.b.c", "a.b.d", "a.bc");
+    }
+
+    @Test
+    public void get_SingleBaseLookup() {
+        Configuration config = mock(Configuration.class);
+        Configuration view = SectionView.of(config, "a.", true);
+        view.get("b", Integer.class);
+        verify(config, times(1)).get(eq("a.b"), any(TypeLiteral.class));
+        verify(config, never()).get(anyString());
+    }
+
+    @Test
+    public void of_StackedViewsAreCollapsed() {
+        Configuration view = SectionView.of(SectionView.of(base, "a.", true), "b.", true);
+        assertThat(view).isInstanceOf(SectionView.class);
+        assertThat(view.toString()).contains("baseConfiguration=" + base);
+        assertThat(view.get("c")).isEqualTo("1");
+        assertThat(view.getProperties()).hasSize(2).containsEntry("c", "1").containsEntry("d", "2");
+
+        Configuration unstripped = SectionView.of(SectionView.of(base, "a.", true), "b.", false);
+        assertThat(unstripped.get("b.d")).isEqualTo("2");
+        assertThat(unstripped.get("bc")).isNull();
+        assertThat(unstripped.getProperties()).hasSize(2).containsKeys("b.c", "b.d");
+    }
+
+    @Test
+    public void of_DisjointSectionsAreEmpty() {
+        Configuration view = SectionView.of(SectionView.of(base, "a.", false), "x.", false);
+        assertThat(view.get("x.y")).isNull();
+        assertThat(view.getProperties()).isEmpty();
+    }
+
+    @Test
+    public void section_UsesSectionView() {
+        Configuration view = base.map(ConfigurationFunctions.section("a.", true))
+                .map(ConfigurationFunctions.section("b.", true));
+        assertThat(view).isInstanceOf(SectionView.class);
+        assertThat(view.get("d")).isEqualTo("2");
+    }
+}
@@ -21,6 +21,7 @@ package org.apache.tamaya.cdi;
 import org.apache.tamaya.ConfigException;
 import org.apache.tamaya.Configuration;
 import org.apache.tamaya.TypeLiteral;
+import org.apache.tamaya.inject.DynamicValueRegistry;
 import org.apache.tamaya.inject.api.DynamicValue;
 import org.apache.tamaya.inject.api.LoadPolicy;
 import org.apache.tamaya.inject.api.UpdatePolicy;
@@ -81,6 +82,18 @@ final class DefaultDynamicValue<T> extends BaseDynamicValue<T> {
         }
     }
 
+    /**
+     * Registers a fully constructed value with the {@link DynamicValueRegistry}, unless it is loaded initially only.
+     * @param value the value, not null.
+     * @return the value passed.
+     */
+    private static <T> DefaultDynamicValue<T> register(DefaultDynamicValue<T> value){
+        if(value.loadPolicy != LoadPolicy.INITIAL){
+            DynamicValueRegistry.getInstance().register(value);
+        }
+        return value;
+    }
+
     public static DynamicValue of(Object owner, Field annotatedField, Configuration configuration) {
         return of(owner, annotatedField, configuration, LoadPolicy.ALWAYS, UpdatePolicy.IMMEDIATE);
     }
@@ -121,8 +134,8 @@ final class DefaultDynamicValue<T> extends BaseDynamicValue<T> {
             }
         }
         List<String> keys = InjectionUtils.getKeys(annotatedField);
-        return new DefaultDynamicValue(owner, annotatedField.getName(), configuration,
-                TypeLiteral.of(targetType), propertyConverter, keys, loadPolicy, updatePolicy);
+        return register(new DefaultDynamicValue(owner, annotatedField.getName(), configuration,
+                TypeLiteral.of(targetType), propertyConverter, keys, loadPolicy, updatePolicy));
     }
 
     public static DynamicValue of(Object owner, Method method, Configuration configuration) {
@@ -164,9 +177,9 @@ final class DefaultDynamicValue<T> extends BaseDynamicValue<T> {
                         + '.' + method.getName(), e);
             }
         }
-        return new DefaultDynamicValue<>(owner, method.getName(),
+        return register(new DefaultDynamicValue<>(owner, method.getName(),
                 configuration, TypeLiteral.of(targetType), propertyConverter, InjectionUtils.getKeys(method),
-                loadPolicy, updatePolicy);
+                loadPolicy, updatePolicy));
     }
 
     @Override
@@ -180,10 +193,10 @@ final class DefaultDynamicValue<T> extends BaseDynamicValue<T> {
                 "configuration=" + getConfiguration() +
                 ", customConverter=" + customConverter +
                 ", loadPolicy=" + loadPolicy +
-                ", value=" + value +
-                ", value=" + newValue +
+                ", value=" + getCurrentValue() +
+                ", newValue=" + getNewValue() +
                 ", defaultValue=" + getDefaultValue() +
-                ", discarded=" + discarded +
+                ", discarded=" + getDiscardedValue() +
                 ", keys=" + getKeys() +
                 ", updatePolicy=" + getUpdatePolicy() +
                 '}';
@@ -0,0 +1,300 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.cdi;
+
+import org.apache.tamaya.ConfigException;
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.TypeLiteral;
+import org.apache.tamaya.inject.api.Config;
+import org.apache.tamaya.inject.api.ConfigSection;
+import org.apache.tamaya.inject.api.WithConfigOperator;
+import org.apache.tamaya.inject.api.WithPropertyConverter;
+import org.apache.tamaya.spi.ConversionContext;
+import org.apache.tamaya.spi.PropertyConverter;
+
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.spi.Annotated;
+import javax.enterprise.inject.spi.AnnotatedParameter;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.inject.Provider;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.UnaryOperator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Immutable resolution descriptor for a configured {@link InjectionPoint}. All annotation processing (keys,
+ * operator, converter, target type and default value) is done once when the descriptor is created, so resolving
+ * a value only requires the key lookup and the type conversion. Data depending on the current
+ * {@link Configuration} (the mapped configuration, the converters and the conversion contexts) is cached
+ * per configuration instance.
+ */
+final class InjectionPointResolution {
+
+    private static final Logger LOGGER = Logger.getLogger(InjectionPointResolution.class.getName());
+
+    /** The candidate keys, in order of precedence. */
+    private final List<String> keys;
+    /** The operator to be applied on the configuration, or null. */
+    private final UnaryOperator<Configuration> operator;
+    /** The custom converter, or null. */
+    private final PropertyConverter customConverter;
+    /** The target type of the conversion context, with any {@link Provider} unwrapped. */
+    private final TypeLiteral<?> contextType;
+    /** The type used for looking up the converters, with any {@link Provider}, {@link Instance} or
+     * {@link Optional} unwrapped. */
+    private final TypeLiteral<Object> converterType;
+    /** Flag, if the injected type is an {@link Optional}. */
+    private final boolean optional;
+    /** Flag, if the converted value is a String. */
+    private final boolean stringValue;
+    /** The annotated element passed to the conversion context, or null. */
+    private final AnnotatedElement annotatedElement;
+    /** The default value, or null. */
+    private final String defaultValue;
+    /** Flag, if a value is required. */
+    private final boolean required;
+    /** The injection point description used for logging. */
+    private final String description;
+    /** The data evaluated for the last configuration seen. */
+    private volatile ConfigBinding binding;
+
+    private InjectionPointResolution(InjectionPoint injectionPoint) {
+        final Config annotation = injectionPoint.getAnnotated().getAnnotation(Config.class);
+        final ConfigSection typeAnnot = injectionPoint.getMember().getDeclaringClass().getAnnotation(ConfigSection.class);
+        this.keys = Collections.unmodifiableList(TamayaCDIInjectionExtension.evaluateKeys(
+                injectionPoint.getMember().getName(),
+                annotation != null ? annotation.key() : null,
+                annotation != null ? annotation.alternateKeys() : null,
+                typeAnnot != null ? typeAnnot.value() : null));
+        final WithConfigOperator withOperatorAnnot = injectionPoint.getAnnotated().getAnnotation(WithConfigOperator.class);
+        this.operator = withOperatorAnnot != null ?
+                TamayaCDIInjectionExtension.CUSTOM_OPERATORS.get(withOperatorAnnot.value()) : null;
+        final WithPropertyConverter withConverterAnnot = injectionPoint.getAnnotated().getAnnotation(WithPropertyConverter.class);
+        this.customConverter = withConverterAnnot != null ?
+                TamayaCDIInjectionExtension.CUSTOM_CONVERTERS.get(withConverterAnnot.value()) : null;
+        if (annotation != null && !annotation.defaultValue().equals(Config.UNCONFIGURED_VALUE)) {
+            this.defaultValue = annotation.defaultValue();
+        } else {
+            this.defaultValue = null;
+        }
+        this.required = annotation != null && annotation.required();
+
+        final Type baseType = injectionPoint.getAnnotated().getBaseType();
+        Type contextType = baseType;
+        Type toType = baseType;
+        boolean optional = false;
+        if (baseType instanceof ParameterizedType) {
+            ParameterizedType pt = (ParameterizedType) baseType;
+            if (Provider.class.equals(pt.getRawType())) {
+                contextType = pt.getActualTypeArguments()[0];
+            }
+            if (Provider.class.equals(pt.getRawType()) || Instance.class.equals(pt.getRawType())
+                    || Optional.class.equals(pt.getRawType())) {
+                toType = pt.getActualTypeArguments()[0];
+            }
+            optional = Optional.class.equals(pt.getRawType());
+        }
+        this.contextType = TypeLiteral.of(contextType);
+        this.converterType = TypeLiteral.of(toType);
+        this.optional = optional;
+        this.stringValue = String.class.equals(this.contextType.getRawType())
+                || (baseType instanceof ParameterizedType && String.class.equals(toType));
+        this.annotatedElement = evaluateAnnotatedElement(injectionPoint);
+        this.description = injectionPoint.toString();
+    }
+
+    /**
+     * Creates a new resolution descriptor for the given injection point.
+     * @param injectionPoint the injection point, not null.
+     * @return the new descriptor, never null.
+     */
+    static InjectionPointResolution of(InjectionPoint injectionPoint) {
+        return new InjectionPointResolution(injectionPoint);
+    }
+
+    /**
+     * Evaluates the cache key for an injection point. Injection point instances passed to producers are not
+     * guaranteed to be the instances seen during bean processing, so the member (and parameter position) is used.
+     * @param injectionPoint the injection point, not null.
+     * @return the key, never null.
+     */
+    static Object keyOf(InjectionPoint injectionPoint) {
+        Annotated annotated = injectionPoint.getAnnotated();
+        if (annotated instanceof AnnotatedParameter) {
+            return Arrays.asList(injectionPoint.getMember(), ((AnnotatedParameter<?>) annotated).getPosition());
+        }
+        return injectionPoint.getMember();
+    }
+
+    private static AnnotatedElement evaluateAnnotatedElement(InjectionPoint injectionPoint) {
+        AnnotatedElement result = null;
+        if (injectionPoint.getMember() instanceof Field) {
+            Field annotated = (Field) injectionPoint.getMember();
+            if (annotated.isAnnotationPresent(Config.class)) {
+                result = annotated;
+            }
+        } else if (injectionPoint.getMember() instanceof Method) {
+            Method method = (Method) injectionPoint.getMember();
+            for (Type type : method.getParameterTypes()) {
+                if (type instanceof AnnotatedElement) {
+                    AnnotatedElement annotated = (AnnotatedElement) type;
+                    if (annotated.isAnnotationPresent(Config.class)) {
+                        result = annotated;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the candidate keys.
+     * @return the keys, in order of precedence, never null.
+     */
+    List<String> getKeys() {
+        return keys;
+    }
+
+    /**
+     * Resolves and converts the value from the current configuration.
+     * @return the converted value, or null.
+     * @throws ConfigException if the value is required, but could not be resolved.
+     */
+    Object resolve() {
+        ConfigBinding binding = bind(Configuration.current());
+        String textValue = null;
+        int keyIndex = keys.size();
+        for (int i = 0; i < keys.size(); i++) {
+            textValue = binding.effective.getOrDefault(keys.get(i), null);
+            if (textValue != null) {
+                keyIndex = i;
+                break;
+            }
+        }
+        if (textValue == null) {
+            LOGGER.info("Using default value: '" + defaultValue + "' for IP: " + description);
+            textValue = defaultValue;
+        }
+        ConversionContext conversionContext = binding.getConversionContext(keyIndex);
+        Object value = convertValue(textValue, conversionContext, binding);
+        if (value == null && required) {
+            throw new ConfigException(String.format(
+                    "Can't resolve any of the possible config keys: %s to the required target type: %s, supported formats: %s",
+                    keys, conversionContext.getTargetType(), conversionContext.getSupportedFormats().toString()));
+        }
+        if (LOGGER.isLoggable(Level.FINEST)) {
+            LOGGER.finest(String.format("Injecting %s for key %s in class %s",
+                    keyIndex < keys.size() ? keys.get(keyIndex) : null, value, description));
+        }
+        return value;
+    }
+
+    private Object convertValue(String textValue, ConversionContext conversionContext, ConfigBinding binding) {
+        if (customConverter != null) {
+            return customConverter.convert(textValue, conversionContext);
+        }
+        Object value = null;
+        if (stringValue) {
+            value = textValue;
+        }
+        if (!String.class.equals(contextType.getRawType())) {
+            for (PropertyConverter<Object> converter : binding.converters) {
+                try {
+                    value = converter.convert(textValue, conversionContext);
+                    if (value != null) {
+                        LOGGER.log(Level.FINE, "Parsed value from '" + textValue + "' into " + description);
+                        break;
+                    }
+                } catch (Exception e) {
+                    LOGGER.log(Level.INFO, "Failed to convert value '" + textValue + "' for " + description, e);
+                }
+            }
+        }
+        if (optional) {
+            return Optional.ofNullable(value);
+        }
+        return value;
+    }
+
+    private ConfigBinding bind(Configuration config) {
+        ConfigBinding current = this.binding;
+        if (current == null || current.base != config) {
+            current = new ConfigBinding(config);
+            this.binding = current;
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return "InjectionPointResolution{" +
+                "keys=" + keys +
+                ", targetType=" + contextType +
+                ", defaultValue='" + defaultValue + '\'' +
+                ", required=" + required +
+                ", injectionPoint=" + description +
+                '}';
+    }
+
+    /**
+     * Data evaluated for a given configuration instance.
+     */
+    private final class ConfigBinding {
+        /** The configuration as returned by {@link Configuration#current()}. */
+        final Configuration base;
+        /** The configuration with the operator applied. */
+        final Configuration effective;
+        /** The converters for the target type. */
+        final List<PropertyConverter<Object>> converters;
+        /** The conversion contexts, indexed by key index; the last entry is used for the default value. */
+        final AtomicReferenceArray<ConversionContext> contexts;
+
+        ConfigBinding(Configuration base) {
+            this.base = base;
+            this.effective = operator != null ? base.map(operator) : base;
+            this.converters = customConverter != null || String.class.equals(contextType.getRawType()) ?
+                    Collections.emptyList() : base.getContext().getPropertyConverters(converterType);
+            this.contexts = new AtomicReferenceArray<>(keys.size() + 1);
+        }
+
+        ConversionContext getConversionContext(int keyIndex) {
+            ConversionContext ctx = contexts.get(keyIndex);
+            if (ctx == null) {
+                String key = keyIndex < keys.size() ? keys.get(keyIndex) : null;
+                ConversionContext.Builder builder = new ConversionContext.Builder(base, key, contextType);
+                if (annotatedElement != null) {
+                    builder.setAnnotatedElement(annotatedElement);
+                }
+                ctx = builder.build();
+                contexts.set(keyIndex, ctx);
+            }
+            return ctx;
+        }
+    }
+}
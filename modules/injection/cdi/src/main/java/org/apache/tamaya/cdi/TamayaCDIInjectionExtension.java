@@ -65,6 +65,7 @@ public class TamayaCDIInjectionExtension implements Extension {
 
     static final Map<Class, UnaryOperator<Configuration>> CUSTOM_OPERATORS = new ConcurrentHashMap<>();
     static final Map<Class, PropertyConverter> CUSTOM_CONVERTERS = new ConcurrentHashMap<>();
+    private static final Map<Object, InjectionPointResolution> RESOLUTIONS = new ConcurrentHashMap<>();
 
     private final Set<Type> types = new HashSet<>();
     private Bean<?> tamayaProducerBean;
@@ -90,12 +91,6 @@ public class TamayaCDIInjectionExtension implements Extension {
         for (InjectionPoint injectionPoint : ips) {
             if (injectionPoint.getAnnotated().isAnnotationPresent(Config.class)) {
                 LOG.fine("Configuring: " + injectionPoint);
-                final Config annotation = injectionPoint.getAnnotated().getAnnotation(Config.class);
-                final ConfigSection typeAnnot = injectionPoint.getMember().getDeclaringClass().getAnnotation(ConfigSection.class);
-                final List<String> keys = evaluateKeys(injectionPoint.getMember().getName(),
-                        annotation!=null?annotation.key():null,
-                        annotation!=null?annotation.alternateKeys():null,
-                        typeAnnot!=null?typeAnnot.value():null);
                 final WithConfigOperator withOperatorAnnot = injectionPoint.getAnnotated().getAnnotation(WithConfigOperator.class);
                 if(withOperatorAnnot!=null){
                     tryLoadOpererator(withOperatorAnnot.value());
@@ -104,12 +99,14 @@ public class TamayaCDIInjectionExtension implements Extension {
                 if(withConverterAnnot!=null){
                     tryLoadConverter(withConverterAnnot.value());
                 }
+                final InjectionPointResolution resolution = InjectionPointResolution.of(injectionPoint);
+                RESOLUTIONS.put(InjectionPointResolution.keyOf(injectionPoint), resolution);
                 Type originalType = injectionPoint.getAnnotated().getBaseType();
                 Type convertedType = unwrapType(originalType);
                 types.add(convertedType);
                 configured = true;
                 LOG.finest("Enabling Tamaya CDI Configuration on bean: " + configuredType.getName());
-                configuredType.addConfiguredMember(injectionPoint, keys);
+                configuredType.addConfiguredMember(injectionPoint, resolution.getKeys());
             }
         }
         if(configured) {
@@ -130,6 +127,17 @@ public class TamayaCDIInjectionExtension implements Extension {
         }
     }
 
+    /**
+     * Access the resolution descriptor for the given injection point. Descriptors are prepared during bean
+     * processing, if not present (e.g. the extension was not active) it is created and cached on first access.
+     * @param injectionPoint the injection point, not null.
+     * @return the resolution descriptor, never null.
+     */
+    static InjectionPointResolution getResolution(InjectionPoint injectionPoint) {
+        return RESOLUTIONS.computeIfAbsent(InjectionPointResolution.keyOf(injectionPoint),
+                k -> InjectionPointResolution.of(injectionPoint));
+    }
+
     private Type unwrapType(Type type) {
         if(type instanceof ParameterizedType) {
             Type rawType = ((ParameterizedType) type).getRawType();
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.cdi;
+
+import org.apache.tamaya.inject.api.Config;
+import org.junit.Test;
+
+import javax.enterprise.inject.spi.Annotated;
+import javax.enterprise.inject.spi.InjectionPoint;
+import java.lang.reflect.Field;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class InjectionPointResolutionTest {
+
+    @Config(key = "integer.value", defaultValue = "45")
+    private Integer integer;
+
+    @Config(key = "defaultInteger.value", defaultValue = "45")
+    private Integer defaultInteger;
+
+    @Config(key = "string.value", defaultValue = "defaultString")
+    private Optional<String> optionalString;
+
+    @Test
+    public void resolve() throws Exception {
+        InjectionPointResolution resolution = InjectionPointResolution.of(injectionPoint("integer"));
+        assertThat(resolution.getKeys()).containsExactly("integer.value");
+        assertThat(resolution.resolve()).isEqualTo(123);
+        assertThat(resolution.resolve()).isEqualTo(123);
+    }
+
+    @Test
+    public void resolve_DefaultValue() throws Exception {
+        InjectionPointResolution resolution = InjectionPointResolution.of(injectionPoint("defaultInteger"));
+        assertThat(resolution.resolve()).isEqualTo(45);
+    }
+
+    @Test
+    public void resolve_Optional() throws Exception {
+        InjectionPointResolution resolution = InjectionPointResolution.of(injectionPoint("optionalString"));
+        assertThat(resolution.resolve()).isEqualTo(Optional.of("hello"));
+    }
+
+    @Test
+    public void keyOf() throws Exception {
+        assertThat(InjectionPointResolution.keyOf(injectionPoint("integer")))
+                .isEqualTo(InjectionPointResolution.keyOf(injectionPoint("integer")));
+        assertThat(InjectionPointResolution.keyOf(injectionPoint("integer")))
+                .isNotEqualTo(InjectionPointResolution.keyOf(injectionPoint("defaultInteger")));
+    }
+
+    @Test
+    public void getResolution_IsCached() throws Exception {
+        assertThat(TamayaCDIInjectionExtension.getResolution(injectionPoint("integer")))
+                .isSameAs(TamayaCDIInjectionExtension.getResolution(injectionPoint("integer")));
+    }
+
+    private InjectionPoint injectionPoint(String fieldName) throws Exception {
+        Field field = getClass().getDeclaredField(fieldName);
+        Annotated annotated = mock(Annotated.class);
+        when(annotated.getAnnotation(Config.class)).thenReturn(field.getAnnotation(Config.class));
+        when(annotated.getBaseType()).thenReturn(field.getGenericType());
+        InjectionPoint injectionPoint = mock(InjectionPoint.class);
+        when(injectionPoint.getAnnotated()).thenReturn(annotated);
+        when(injectionPoint.getMember()).thenReturn(field);
+        return injectionPoint;
+    }
+}
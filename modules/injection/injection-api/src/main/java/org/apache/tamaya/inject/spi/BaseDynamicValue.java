@@ -29,7 +29,12 @@ import org.apache.tamaya.spi.ConversionContext;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.lang.ref.WeakReference;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.logging.Level;
@@ -71,17 +76,13 @@ public abstract class BaseDynamicValue<T> implements DynamicValue<T> {
      * Policy that defines how new values are applied, be default it is applied initially once, but never updated
      * anymore.
      */
-    private UpdatePolicy updatePolicy = UpdatePolicy.NEVER;
+    private volatile UpdatePolicy updatePolicy = UpdatePolicy.NEVER;
     /** The targe type. */
     private TypeLiteral<T> targetType;
     /**
-     * The current value, never null.
+     * The current state (current value, pending new value and discarded value), swapped atomically.
      */
-    protected transient T value;
-    /** The last discarded value. */
-    protected transient T discarded;
-    /** Any new value, not yet applied. */
-    protected transient T newValue;
+    private final transient AtomicReference<State<T>> state = new AtomicReference<>(State.<T>initial());
     /** The configured default value, before type conversion. */
     private String defaultValue;
     /** The createList of candidate keys to be used. */
@@ -89,6 +90,56 @@ public abstract class BaseDynamicValue<T> implements DynamicValue<T> {
     /** The registered listeners. */
     private final WeakList<PropertyChangeListener> listeners = new WeakList<>();
 
+    /**
+     * Immutable state of a dynamic value. Every transition creates a new instance with an incremented version,
+     * which is published using a CAS operation, so readers never see a partially updated state.
+     *
+     * @param <T> the value type.
+     */
+    private static final class State<T> {
+        private static final State<?> INITIAL = new State<>(null, null, false, null, 0L);
+
+        /** The current value. */
+        final T current;
+        /** Any new value, not yet applied. */
+        final T pending;
+        /** Flag, if a new value (which may be null) is pending. */
+        final boolean hasPending;
+        /** The last discarded value. */
+        final T discarded;
+        /** The version, incremented on each transition. */
+        final long version;
+
+        private State(T current, T pending, boolean hasPending, T discarded, long version) {
+            this.current = current;
+            this.pending = pending;
+            this.hasPending = hasPending;
+            this.discarded = discarded;
+            this.version = version;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> State<T> initial() {
+            return (State<T>) INITIAL;
+        }
+
+        State<T> withCurrent(T value) {
+            return new State<>(value, null, false, null, version + 1);
+        }
+
+        State<T> withPending(T value, T discarded) {
+            return new State<>(current, value, true, discarded, version + 1);
+        }
+
+        State<T> withoutPending() {
+            return new State<>(current, null, false, discarded, version + 1);
+        }
+
+        State<T> withDiscarded(T value) {
+            return new State<>(current, null, false, value, version + 1);
+        }
+    }
+
     /**
      * Creates a new instance.
      * @param owner the owner, not null.
@@ -165,23 +216,117 @@ public abstract class BaseDynamicValue<T> implements DynamicValue<T> {
         return targetType;
     }
 
+    /**
+     * Get the current value, without evaluating the configuration.
+     * @return the current value, or null.
+     */
+    protected T getCurrentValue(){
+        return state.get().current;
+    }
+
+    /**
+     * Get the last discarded value.
+     * @return the discarded value, or null.
+     */
+    protected T getDiscardedValue(){
+        return state.get().discarded;
+    }
+
+    /**
+     * Get the version of the current state, which is incremented on every state transition.
+     * @return the state version.
+     */
+    protected long getStateVersion(){
+        return state.get().version;
+    }
+
+    /**
+     * Sets the current value, if no value has been set so far. No listeners are triggered.
+     * @param value the initial value.
+     * @return true, if the value has been initialized by this call.
+     */
+    protected boolean initializeValue(T value){
+        while(true){
+            State<T> s = state.get();
+            if(s.current != null){
+                return false;
+            }
+            if(state.compareAndSet(s, s.withCurrent(value))){
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Applies the given value as current value, clears any pending or discarded value and informs the listeners,
+     * if the value has changed.
+     * @param value the new value.
+     */
+    protected void applyValue(T value){
+        while(true){
+            State<T> s = state.get();
+            if(state.compareAndSet(s, s.withCurrent(value))){
+                if(!Objects.equals(s.current, value)){
+                    publishChangeEvent(s.current, value);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stores the given value as new value, to be applied by a subsequent {@link #commit()}.
+     * @param value the new value.
+     */
+    protected void setNewValue(T value){
+        while(true){
+            State<T> s = state.get();
+            if(state.compareAndSet(s, s.withPending(value, s.discarded))){
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes any new value not yet applied.
+     */
+    protected void clearNewValue(){
+        while(true){
+            State<T> s = state.get();
+            if(!s.hasPending || state.compareAndSet(s, s.withoutPending())){
+                return;
+            }
+        }
+    }
+
     @Override
     public void commit() {
-        if(!Objects.equals(newValue, value)) {
-            T oldValue = this.value;
-            value = newValue;
-            discarded = null;
-            publishChangeEvent(this.value, newValue);
-            newValue = null;
+        while(true){
+            State<T> s = state.get();
+            if(!s.hasPending){
+                return;
+            }
+            if(state.compareAndSet(s, s.withCurrent(s.pending))){
+                if(!Objects.equals(s.current, s.pending)){
+                    publishChangeEvent(s.current, s.pending);
+                }
+                return;
+            }
         }
     }
 
     @Override
     public void discard() {
-        if(newValue!=null){
-            discarded = newValue;
+        while(true){
+            State<T> s = state.get();
+            if(!s.hasPending){
+                return;
+            }
+            T discarded = s.pending!=null?s.pending:s.discarded;
+            if(state.compareAndSet(s, s.withDiscarded(discarded))){
+                return;
+            }
         }
-        newValue = null;
     }
 
     @Override
@@ -191,48 +336,55 @@ public abstract class BaseDynamicValue<T> implements DynamicValue<T> {
 
     @Override
     public void addListener(PropertyChangeListener l) {
-        synchronized(listeners){
-            if(!listeners.contains(l)){
-                listeners.add(l);
-            }
-        }
+        listeners.addIfAbsent(l);
     }
 
     @Override
     public void removeListener(PropertyChangeListener l) {
-        synchronized(listeners){
-            listeners.remove(l);
-        }
+        listeners.remove(l);
     }
 
     @Override
     public T get() {
         updateValue();
-        return value;
+        return getCurrentValue();
     }
 
     @Override
     public boolean updateValue() {
-        Configuration config = getConfiguration();
         T val = evaluateValue();
-        if(value == null){
-            value = val;
-            return true;
-        }else if(discarded!=null && discarded.equals(val)){
-            // the evaluated value has been discarded and will be flagged out.
-            return false;
-        }else{
-            // Reset discarded state for a new value.
-            discarded = null;
-        }
-        if(!Objects.equals(val, value)){
-            switch (updatePolicy){
+        while(true) {
+            State<T> s = state.get();
+            if (s.current == null) {
+                if (state.compareAndSet(s, s.withCurrent(val))) {
+                    return true;
+                }
+                continue;
+            }
+            if (s.discarded != null && s.discarded.equals(val)) {
+                // the evaluated value has been discarded and will be flagged out.
+                return false;
+            }
+            if (Objects.equals(val, s.current)) {
+                // Reset discarded state for a new value.
+                if (s.discarded == null || state.compareAndSet(s, s.withDiscarded(null))) {
+                    return false;
+                }
+                continue;
+            }
+            switch (updatePolicy) {
+                case EXPLCIT:
                 case EXPLICIT:
-                    newValue = val;
+                    if (!state.compareAndSet(s, s.withPending(val, null))) {
+                        continue;
+                    }
                     break;
+                case IMMEDEATE:
                 case IMMEDIATE:
-                    this.value = val;
-                    publishChangeEvent(this.value, val);
+                    if (!state.compareAndSet(s, s.withCurrent(val))) {
+                        continue;
+                    }
+                    publishChangeEvent(s.current, val);
                     break;
                 case LOG_ONLY:
                     LOG.info("New config value for keys " + keys + " detected, but not yet applied.");
@@ -244,25 +396,23 @@ public abstract class BaseDynamicValue<T> implements DynamicValue<T> {
             }
             return true;
         }
-        return false;
     }
 
     /**
-     * Publishes a change event to all listeners.
+     * Publishes a change event to all listeners. Listeners are called on the current thread, without holding
+     * any lock.
      * @param newValue the new value
      * @param oldValue the new old value
      */
     protected void publishChangeEvent(T oldValue, T newValue) {
         PropertyChangeEvent evt = new PropertyChangeEvent(getOwner(), getPropertyName(),oldValue, newValue);
-        synchronized (listeners){
-            listeners.forEach(l -> {
-                try{
-                    l.propertyChange(evt);
-                }catch(Exception e){
-                    LOG.log(Level.SEVERE, "Error in config change listener: " + l, e);
-                }
-            });
-        }
+        listeners.forEach(l -> {
+            try{
+                l.propertyChange(evt);
+            }catch(Exception e){
+                LOG.log(Level.SEVERE, "Error in config change listener: " + l, e);
+            }
+        });
     }
 
     /**
@@ -324,7 +474,7 @@ public abstract class BaseDynamicValue<T> implements DynamicValue<T> {
 
     @Override
     public T getNewValue() {
-        return newValue;
+        return state.get().pending;
     }
 
     /**
@@ -415,37 +565,35 @@ public abstract class BaseDynamicValue<T> implements DynamicValue<T> {
 
     /**
      * Simple helper that allows keeping the listeners registered as weak references, hereby avoiding any
-     * memory leaks.
+     * memory leaks. Iteration works on a snapshot, so listeners can be called without holding a lock.
      *
      * @param <I> the type
      */
-    private class WeakList<I> {
-        final List<WeakReference<I>> refs = new LinkedList<>();
-
-        boolean contains(I item){
-            for(WeakReference<I> t:refs){
-                if(item.equals(t.get())){
-                    return true;
-                }
-            }
-            return false;
-        }
+    private static final class WeakList<I> {
+        final List<WeakReference<I>> refs = new CopyOnWriteArrayList<>();
 
         void forEach(Consumer<I> consumer){
-            refs.parallelStream().forEach(ref -> {
+            for(WeakReference<I> ref:refs){
                 I t = ref.get();
                 if(t!=null){
                     consumer.accept(t);
+                }else{
+                    refs.remove(ref);
                 }
-            });
+            }
         }
 
         /**
-         * Adds a new instance.
+         * Adds a new instance, if not yet present.
          *
          * @param t the new instance, not null.
          */
-        void add(I t) {
+        synchronized void addIfAbsent(I t) {
+            for(WeakReference<I> ref:refs){
+                if(t.equals(ref.get())){
+                    return;
+                }
+            }
             refs.add(new WeakReference<>(t));
         }
 
@@ -454,39 +602,8 @@ public abstract class BaseDynamicValue<T> implements DynamicValue<T> {
          *
          * @param t the instance to be removed.
          */
-        void remove(I t) {
-            synchronized (refs) {
-                for (Iterator<WeakReference<I>> iterator = refs.iterator(); iterator.hasNext(); ) {
-                    WeakReference<I> ref = iterator.next();
-                    I instance = ref.get();
-                    if (instance == null || instance == t) {
-                        iterator.remove();
-                        break;
-                    }
-                }
-            }
-        }
-
-
-        /**
-         * Access a createList (copy) of the current instances that were not discarded by the GC.
-         *
-         * @return the createList of accessible items.
-         */
-        public List<I> get() {
-            synchronized (refs) {
-                List<I> res = new ArrayList<>();
-                for (Iterator<WeakReference<I>> iterator = refs.iterator(); iterator.hasNext(); ) {
-                    WeakReference<I> ref = iterator.next();
-                    I instance = ref.get();
-                    if (instance == null) {
-                        iterator.remove();
-                    } else {
-                        res.add(instance);
-                    }
-                }
-                return res;
-            }
+        synchronized void remove(I t) {
+            refs.removeIf(ref -> ref.get() == null || ref.get() == t);
         }
     }
 
@@ -24,7 +24,11 @@ import org.apache.tamaya.TypeLiteral;
 import org.apache.tamaya.inject.api.UpdatePolicy;
 import org.junit.Test;
 
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -54,6 +58,38 @@ public class BaseDynamicValueTest {
         assertThat(dv.get()).isEqualTo("yes2");
     }
 
+    @Test
+    public void immediateUpdatePublishesOldAndNewValue() throws Exception {
+        System.setProperty("immediateUpdate", "old");
+        MyDynamicValue dv = new MyDynamicValue(Configuration.current(),"immediateUpdate");
+        dv.setUpdatePolicy(UpdatePolicy.IMMEDIATE);
+        assertThat(dv.get()).isEqualTo("old");
+        List<PropertyChangeEvent> events = new ArrayList<>();
+        PropertyChangeListener listener = events::add;
+        dv.addListener(listener);
+        System.setProperty("immediateUpdate", "new");
+        assertThat(dv.updateValue()).isTrue();
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getOldValue()).isEqualTo("old");
+        assertThat(events.get(0).getNewValue()).isEqualTo("new");
+    }
+
+    @Test
+    public void discard() throws Exception {
+        System.setProperty("discard", "yes");
+        MyDynamicValue dv = new MyDynamicValue(Configuration.current(),"discard");
+        dv.setUpdatePolicy(UpdatePolicy.EXPLICIT);
+        assertThat(dv.get()).isEqualTo("yes");
+        System.setProperty("discard", "no");
+        assertThat(dv.updateValue()).isTrue();
+        assertThat(dv.getNewValue()).isEqualTo("no");
+        dv.discard();
+        assertThat(dv.getNewValue()).isNull();
+        assertThat(dv.updateValue()).isFalse();
+        dv.commit();
+        assertThat(dv.get()).isEqualTo("yes");
+    }
+
     @Test
     public void isPresent() throws Exception {
         assertThat(new MyDynamicValue(Configuration.current(),"a", "b").isPresent()).isFalse();
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.inject;
+
+import org.apache.tamaya.events.ConfigEvent;
+import org.apache.tamaya.events.ConfigEventListener;
+import org.apache.tamaya.events.ConfigEventManager;
+import org.apache.tamaya.events.ConfigurationChange;
+import org.apache.tamaya.inject.spi.BaseDynamicValue;
+
+import java.beans.PropertyChangeEvent;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registry that pushes {@link ConfigurationChange} events to the {@link BaseDynamicValue} instances affected.
+ * The registry subscribes itself once to the {@link ConfigEventManager}, when the first value is registered,
+ * and indexes all registered values by their candidate keys. On a change only the values referencing one of the
+ * changed keys are re-evaluated, which triggers their listeners depending on their
+ * {@link org.apache.tamaya.inject.api.UpdatePolicy}. Values are held as weak references, so registering a value
+ * does not prevent it from being garbage collected.
+ * <p>
+ * Note that {@link ConfigurationChange} events are only published, if change monitoring is enabled
+ * (see {@link ConfigEventManager#enableChangeMonitoring(boolean)}) or changes are fired explicitly.
+ */
+public final class DynamicValueRegistry implements ConfigEventListener {
+
+    private static final Logger LOG = Logger.getLogger(DynamicValueRegistry.class.getName());
+
+    private static final DynamicValueRegistry INSTANCE = new DynamicValueRegistry();
+
+    /** The registered values, indexed by key. */
+    private final Map<String, List<WeakReference<BaseDynamicValue<?>>>> valuesByKey = new ConcurrentHashMap<>();
+
+    /** Flag, if this instance has been registered with the {@link ConfigEventManager}. */
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * Singleton constructor.
+     */
+    private DynamicValueRegistry() {
+    }
+
+    /**
+     * Access the shared registry instance.
+     *
+     * @return the registry, not null.
+     */
+    public static DynamicValueRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers a dynamic value for all its keys, so it is updated when one of its keys changes.
+     *
+     * @param value the value, not null.
+     */
+    public void register(BaseDynamicValue<?> value) {
+        Objects.requireNonNull(value);
+        subscribe();
+        for (String key : value.getKeys()) {
+            List<WeakReference<BaseDynamicValue<?>>> refs = valuesByKey.computeIfAbsent(key,
+                    k -> new CopyOnWriteArrayList<>());
+            refs.removeIf(ref -> ref.get() == null);
+            refs.add(new WeakReference<>(value));
+        }
+    }
+
+    /**
+     * Removes a dynamic value from the registry.
+     *
+     * @param value the value, not null.
+     */
+    public void unregister(BaseDynamicValue<?> value) {
+        Objects.requireNonNull(value);
+        for (String key : value.getKeys()) {
+            List<WeakReference<BaseDynamicValue<?>>> refs = valuesByKey.get(key);
+            if (refs != null) {
+                refs.removeIf(ref -> ref.get() == null || ref.get() == value);
+            }
+        }
+    }
+
+    /**
+     * Checks if the given value is currently registered.
+     *
+     * @param value the value, not null.
+     * @return true, if the value is registered.
+     */
+    public boolean isRegistered(BaseDynamicValue<?> value) {
+        for (String key : value.getKeys()) {
+            List<WeakReference<BaseDynamicValue<?>>> refs = valuesByKey.get(key);
+            if (refs != null) {
+                for (WeakReference<BaseDynamicValue<?>> ref : refs) {
+                    if (ref.get() == value) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void onConfigEvent(ConfigEvent<?> event) {
+        if (!(event instanceof ConfigurationChange)) {
+            return;
+        }
+        Set<BaseDynamicValue<?>> affected = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (PropertyChangeEvent change : ((ConfigurationChange) event).getChanges()) {
+            List<WeakReference<BaseDynamicValue<?>>> refs = valuesByKey.get(change.getPropertyName());
+            if (refs == null) {
+                continue;
+            }
+            for (WeakReference<BaseDynamicValue<?>> ref : refs) {
+                BaseDynamicValue<?> value = ref.get();
+                if (value == null) {
+                    refs.remove(ref);
+                } else {
+                    affected.add(value);
+                }
+            }
+        }
+        for (BaseDynamicValue<?> value : affected) {
+            try {
+                value.updateValue();
+            } catch (Exception e) {
+                LOG.log(Level.WARNING, "Failed to update dynamic value for keys " + value.getKeys(), e);
+            }
+        }
+    }
+
+    /**
+     * Registers this instance once with the {@link ConfigEventManager}.
+     */
+    private void subscribe() {
+        if (subscribed.compareAndSet(false, true)) {
+            try {
+                ConfigEventManager.getInstance().addListener(this, ConfigurationChange.class);
+            } catch (Exception e) {
+                LOG.log(Level.INFO, "Failed to register for configuration changes, dynamic values " +
+                        "are only updated on access.", e);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DynamicValueRegistry{" +
+                "keys=" + valuesByKey.keySet() +
+                '}';
+    }
+}
@@ -21,6 +21,7 @@ package org.apache.tamaya.inject.internal;
 import org.apache.tamaya.ConfigException;
 import org.apache.tamaya.Configuration;
 import org.apache.tamaya.TypeLiteral;
+import org.apache.tamaya.inject.DynamicValueRegistry;
 import org.apache.tamaya.inject.api.DynamicValue;
 import org.apache.tamaya.inject.spi.InjectionUtils;
 import org.apache.tamaya.inject.api.LoadPolicy;
@@ -85,10 +86,23 @@ final class DefaultDynamicValue<T> extends BaseDynamicValue<T> {
         this.loadPolicy = Objects.requireNonNull(loadPolicy);
         setUpdatePolicy(updatePolicy);
         if (loadPolicy == LoadPolicy.INITIAL) {
-            this.value = evaluateValue();
+            initializeValue(evaluateValue());
         }
     }
 
+    /**
+     * Registers a fully constructed value with the {@link DynamicValueRegistry}, unless it is loaded initially only.
+     *
+     * @param value the value, not null.
+     * @return the value passed.
+     */
+    private static <T> DefaultDynamicValue<T> register(DefaultDynamicValue<T> value) {
+        if (value.loadPolicy != LoadPolicy.INITIAL) {
+            DynamicValueRegistry.getInstance().register(value);
+        }
+        return value;
+    }
+
     public static DynamicValue<?> of(Object owner, Field annotatedField, Configuration configuration) {
         return of(owner, annotatedField, configuration, LoadPolicy.ALWAYS, UpdatePolicy.IMMEDIATE);
     }
@@ -131,8 +145,8 @@ final class DefaultDynamicValue<T> extends BaseDynamicValue<T> {
             }
         }
         List<String> keys = InjectionUtils.getKeys(annotatedField);
-        return new DefaultDynamicValue(owner, annotatedField.getName(), configuration,
-                TypeLiteral.of(targetType), propertyConverter, keys, loadPolicy, updatePolicy);
+        return register(new DefaultDynamicValue(owner, annotatedField.getName(), configuration,
+                TypeLiteral.of(targetType), propertyConverter, keys, loadPolicy, updatePolicy));
     }
 
     public static DynamicValue<?> of(Object owner, Method method, Configuration configuration) {
@@ -176,9 +190,9 @@ final class DefaultDynamicValue<T> extends BaseDynamicValue<T> {
                         + '.' + method.getName(), e);
             }
         }
-        return new DefaultDynamicValue<>(owner, method.getName(),
+        return register(new DefaultDynamicValue<>(owner, method.getName(),
                 configuration, TypeLiteral.of(targetType), propertyConverter, InjectionUtils.getKeys(method),
-                loadPolicy, updatePolicy);
+                loadPolicy, updatePolicy));
     }
 
     protected PropertyConverter getCustomConverter() {
@@ -194,36 +208,32 @@ final class DefaultDynamicValue<T> extends BaseDynamicValue<T> {
      * @see DefaultDynamicValue#isPresent()
      */
     public T get() {
-        T newLocalValue;
         if (loadPolicy != LoadPolicy.INITIAL) {
-            newLocalValue = evaluateValue();
-            if (this.value == null) {
-                this.value = newLocalValue;
-            }
-            if (!Objects.equals(this.value, newLocalValue)) {
+            T newLocalValue = evaluateValue();
+            initializeValue(newLocalValue);
+            T currentValue = getCurrentValue();
+            if (!Objects.equals(currentValue, newLocalValue)) {
                 switch (getUpdatePolicy()) {
                     case IMMEDEATE:
                     case IMMEDIATE:
-                        commit();
+                        applyValue(newLocalValue);
                         break;
                     case EXPLCIT:
                     case EXPLICIT:
-                        this.newValue = newLocalValue;
+                        setNewValue(newLocalValue);
                         break;
                     case LOG_ONLY:
-                        publishChangeEvent(this.value, newLocalValue);
-                        this.newValue = null;
+                        publishChangeEvent(currentValue, newLocalValue);
+                        clearNewValue();
                         break;
                     case NEVER:
-                        this.newValue = null;
-                        break;
                     default:
-                        this.newValue = null;
+                        clearNewValue();
                         break;
                 }
             }
         }
-        return value;
+        return getCurrentValue();
     }
 
     /**
@@ -234,42 +244,36 @@ final class DefaultDynamicValue<T> extends BaseDynamicValue<T> {
      * {@link UpdatePolicy} in place.
      */
     public boolean updateValue() {
-        if (this.value == null && this.newValue == null) {
-            this.value = evaluateValue();
+        if (getCurrentValue() == null && getNewValue() == null) {
+            initializeValue(evaluateValue());
             return false;
         }
         T newValue = evaluateValue();
-        if (Objects.equals(newValue, this.value)) {
+        T currentValue = getCurrentValue();
+        if (Objects.equals(newValue, currentValue)) {
             return false;
         }
         switch (getUpdatePolicy()) {
             case LOG_ONLY:
                 Logger.getLogger(getClass().getName()).info("Discard change on " + this + ", createValue=" + newValue);
-                publishChangeEvent(value, newValue);
-                this.newValue = null;
+                publishChangeEvent(currentValue, newValue);
+                clearNewValue();
                 break;
             case NEVER:
-                this.newValue = null;
+                clearNewValue();
                 break;
             case EXPLCIT:
+            case EXPLICIT:
+                setNewValue(newValue);
+                break;
             case IMMEDEATE:
             default:
-                this.newValue = newValue;
-                commit();
+                applyValue(newValue);
                 break;
         }
         return true;
     }
 
-    /**
-     * Access a new createValue that has not yet been committed.
-     *
-     * @return the uncommitted new createValue, or null.
-     */
-    public T getNewValue() {
-        return newValue;
-    }
-
     /**
      * Serialization implementation that strips away the non serializable Optional part.
      *
@@ -292,10 +296,11 @@ final class DefaultDynamicValue<T> extends BaseDynamicValue<T> {
     @SuppressWarnings("unchecked")
     private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
         setUpdatePolicy((UpdatePolicy) ois.readObject());
+        T value = (T) ois.readObject();
         if (isPresent()) {
-            this.value = (T) ois.readObject();
+            applyValue(value);
         }
-        newValue = null;
+        clearNewValue();
     }
 
 }
@@ -18,9 +18,12 @@
  */
 package org.apache.tamaya.inject.internal;
 
+import org.apache.tamaya.events.ConfigurationChangeBuilder;
+import org.apache.tamaya.inject.DynamicValueRegistry;
 import org.apache.tamaya.inject.api.DynamicValue;
 import org.apache.tamaya.inject.api.Config;
 import org.apache.tamaya.inject.api.UpdatePolicy;
+import org.apache.tamaya.inject.spi.BaseDynamicValue;
 import org.apache.tamaya.spi.ConversionContext;
 import org.apache.tamaya.spi.PropertyConverter;
 import org.apache.tamaya.spi.PropertySource;
@@ -171,6 +174,46 @@ public class DefaultDynamicValueTest {
         assertThat(event).isNull();
     }
 
+    @Test
+    public void testPushedConfigurationChange() throws Exception {
+        properties.put("a",PropertyValue.createValue("a","aValue").setMeta("source", "test"));
+        DynamicValue val = DefaultDynamicValue.of(this, getClass().getDeclaredField("myValue"),
+                config);
+        val.setUpdatePolicy(UpdatePolicy.IMMEDIATE);
+        val.addListener(consumer);
+        assertThat(DynamicValueRegistry.getInstance().isRegistered((BaseDynamicValue<?>) val)).isTrue();
+        val.get();
+        properties.put("a",PropertyValue.createValue("a","aValue2").setMeta("source", "test"));
+        properties.put("b",PropertyValue.createValue("b","bValue").setMeta("source", "test"));
+        DynamicValueRegistry.getInstance().onConfigEvent(
+                ConfigurationChangeBuilder.of(config).addChange("b", "bValue2").build());
+        assertThat(event).isNull();
+        DynamicValueRegistry.getInstance().onConfigEvent(
+                ConfigurationChangeBuilder.of(config).addChange("a", "aValue2").build());
+        assertThat(event).isNotNull();
+        assertThat("aValue2").isEqualTo(event.getNewValue());
+        DynamicValueRegistry.getInstance().unregister((BaseDynamicValue<?>) val);
+        assertThat(DynamicValueRegistry.getInstance().isRegistered((BaseDynamicValue<?>) val)).isFalse();
+    }
+
+    @Test
+    public void testPushedConfigurationChange_Explicit() throws Exception {
+        properties.put("a",PropertyValue.createValue("a","aValue").setMeta("source", "test"));
+        DynamicValue val = DefaultDynamicValue.of(this, getClass().getDeclaredField("myValue"),
+                config, UpdatePolicy.EXPLICIT);
+        val.addListener(consumer);
+        val.get();
+        properties.put("a",PropertyValue.createValue("a","aValue2").setMeta("source", "test"));
+        DynamicValueRegistry.getInstance().onConfigEvent(
+                ConfigurationChangeBuilder.of(config).addChange("a", "aValue2").build());
+        assertThat(event).isNull();
+        assertThat("aValue2").isEqualTo(val.getNewValue());
+        val.commit();
+        assertThat(event).isNotNull();
+        assertThat("aValue2").isEqualTo(event.getNewValue());
+        DynamicValueRegistry.getInstance().unregister((BaseDynamicValue<?>) val);
+    }
+
     @Test
     public void testGet() throws Exception {
         properties.put("a",PropertyValue.createValue("a","aValue").setMeta("source", "test"));
@@ -20,23 +20,66 @@ package org.apache.tamaya.microprofile;
 
 import org.apache.tamaya.ConfigException;
 import org.apache.tamaya.Configuration;
+import org.apache.tamaya.TypeLiteral;
+import org.apache.tamaya.events.ConfigEventManager;
+import org.apache.tamaya.events.ConfigurationChange;
+import org.apache.tamaya.spi.PropertyConverter;
 import org.apache.tamaya.spi.PropertySource;
 import org.eclipse.microprofile.config.Config;
 import org.eclipse.microprofile.config.spi.ConfigSource;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Microprofile {@link ConfigSource} implementation that wraps a {@link PropertySource} instance.
+ * <p>
+ * Converted values are cached by property name and type. A cached value is reused as long as the raw
+ * property value is unchanged and no {@link ConfigurationChange} has been published since it was cached. The
+ * set of property names is cached until the next {@link ConfigurationChange}, so keys added without a change
+ * being published, e.g. while change monitoring is disabled, are listed only after the next change. String
+ * values and the primitive wrapper types are resolved without going through the generic conversion pipeline,
+ * unless converters other than the built-in ones have been registered for the type.
  */
 public class MicroprofileConfig implements Config, Serializable {
 
     private static final long serialVersionUID = -2811635734899431816L;
+
+    private static final Logger LOG = Logger.getLogger(MicroprofileConfig.class.getName());
+
+    /** Global configuration version, incremented on each {@link ConfigurationChange}. */
+    private static final AtomicLong CONFIG_VERSION = new AtomicLong();
+
+    /** Package prefix of the built-in converters, which are known to agree with the fast path. */
+    private static final String BUILTIN_CONVERTER_PACKAGE = "org.apache.tamaya.";
+
+    /** Flag, if the change listener has been registered. */
+    private static final AtomicBoolean LISTENING = new AtomicBoolean();
+
     private Configuration delegate;
 
+    /** The cached converted values, by type and property name. */
+    private transient Map<Class<?>, Map<String, CachedValue>> valueCache = new ConcurrentHashMap<>();
+
+    /** Flags, if the fast path is enabled for a type. */
+    private transient Map<Class<?>, Boolean> fastPathTypes = new ConcurrentHashMap<>();
+
+    /** The configuration version the fast path flags have been evaluated for. */
+    private transient volatile long fastPathVersion;
+
+    /** The cached property names. */
+    private transient volatile CachedNames propertyNames;
+
     public MicroprofileConfig(Configuration delegate) {
         this.delegate = Objects.requireNonNull(delegate);
+        listenForChanges();
     }
 
     public Configuration getConfiguration() {
@@ -48,7 +91,7 @@ public class MicroprofileConfig implements Config, Serializable {
     public <T> T getValue(String propertyName, Class<T> propertyType) {
         T value = null;
         try {
-            value = delegate.get(propertyName, propertyType);
+            value = lookupValue(propertyName, propertyType);
         } catch (ConfigException e) {
             if (e.toString().contains("Unparseable")) {
                 throw new IllegalArgumentException("Invalid type: " + propertyType.getName());
@@ -62,12 +105,19 @@ public class MicroprofileConfig implements Config, Serializable {
 
     @Override
     public <T> Optional<T> getOptionalValue(String propertyName, Class<T> propertyType) {
-        return Optional.ofNullable(delegate.get(propertyName, propertyType));
+        return Optional.ofNullable(lookupValue(propertyName, propertyType));
     }
 
     @Override
     public Iterable<String> getPropertyNames() {
-        return delegate.getProperties().keySet();
+        long version = CONFIG_VERSION.get();
+        CachedNames names = this.propertyNames;
+        if (names == null || names.version != version) {
+            names = new CachedNames(Collections.unmodifiableSet(new HashSet<>(delegate.getProperties().keySet())),
+                    version);
+            this.propertyNames = names;
+        }
+        return names.names;
     }
 
     @Override
@@ -75,10 +125,225 @@ public class MicroprofileConfig implements Config, Serializable {
         return MicroprofileAdapter.toConfigSources(delegate.getContext().getPropertySources());
     }
 
+    /**
+     * Looks up a value, using the cached value if the raw value has not changed.
+     * @param propertyName the property name, not null.
+     * @param propertyType the target type, not null.
+     * @param <T> the target type.
+     * @return the converted value, or null.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T lookupValue(String propertyName, Class<T> propertyType) {
+        if (String.class.equals(propertyType)) {
+            return (T) delegate.get(propertyName);
+        }
+        if (propertyType.isArray() || Collection.class.isAssignableFrom(propertyType)
+                || Map.class.isAssignableFrom(propertyType)) {
+            // mutable results are never shared
+            return delegate.get(propertyName, propertyType);
+        }
+        String rawValue = delegate.get(propertyName);
+        if (rawValue == null) {
+            return delegate.get(propertyName, propertyType);
+        }
+        long version = CONFIG_VERSION.get();
+        Map<String, CachedValue> typedCache = valueCache.computeIfAbsent(propertyType,
+                t -> new ConcurrentHashMap<>());
+        CachedValue cached = typedCache.get(propertyName);
+        if (cached != null && cached.version == version && cached.rawValue.equals(rawValue)) {
+            return (T) cached.value;
+        }
+        Object value = null;
+        if (isFastPathEnabled(propertyType, version)) {
+            value = FastPath.convert(rawValue, propertyType);
+        }
+        if (value == null) {
+            value = delegate.get(propertyName, propertyType);
+        }
+        if (value != null) {
+            typedCache.put(propertyName, new CachedValue(rawValue, value, version));
+        }
+        return (T) value;
+    }
+
+    /**
+     * Checks if the fast path can be used for the given type, which is the case for the primitive wrapper types,
+     * when all converters registered for the type are built-in Tamaya converters. The flags are evaluated again
+     * after each {@link ConfigurationChange}.
+     * @param type the type, not null.
+     * @param version the current configuration version.
+     * @return true, if the fast path is enabled.
+     */
+    private boolean isFastPathEnabled(Class<?> type, long version) {
+        if (!FastPath.isSupported(type)) {
+            return false;
+        }
+        if (fastPathVersion != version) {
+            fastPathTypes.clear();
+            fastPathVersion = version;
+        }
+        return fastPathTypes.computeIfAbsent(type, t -> {
+            for (PropertyConverter<?> converter : delegate.getContext().getPropertyConverters(TypeLiteral.of(t))) {
+                if (converter instanceof TamayaPropertyConverter
+                        || !converter.getClass().getName().startsWith(BUILTIN_CONVERTER_PACKAGE)) {
+                    return Boolean.FALSE;
+                }
+            }
+            return Boolean.TRUE;
+        });
+    }
+
+    /**
+     * Registers a listener for {@link ConfigurationChange} events, which invalidates all caches.
+     */
+    private static void listenForChanges() {
+        if (LISTENING.compareAndSet(false, true)) {
+            try {
+                ConfigEventManager.getInstance().addListener(event -> {
+                    if (event instanceof ConfigurationChange) {
+                        CONFIG_VERSION.incrementAndGet();
+                    }
+                }, ConfigurationChange.class);
+            } catch (Exception e) {
+                LOG.log(Level.INFO, "Failed to register for configuration changes.", e);
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+        ois.defaultReadObject();
+        this.valueCache = new ConcurrentHashMap<>();
+        this.fastPathTypes = new ConcurrentHashMap<>();
+        listenForChanges();
+    }
+
     @Override
     public String toString() {
         return "TamayaConfig{" +
                 "delegate=" + delegate +
                 '}';
     }
+
+    /**
+     * A cached converted value.
+     */
+    private static final class CachedValue {
+        final String rawValue;
+        final Object value;
+        final long version;
+
+        CachedValue(String rawValue, Object value, long version) {
+            this.rawValue = rawValue;
+            this.value = value;
+            this.version = version;
+        }
+    }
+
+    /**
+     * The property names cached for a configuration version.
+     */
+    private static final class CachedNames {
+        final Set<String> names;
+        final long version;
+
+        CachedNames(Set<String> names, long version) {
+            this.names = names;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Direct conversion of plain decimal and boolean values into the primitive wrapper types. Any other
+     * representation (e.g. hex numbers, or {@code yes}/{@code on} booleans) is left to the converters.
+     */
+    static final class FastPath {
+
+        private FastPath() {
+        }
+
+        static boolean isSupported(Class<?> type) {
+            return type == Integer.class || type == int.class
+                    || type == Long.class || type == long.class
+                    || type == Short.class || type == short.class
+                    || type == Byte.class || type == byte.class
+                    || type == Double.class || type == double.class
+                    || type == Float.class || type == float.class
+                    || type == Boolean.class || type == boolean.class;
+        }
+
+        /**
+         * Converts the given value.
+         * @param value the raw value, not null.
+         * @param type the target type.
+         * @return the converted value, or null, if the value has to be converted by the converters.
+         */
+        static Object convert(String value, Class<?> type) {
+            if (type == Boolean.class || type == boolean.class) {
+                if ("true".equalsIgnoreCase(value)) {
+                    return Boolean.TRUE;
+                }
+                if ("false".equalsIgnoreCase(value)) {
+                    return Boolean.FALSE;
+                }
+                return null;
+            }
+            boolean floating = type == Double.class || type == double.class
+                    || type == Float.class || type == float.class;
+            if (!isPlainDecimal(value, floating)) {
+                return null;
+            }
+            try {
+                if (type == Integer.class || type == int.class) {
+                    return Integer.valueOf(value);
+                } else if (type == Long.class || type == long.class) {
+                    return Long.valueOf(value);
+                } else if (type == Short.class || type == short.class) {
+                    return Short.valueOf(value);
+                } else if (type == Byte.class || type == byte.class) {
+                    return Byte.valueOf(value);
+                } else if (type == Double.class || type == double.class) {
+                    return Double.valueOf(value);
+                }
+                return Float.valueOf(value);
+            } catch (NumberFormatException e) {
+                // out of range, let the converters decide.
+                return null;
+            }
+        }
+
+        /**
+         * Checks for an optionally signed sequence of digits, optionally with a fraction, if {@code fraction}
+         * is set. Integral numbers with leading zeros are not accepted.
+         * @param value the value, not null.
+         * @param fraction flag, if a single decimal point is allowed.
+         * @return true, if the value is a plain decimal number.
+         */
+        static boolean isPlainDecimal(String value, boolean fraction) {
+            int len = value.length();
+            int start = 0;
+            if (len > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+                start = 1;
+            }
+            if (start == len) {
+                return false;
+            }
+            if (!fraction && value.charAt(start) == '0' && len - start > 1) {
+                // may be interpreted as octal number by the converters
+                return false;
+            }
+            boolean digits = false;
+            boolean point = false;
+            for (int i = start; i < len; i++) {
+                char ch = value.charAt(i);
+                if (ch >= '0' && ch <= '9') {
+                    digits = true;
+                } else if (ch == '.' && fraction && !point) {
+                    point = true;
+                } else {
+                    return false;
+                }
+            }
+            return digits;
+        }
+    }
 }
@@ -33,6 +33,7 @@ import javax.inject.Provider;
 import org.apache.tamaya.ConfigException;
 import org.apache.tamaya.Configuration;
 import org.apache.tamaya.TypeLiteral;
+import org.apache.tamaya.microprofile.MicroprofileConfig;
 import org.apache.tamaya.spi.ConversionContext;
 import org.apache.tamaya.spi.PropertyConverter;
 import org.apache.tamaya.spi.PropertyValue;
@@ -119,6 +120,19 @@ public class MicroprofileConfigurationProducer {
         if (String.class.equals(context.getTargetType().getRawType())) {
             return textValue;
         }
+        if (textValue != null && config instanceof MicroprofileConfig
+                && context.getTargetType().getType() instanceof Class) {
+            // use the typed value cache of the config, falling back to the converters for default values.
+            try {
+                Optional<?> cachedValue = config.getOptionalValue(context.getKey(),
+                        (Class) context.getTargetType().getType());
+                if (cachedValue.isPresent()) {
+                    return cachedValue.get();
+                }
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.FINEST, "Failed to evaluate cached value for " + injectionPoint, e);
+            }
+        }
         if(textValue!=null){
             context = context.toBuilder()
                 .setValues(PropertyValue.createValue(context.getKey(), textValue)
@@ -18,6 +18,8 @@
  */
 package org.apache.tamaya.microprofile;
 
+import org.apache.tamaya.events.ConfigEventManager;
+import org.apache.tamaya.events.ConfigurationChangeBuilder;
 import org.eclipse.microprofile.config.Config;
 import org.eclipse.microprofile.config.ConfigProvider;
 import org.eclipse.microprofile.config.spi.ConfigSource;
@@ -86,4 +88,39 @@ public class MicroprofileConfigTest {
         assertThat("").isEqualTo(config.getValue("my.empty.property", String.class));
     }
 
+    @Test
+    public void testTypedValueReflectsChanges(){
+        System.setProperty("my.typed.property", "42");
+        Config config = ConfigProvider.getConfig();
+        assertThat(config.getValue("my.typed.property", Integer.class)).isEqualTo(42);
+        assertThat(config.getValue("my.typed.property", Integer.class)).isEqualTo(42);
+        assertThat(config.getValue("my.typed.property", Long.class)).isEqualTo(42L);
+        System.setProperty("my.typed.property", "43");
+        assertThat(config.getValue("my.typed.property", Integer.class)).isEqualTo(43);
+    }
+
+    @Test
+    public void testPropertyNamesReflectChanges(){
+        Config config = ConfigProvider.getConfig();
+        Iterable<String> names = config.getPropertyNames();
+        assertThat(config.getPropertyNames()).isSameAs(names);
+        System.setProperty("my.added.property", "added");
+        ConfigEventManager.getInstance().fireEvent(ConfigurationChangeBuilder.of()
+                .addChange("my.added.property", "added").build());
+        assertThat(config.getPropertyNames()).contains("my.added.property");
+    }
+
+    @Test
+    public void testFastPath(){
+        assertThat(MicroprofileConfig.FastPath.convert("-123", Integer.class)).isEqualTo(-123);
+        assertThat(MicroprofileConfig.FastPath.convert("123", long.class)).isEqualTo(123L);
+        assertThat(MicroprofileConfig.FastPath.convert("1.5", Double.class)).isEqualTo(1.5d);
+        assertThat(MicroprofileConfig.FastPath.convert("TRUE", Boolean.class)).isEqualTo(Boolean.TRUE);
+        assertThat(MicroprofileConfig.FastPath.convert("yes", Boolean.class)).isNull();
+        assertThat(MicroprofileConfig.FastPath.convert("010", Integer.class)).isNull();
+        assertThat(MicroprofileConfig.FastPath.convert("1.5", Integer.class)).isNull();
+        assertThat(MicroprofileConfig.FastPath.convert("300", Byte.class)).isNull();
+        assertThat(MicroprofileConfig.FastPath.convert("-", Integer.class)).isNull();
+    }
+
 }
@@ -48,6 +48,8 @@ public abstract class AbstractPathPropertySourceProvider implements PropertySour
     private String[] resourcePaths;
 
     private ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    /** The number of threads used for reading the resources. */
+    private int parallelism = ParallelLoader.getDefaultParallelism();
 
     /**
      * Creates a new instance using the given resource paths.
@@ -71,29 +73,53 @@ public abstract class AbstractPathPropertySourceProvider implements PropertySour
         return classLoader;
     }
 
+    /**
+     * Get the number of threads used for reading the resources found.
+     * @return the parallelism level, 1 if resources are read sequentially.
+     * @see ParallelLoader#PARALLELISM_PROP
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the number of threads used for reading the resources found. The order of the property sources
+     * returned does not depend on this setting.
+     * @param parallelism the parallelism level, values less than 2 read the resources sequentially.
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
     @Override
     public Collection<PropertySource> getPropertySources() {
-        List<PropertySource> propertySources = new ArrayList<>();
+        List<URL> urls = new ArrayList<>();
         for (String resource : getResourcePaths()) {
             try {
-                Collection<URL> resources = ResourceResolver.getInstance(getClassLoader()).getResources(resource);
-                for (URL url : resources) {
-                    try {
-                        Collection<PropertySource>  propertySourcesToInclude = getPropertySources(url);
-                        if(propertySourcesToInclude!=null){
-                            propertySources.addAll(propertySourcesToInclude);
-                        }
-                    } catch (Exception e) {
-                        LOG.log(Level.WARNING, "Failed to read configuration from " + url, e);
-                    }
-                }
+                urls.addAll(ResourceResolver.getInstance(getClassLoader()).getResources(resource));
             } catch (Exception e) {
                 LOG.log(Level.SEVERE, "Invalid resource path: " + resource, e);
             }
         }
+        List<PropertySource> propertySources = new ArrayList<>();
+        for (Collection<PropertySource> propertySourcesToInclude :
+                ParallelLoader.loadAll(urls, parallelism, this::readPropertySources)) {
+            if(propertySourcesToInclude!=null){
+                propertySources.addAll(propertySourcesToInclude);
+            }
+        }
         return propertySources;
     }
 
+    private Collection<PropertySource> readPropertySources(URL url) {
+        try {
+            return getPropertySources(url);
+        } catch (Exception e) {
+            LOG.log(Level.WARNING, "Failed to read configuration from " + url, e);
+            return null;
+        }
+    }
+
     protected String[] getResourcePaths() {
         return resourcePaths;
     }
@@ -136,8 +162,8 @@ public abstract class AbstractPathPropertySourceProvider implements PropertySour
     private final static class PropertiesBasedPropertySource implements PropertySource{
         /** The property source's name. */
         private final String name;
-        /** The properties. */
-        private final Map<String,PropertyValue> properties = new HashMap<>();
+        /** The properties, created on access from the metadata template. */
+        private final Map<String,PropertyValue> properties;
 
         /**
          * Constructor for a simple properties configuration.
@@ -146,11 +172,11 @@ public abstract class AbstractPathPropertySourceProvider implements PropertySour
          */
         public PropertiesBasedPropertySource(String name, Properties props) {
             this.name = Objects.requireNonNull(name);
+            Map<String, String> values = new HashMap<>();
             for (Entry<Object, Object> en : props.entrySet()) {
-                this.properties.put(en.getKey().toString(),
-                        PropertyValue.createValue(en.getKey().toString(), String.valueOf(en.getValue()))
-                .setMeta("source", name));
+                values.put(en.getKey().toString(), String.valueOf(en.getValue()));
             }
+            this.properties = MetadataTemplate.of(name).createValues(values);
         }
 
         /**
@@ -160,12 +186,7 @@ public abstract class AbstractPathPropertySourceProvider implements PropertySour
          */
         public PropertiesBasedPropertySource(String name, Map<String,String> props) {
             this.name = Objects.requireNonNull(name);
-            for (Entry<String, String> en : props.entrySet()) {
-                this.properties.put(en.getKey(),
-                        PropertyValue.createValue(en.getKey(), en.getValue()))
-                .setMeta("source", name);
-
-            }
+            this.properties = MetadataTemplate.of(name).createValues(props);
         }
 
         public int getOrdinal() {
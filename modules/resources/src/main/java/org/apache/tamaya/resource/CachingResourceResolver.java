@@ -0,0 +1,395 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.resource;
+
+import org.apache.tamaya.spi.ClassloaderAware;
+import org.apache.tamaya.spi.ServiceContextManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link ResourceResolver} decorator caching the resources resolved per classloader and expression. Expressions
+ * with a local file system root are invalidated, when a {@link WatchService} reports a change in the root
+ * directory or in a directory containing a resolved file. All entries additionally expire after a configurable time
+ * to live, which is the only invalidation for all other expressions, e.g. classpath resources.
+ * <p>
+ * Caching can be enabled for the resolvers returned by {@link ResourceResolver#getInstance(ClassLoader)} by
+ * setting the system property {@value #CACHE_PROP} to {@code true}. The time to live in milliseconds can be
+ * configured with the system property {@value #TTL_PROP}.
+ */
+public final class CachingResourceResolver implements ResourceResolver, ClassloaderAware, AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(CachingResourceResolver.class.getName());
+
+    /** System property enabling caching for the shared resolvers. */
+    public static final String CACHE_PROP = "tamaya.resources.cache";
+
+    /** System property defining the default time to live in milliseconds. */
+    public static final String TTL_PROP = "tamaya.resources.cacheTTL";
+
+    /** The default time to live, if not configured. */
+    private static final long DEFAULT_TTL = TimeUnit.MINUTES.toMillis(1);
+
+    /** The caching resolvers created for the shared resolvers. */
+    private static final Map<ResourceResolver, CachingResourceResolver> SHARED = new ConcurrentHashMap<>();
+
+    private final ResourceResolver delegate;
+    private final long ttlMillis;
+    private volatile ClassLoader classLoader;
+    private final Map<Key, Entry> cache = new ConcurrentHashMap<>();
+    /** The cache keys depending on a watched directory. */
+    private final Map<Path, Set<Key>> dependents = new ConcurrentHashMap<>();
+    /** The directories registered with the watch service. */
+    private final Map<Path, WatchKey> watchedDirs = new ConcurrentHashMap<>();
+    /** Incremented on each invalidation, to avoid caching results resolved concurrently. */
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private WatchService watchService;
+    private boolean closed;
+
+    /**
+     * Creates a new instance, using the time to live configured by {@value #TTL_PROP}.
+     * @param delegate the resolver to be decorated, not null.
+     */
+    public CachingResourceResolver(ResourceResolver delegate) {
+        this(delegate, Long.getLong(TTL_PROP, DEFAULT_TTL));
+    }
+
+    /**
+     * Creates a new instance.
+     * @param delegate the resolver to be decorated, not null.
+     * @param ttlMillis the time to live of the cache entries in milliseconds, values &lt;= 0 disable expiry.
+     */
+    public CachingResourceResolver(ResourceResolver delegate, long ttlMillis) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.ttlMillis = ttlMillis;
+        this.classLoader = delegate instanceof ClassloaderAware ?
+                ((ClassloaderAware) delegate).getClassLoader() : ServiceContextManager.getDefaultClassLoader();
+    }
+
+    /**
+     * Get the shared caching resolver for the given resolver, if caching is enabled with {@value #CACHE_PROP}.
+     * @param resolver the resolver, not null.
+     * @return the caching resolver, or the resolver passed, if caching is not enabled.
+     */
+    static ResourceResolver decorate(ResourceResolver resolver) {
+        if (!Boolean.getBoolean(CACHE_PROP) || resolver instanceof CachingResourceResolver) {
+            return resolver;
+        }
+        return SHARED.computeIfAbsent(resolver, CachingResourceResolver::new);
+    }
+
+    @Override
+    public Collection<URL> getResources(Collection<String> expressions) {
+        List<URL> resources = new ArrayList<>();
+        for (String expression : expressions) {
+            resources.addAll(getResources(expression));
+        }
+        return resources;
+    }
+
+    private List<URL> getResources(String expression) {
+        Key key = new Key(classLoader, expression);
+        Entry entry = cache.get(key);
+        long now = System.currentTimeMillis();
+        if (entry != null && (ttlMillis <= 0 || entry.expiresAt > now)) {
+            hits.increment();
+            return entry.resources;
+        }
+        misses.increment();
+        long invalidationCount = invalidations.get();
+        Path root = getFileRoot(expression);
+        List<URL> resources = Collections.unmodifiableList(
+                new ArrayList<>(delegate.getResources(Collections.singletonList(expression))));
+        if (root != null && !watch(key, root, resources)) {
+            // can not be invalidated, do not cache
+            return resources;
+        }
+        if (invalidationCount == invalidations.get()) {
+            cache.put(key, new Entry(resources, now + ttlMillis));
+        }
+        return resources;
+    }
+
+    @Override
+    public Collection<ResourceLocator> getResourceLocators() {
+        return delegate.getResourceLocators();
+    }
+
+    @Override
+    public void init(ClassLoader classLoader) {
+        this.classLoader = Objects.requireNonNull(classLoader);
+        if (delegate instanceof ClassloaderAware) {
+            ((ClassloaderAware) delegate).init(classLoader);
+        }
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    public void invalidate() {
+        invalidations.incrementAndGet();
+        cache.clear();
+        dependents.clear();
+    }
+
+    /**
+     * Removes the entries for the given expression from the cache.
+     * @param expression the expression, not null.
+     */
+    public void invalidate(String expression) {
+        invalidations.incrementAndGet();
+        cache.keySet().removeIf(k -> k.expression.equals(expression));
+    }
+
+    /**
+     * Get the number of cached expressions.
+     * @return the cache size.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Get the number of lookups answered from the cache.
+     * @return the hit count.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of lookups passed to the decorated resolver.
+     * @return the miss count.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Stops watching the file system and clears the cache. Resources resolved afterwards are not cached anymore,
+     * if they have a file system root.
+     */
+    @Override
+    public void close() {
+        synchronized (watchedDirs) {
+            closed = true;
+            if (watchService != null) {
+                try {
+                    watchService.close();
+                } catch (IOException e) {
+                    LOG.log(Level.FINE, "Failed to close watch service.", e);
+                }
+            }
+            watchedDirs.clear();
+        }
+        invalidate();
+    }
+
+    /**
+     * Evaluates the local directory, where the given expression starts, that is the path before the first
+     * wildcard.
+     * @param expression the expression, not null.
+     * @return the directory, or null, if the expression has no local file system root.
+     */
+    private static Path getFileRoot(String expression) {
+        String path = expression.replace('\\', '/');
+        boolean explicit = path.startsWith("file:");
+        if (explicit) {
+            path = path.substring("file:".length());
+        }
+        int wildcard = path.length();
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '*' || c == '?') {
+                wildcard = i;
+                break;
+            }
+        }
+        int slash = path.lastIndexOf('/', wildcard == path.length() ? path.length() - 1 : wildcard);
+        if (slash <= 0) {
+            return null;
+        }
+        File dir = new File(path.substring(0, slash));
+        if (!explicit && !dir.isAbsolute()) {
+            return null;
+        }
+        return dir.isDirectory() ? dir.toPath().toAbsolutePath().normalize() : null;
+    }
+
+    /**
+     * Registers the root and the directories of all resolved files with the watch service.
+     * @return false, if the directories can not be watched.
+     */
+    private boolean watch(Key key, Path root, List<URL> resources) {
+        Set<Path> dirs = new HashSet<>();
+        dirs.add(root);
+        for (URL url : resources) {
+            if ("file".equals(url.getProtocol())) {
+                try {
+                    dirs.add(new File(url.toURI()).toPath().toAbsolutePath().normalize().getParent());
+                } catch (Exception e) {
+                    LOG.log(Level.FINEST, "Not a local file: " + url, e);
+                }
+            }
+        }
+        try {
+            for (Path dir : dirs) {
+                if (dir != null) {
+                    register(dir);
+                    dependents.computeIfAbsent(dir, d -> ConcurrentHashMap.newKeySet()).add(key);
+                }
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            LOG.log(Level.FINE, "Failed to watch " + root + ", not caching resources.", e);
+            return false;
+        }
+    }
+
+    private void register(Path dir) throws IOException {
+        if (watchedDirs.containsKey(dir)) {
+            return;
+        }
+        synchronized (watchedDirs) {
+            if (closed) {
+                throw new IOException("Resolver is closed.");
+            }
+            if (watchService == null) {
+                watchService = dir.getFileSystem().newWatchService();
+                Thread thread = new Thread(this::poll, "tamaya-resource-cache-watcher");
+                thread.setDaemon(true);
+                thread.start();
+            }
+            if (!watchedDirs.containsKey(dir)) {
+                watchedDirs.put(dir, dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY));
+            }
+        }
+    }
+
+    private void poll() {
+        WatchService service;
+        synchronized (watchedDirs) {
+            service = this.watchService;
+        }
+        while (true) {
+            WatchKey watchKey;
+            try {
+                watchKey = service.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            // the kind of event does not matter, any change invalidates the dependent expressions
+            watchKey.pollEvents();
+            Path dir = (Path) watchKey.watchable();
+            invalidations.incrementAndGet();
+            Set<Key> keys = dependents.remove(dir);
+            if (keys != null) {
+                for (Key key : keys) {
+                    cache.remove(key);
+                }
+            }
+            if (!watchKey.reset()) {
+                watchedDirs.remove(dir);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CachingResourceResolver{" +
+                "delegate=" + delegate +
+                ", ttlMillis=" + ttlMillis +
+                ", size=" + cache.size() +
+                ", hits=" + hits.sum() +
+                ", misses=" + misses.sum() +
+                '}';
+    }
+
+    /**
+     * Cache key.
+     */
+    private static final class Key {
+        private final ClassLoader classLoader;
+        private final String expression;
+
+        Key(ClassLoader classLoader, String expression) {
+            this.classLoader = classLoader;
+            this.expression = Objects.requireNonNull(expression);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return classLoader == key.classLoader && expression.equals(key.expression);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(classLoader) + expression.hashCode();
+        }
+    }
+
+    /**
+     * Cache entry.
+     */
+    private static final class Entry {
+        private final List<URL> resources;
+        private final long expiresAt;
+
+        Entry(List<URL> resources, long expiresAt) {
+            this.resources = resources;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.resource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Optional pool of configuration keys shared by all property sources using {@link MetadataTemplate}, so keys
+ * contained in several resources are held only once. The pool is disabled by default, it can be enabled by
+ * setting the system property {@value #INTERN_KEYS_PROP} to {@code true} or by calling {@link #setEnabled(boolean)}.
+ */
+public final class KeyPool {
+
+    /**
+     * System property enabling the key pool.
+     */
+    public static final String INTERN_KEYS_PROP = "tamaya.resources.internKeys";
+
+    private static final Map<String, String> POOL = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = Boolean.getBoolean(INTERN_KEYS_PROP);
+
+    /**
+     * Singleton constructor.
+     */
+    private KeyPool(){}
+
+    /**
+     * Returns the pooled instance of the given key, if the pool is enabled.
+     * @param key the key, not null.
+     * @return the pooled key, or the key passed, if the pool is disabled.
+     */
+    public static String intern(String key) {
+        if (!enabled) {
+            return key;
+        }
+        String pooled = POOL.putIfAbsent(key, key);
+        return pooled != null ? pooled : key;
+    }
+
+    /**
+     * Checks if the pool is enabled.
+     * @return true, if keys are pooled.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the pool. Disabling the pool also clears it.
+     * @param enabled true to enable the pool.
+     */
+    public static void setEnabled(boolean enabled) {
+        KeyPool.enabled = enabled;
+        if (!enabled) {
+            POOL.clear();
+        }
+    }
+
+    /**
+     * Get the number of keys pooled.
+     * @return the pool size.
+     */
+    public static int size() {
+        return POOL.size();
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.resource;
+
+import org.apache.tamaya.spi.PropertyValue;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Immutable metadata for all values read from one resource. A property source creates one template per resource
+ * and creates its values through it, instead of assembling the metadata for each value. Keys are passed through
+ * the {@link KeyPool}, so identical keys of different resources can share one instance.
+ * <p>
+ * Since {@link PropertyValue#setMeta(Map)} copies the entries into the value's own metadata, the value maps
+ * created by {@link #createValues(Map)} and {@link #createView(Map)} do not hold {@link PropertyValue}s: they
+ * only keep the keys, the value strings (or nodes) and the template, and create the values with their metadata
+ * on access. So the metadata is held once per resource, not once per value.
+ */
+public final class MetadataTemplate {
+
+    private final Map<String, String> meta;
+
+    private MetadataTemplate(Map<String, String> meta) {
+        this.meta = meta;
+    }
+
+    /**
+     * Creates a template containing only the {@code source} entry.
+     * @param source the source, not null.
+     * @return the template, never null.
+     */
+    public static MetadataTemplate of(String source) {
+        return new MetadataTemplate(Collections.singletonMap("source", Objects.requireNonNull(source)));
+    }
+
+    /**
+     * Creates a template containing the {@code source} and {@code format} entries.
+     * @param source the source, not null.
+     * @param format the format name, not null.
+     * @return the template, never null.
+     */
+    public static MetadataTemplate of(String source, String format) {
+        Map<String, String> meta = new HashMap<>(4);
+        meta.put("source", Objects.requireNonNull(source));
+        meta.put("format", Objects.requireNonNull(format));
+        return new MetadataTemplate(Collections.unmodifiableMap(meta));
+    }
+
+    /**
+     * Creates a template containing the given entries.
+     * @param meta the metadata, not null. The map is copied.
+     * @return the template, never null.
+     */
+    public static MetadataTemplate of(Map<String, String> meta) {
+        return new MetadataTemplate(Collections.unmodifiableMap(new HashMap<>(meta)));
+    }
+
+    /**
+     * Get the template metadata.
+     * @return the immutable metadata, never null.
+     */
+    public Map<String, String> getMeta() {
+        return meta;
+    }
+
+    /**
+     * Creates a new value with a copy of the template metadata.
+     * @param key the key, not null.
+     * @param value the value.
+     * @return the new value, never null.
+     */
+    public PropertyValue createValue(String key, String value) {
+        return PropertyValue.createValue(KeyPool.intern(key), value).setMeta(meta);
+    }
+
+    /**
+     * Creates an immutable map of values for all entries of the given map. The map only holds the (pooled) keys
+     * and the values, the {@link PropertyValue}s are created with the template metadata on each access.
+     * @param values the values, not null. The map is copied.
+     * @return a new map of the values, never null.
+     */
+    public Map<String, PropertyValue> createValues(Map<String, String> values) {
+        Map<String, String> entries = new HashMap<>(values.size() * 4 / 3 + 1);
+        for (Map.Entry<String, String> en : values.entrySet()) {
+            entries.put(KeyPool.intern(en.getKey()), en.getValue());
+        }
+        return new TemplateValues<>(entries, Function.identity());
+    }
+
+    /**
+     * Creates an immutable view on the given leaf nodes, e.g. of a parsed data tree, indexed by their keys.
+     * Only the nodes are referenced, the {@link PropertyValue}s are created with the node's value and the
+     * template metadata on each access.
+     * @param nodes the nodes by key, not null. The map is not copied and must not be modified afterwards.
+     * @return the view, never null.
+     */
+    public Map<String, PropertyValue> createView(Map<String, PropertyValue> nodes) {
+        return new TemplateValues<>(Objects.requireNonNull(nodes), PropertyValue::getValue);
+    }
+
+    @Override
+    public String toString() {
+        return "MetadataTemplate" + meta;
+    }
+
+    /**
+     * Immutable map creating its values from the template on access.
+     */
+    private final class TemplateValues<V> extends AbstractMap<String, PropertyValue> {
+        private final Map<String, V> entries;
+        private final Function<V, String> valueOf;
+
+        TemplateValues(Map<String, V> entries, Function<V, String> valueOf) {
+            this.entries = entries;
+            this.valueOf = valueOf;
+        }
+
+        private PropertyValue create(String key, V entry) {
+            return PropertyValue.createValue(key, entry == null ? null : valueOf.apply(entry)).setMeta(meta);
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return entries.containsKey(key);
+        }
+
+        @Override
+        public PropertyValue get(Object key) {
+            V entry = entries.get(key);
+            if (entry == null && !entries.containsKey(key)) {
+                return null;
+            }
+            return create((String) key, entry);
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return Collections.unmodifiableSet(entries.keySet());
+        }
+
+        @Override
+        public Set<Entry<String, PropertyValue>> entrySet() {
+            return new AbstractSet<Entry<String, PropertyValue>>() {
+                @Override
+                public int size() {
+                    return entries.size();
+                }
+
+                @Override
+                public Iterator<Entry<String, PropertyValue>> iterator() {
+                    Iterator<Entry<String, V>> it = entries.entrySet().iterator();
+                    return new Iterator<Entry<String, PropertyValue>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return it.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, PropertyValue> next() {
+                            Entry<String, V> en = it.next();
+                            return new SimpleImmutableEntry<>(en.getKey(), create(en.getKey(), en.getValue()));
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
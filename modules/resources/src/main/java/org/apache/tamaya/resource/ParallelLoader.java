@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.resource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Utility for loading a number of resources using a bounded pool of threads. The results are returned in the
+ * order of the resources passed, so the order of the property sources created (and therefore ordinal
+ * tie-breaking) does not depend on the parallelism level.
+ * <p>
+ * The default parallelism level is read from the system property {@value #PARALLELISM_PROP}, by default resources
+ * are loaded sequentially on the calling thread. Parallel loads share one lazily created pool of daemon threads,
+ * which grows up to the highest parallelism level requested. Idle threads are released after
+ * {@value #KEEP_ALIVE_SECONDS} seconds.
+ */
+public final class ParallelLoader {
+
+    private static final Logger LOG = Logger.getLogger(ParallelLoader.class.getName());
+
+    /**
+     * System property defining the default number of threads used for loading resources.
+     */
+    public static final String PARALLELISM_PROP = "tamaya.resources.parallelism";
+
+    /** The time idle pool threads are kept. */
+    private static final int KEEP_ALIVE_SECONDS = 60;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    /** The shared pool, created on first parallel load. */
+    private static ThreadPoolExecutor executor;
+
+    /**
+     * Singleton constructor.
+     */
+    private ParallelLoader(){}
+
+    /**
+     * Get the default parallelism level as configured by {@value #PARALLELISM_PROP}.
+     * @return the parallelism level, at least 1.
+     */
+    public static int getDefaultParallelism() {
+        try {
+            return Math.max(1, Integer.getInteger(PARALLELISM_PROP, 1));
+        } catch (Exception e) {
+            LOG.log(Level.WARNING, "Invalid parallelism configured: " + System.getProperty(PARALLELISM_PROP), e);
+            return 1;
+        }
+    }
+
+    /**
+     * Loads all resources using the given loader. Failures are isolated per resource: the loader should handle
+     * expected failures itself, unexpected exceptions are logged and result in a {@code null} entry.
+     * The loader is called with the context classloader of the calling thread. The calling thread takes part in
+     * loading, so nested loads can not block each other, if the shared pool is busy.
+     * @param resources the resources to load, not null.
+     * @param parallelism the maximal number of threads to use, with 1 or less resources are loaded on the
+     *                    calling thread.
+     * @param loader the loader function, not null.
+     * @param <R> the resource type.
+     * @param <T> the result type.
+     * @return the results in the order of the resources, never null.
+     */
+    public static <R,T> List<T> loadAll(Collection<R> resources, int parallelism, Function<R,T> loader) {
+        List<R> input = new ArrayList<>(resources);
+        int threads = Math.min(parallelism, input.size());
+        if (threads <= 1) {
+            List<T> result = new ArrayList<>(input.size());
+            for (R resource : input) {
+                result.add(load(resource, loader));
+            }
+            return result;
+        }
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        final AtomicReferenceArray<T> results = new AtomicReferenceArray<>(input.size());
+        final AtomicInteger next = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(input.size());
+        Runnable worker = () -> {
+            Thread thread = Thread.currentThread();
+            ClassLoader previous = thread.getContextClassLoader();
+            thread.setContextClassLoader(classLoader);
+            try {
+                int index;
+                while ((index = next.getAndIncrement()) < input.size()) {
+                    try {
+                        results.set(index, load(input.get(index), loader));
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            } finally {
+                thread.setContextClassLoader(previous);
+            }
+        };
+        ThreadPoolExecutor pool = getExecutor(threads - 1);
+        for (int i = 1; i < threads; i++) {
+            pool.execute(worker);
+        }
+        worker.run();
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.log(Level.WARNING, "Interrupted while loading resources, results are incomplete.", e);
+        }
+        List<T> result = new ArrayList<>(input.size());
+        for (int i = 0; i < input.size(); i++) {
+            result.add(results.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Get the shared pool, growing it to the given number of threads if needed.
+     */
+    private static synchronized ThreadPoolExecutor getExecutor(int threads) {
+        if (executor == null) {
+            executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), r -> {
+                        Thread thread = new Thread(r, "tamaya-resource-loader-" + THREAD_COUNT.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+        } else if (executor.getMaximumPoolSize() < threads) {
+            executor.setMaximumPoolSize(threads);
+            executor.setCorePoolSize(threads);
+        }
+        return executor;
+    }
+
+    private static <R,T> T load(R resource, Function<R,T> loader) {
+        try {
+            return loader.apply(resource);
+        } catch (Exception e) {
+            LOG.log(Level.WARNING, "Failed to load resource: " + resource, e);
+            return null;
+        }
+    }
+
+    /**
+     * Combines the results of the given futures, preserving their order.
+     * @param futures the futures, not null.
+     * @param <T> the element type.
+     * @return a future completing with all elements, when all futures are completed, or exceptionally with the
+     * first failure in order.
+     */
+    public static <T> CompletableFuture<List<T>> concat(List<CompletableFuture<Collection<T>>> futures) {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]))
+                .handle((v, e) -> {
+                    List<T> result = new ArrayList<>();
+                    for (CompletableFuture<Collection<T>> future : futures) {
+                        result.addAll(future.join());
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * Selects the first non empty result of the given futures in order. Failures of futures after the first non
+     * empty result are ignored, as if they had not been evaluated.
+     * @param futures the futures, not null.
+     * @param <T> the element type.
+     * @return a future completing with the first non empty result, or an empty collection.
+     */
+    public static <T> CompletableFuture<Collection<T>> firstNonEmpty(List<CompletableFuture<Collection<T>>> futures) {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]))
+                .handle((v, e) -> {
+                    for (CompletableFuture<Collection<T>> future : futures) {
+                        Collection<T> found = future.join();
+                        if (!found.isEmpty()) {
+                            return found;
+                        }
+                    }
+                    return Collections.emptyList();
+                });
+    }
+}
@@ -22,8 +22,14 @@ import org.apache.tamaya.ConfigException;
 import org.apache.tamaya.spi.ServiceContextManager;
 
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Interface to be implemented by modules. It supports loading of files or classpath resources either directly or by
@@ -73,6 +79,35 @@ public interface ResourceResolver {
         return getResources(Arrays.asList(expressions));
     }
 
+    /**
+     * Resolves resource expressions asynchronously using the common {@link ForkJoinPool}.
+     *
+     * @param expressions the expressions to be resolved, not empty.
+     * @return the future completing with the {@link URL}s found, in the same order as returned by
+     * {@link #getResources(Collection)}.
+     * @see #getResourcesAsync(Collection, Executor)
+     */
+    default CompletableFuture<List<URL>> getResourcesAsync(Collection<String> expressions){
+        return getResourcesAsync(expressions, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Resolves resource expressions asynchronously, hereby resolving the expressions in parallel on the given
+     * executor. The result is the same as returned by {@link #getResources(Collection)}, including its ordering.
+     *
+     * @param expressions the expressions to be resolved, not empty.
+     * @param executor the executor to be used, not null.
+     * @return the future completing with the {@link URL}s found.
+     */
+    default CompletableFuture<List<URL>> getResourcesAsync(Collection<String> expressions, Executor executor){
+        List<CompletableFuture<Collection<URL>>> futures = new ArrayList<>(expressions.size());
+        for (String expression : expressions) {
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> getResources(Collections.singletonList(expression)), executor));
+        }
+        return ParallelLoader.concat(futures);
+    }
+
     /**
      * Access the currently registered {@link ResourceLocator} instances.
      * @return the currently known {@link ResourceLocator} instances, never null.
@@ -92,7 +127,8 @@ public interface ResourceResolver {
     }
 
     /**
-     * <p>Access the current ResourceResolver.</p>
+     * <p>Access the current ResourceResolver. If {@value CachingResourceResolver#CACHE_PROP} is enabled, the
+     * resolver is decorated with a shared {@link CachingResourceResolver}.</p>
      *
      * @throws ConfigException if no ResourceResolver is available (should not happen).
      *
@@ -105,7 +141,7 @@ public interface ResourceResolver {
         if (resolver == null) {
             throw new ConfigException("ResourceResolver not available.");
         }
-        return resolver;
+        return CachingResourceResolver.decorate(resolver);
     }
 
 }
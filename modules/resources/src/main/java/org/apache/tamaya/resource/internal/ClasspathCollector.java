@@ -20,20 +20,22 @@ package org.apache.tamaya.resource.internal;
 
 import org.apache.tamaya.spi.ServiceContextManager;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Method;
 import java.net.JarURLConnection;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
 
 /**
  * Collector that searches files based on Ant styled patterns. For example the following patterns would be matched:
@@ -85,6 +87,11 @@ public class ClasspathCollector {
      */
     public static final String CLASSPATH_PREFIX = "classpath:";
 
+    /**
+     * The compiled patterns, by sub pattern.
+     */
+    private static final Map<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+
     /**
      * The classloader used to load the resources.
      */
@@ -126,7 +133,7 @@ public class ClasspathCollector {
                         result.addAll(findMatchingVfsResources(resource, locator.getSubPath()));
                     } else {
                         result.addAll(FileCollector.traverseAndSelectFromChildren(getFile(resource),
-                                locator.getSubPathTokens(), 0));
+                                locator.getFilePattern(), Boolean.getBoolean(FileCollector.PARALLEL_PROP)));
                     }
                 } catch (URISyntaxException | IOException e) {
                     LOG.log(Level.SEVERE, "Error locating resources for: " + expression, e);
@@ -141,7 +148,8 @@ public class ClasspathCollector {
 
     /**
      * Find all resources in jar files that match the given location pattern
-     * via the Ant-style PathMatcher.
+     * via the Ant-style PathMatcher. Entries of local jar files are looked up in a cached {@link JarIndex},
+     * other jars are scanned.
      *
      * @param rootDirResource the root directory as Resource
      * @param subPattern      the sub pattern to match (below the root directory)
@@ -152,13 +160,31 @@ public class ClasspathCollector {
      */
     protected Collection<URL> doFindPathMatchingJarResources(URL rootDirResource, String subPattern)
             throws IOException, URISyntaxException {
-        subPattern = subPattern.replace("*", ".*").replace("?", ".?").replace(".*.*", ".*");
+        Pattern pattern = compilePattern(subPattern);
+        boolean isFileExpression = !subPattern.contains("/");
+        File localJar = getLocalJarFile(rootDirResource);
+        if (localJar != null) {
+            // the URL is encoded (e.g. %20 for spaces), the jar entries are not
+            String rootEntryPath = decodeEntryPath(rootDirResource.getFile().substring(
+                    rootDirResource.getFile().indexOf(JAR_URL_SEPARATOR) + JAR_URL_SEPARATOR.length()));
+            if (!rootEntryPath.isEmpty() && !rootEntryPath.endsWith("/")) {
+                rootEntryPath = rootEntryPath + '/';
+            }
+            if (LOG.isLoggable(Level.FINEST)) {
+                LOG.finest("Looking for matching resources in jar index [" + localJar + "]");
+            }
+            Collection<URL> result = new LinkedHashSet<>();
+            for (String entryPath : JarIndex.of(localJar).getEntries(rootEntryPath + literalPrefix(subPattern))) {
+                addIfMatching(rootDirResource, entryPath.substring(rootEntryPath.length()), pattern,
+                        isFileExpression, result);
+            }
+            return new ArrayList<>(result);
+        }
         URLConnection con = rootDirResource.toURI().toURL().openConnection();
         JarFile jarFile;
         boolean newJarFile = false;
         String jarFileUrl;
         String rootEntryPath;
-        boolean isFileExpression = !subPattern.contains("/");
 
         if (con instanceof JarURLConnection) {
             JarURLConnection jarCon = (JarURLConnection) con;
@@ -167,6 +193,7 @@ public class ClasspathCollector {
             jarFileUrl = jarCon.getJarFileURL().toExternalForm();
             JarEntry jarEntry = jarCon.getJarEntry();
             rootEntryPath = (jarEntry != null ? jarEntry.getName() : "");
+            newJarFile = true;
         } else {
             // No JarURLConnection -> need to resort to URL file parsing.
             // We'll assume URLs of the format "jar:path!/entry", with the protocol
@@ -192,33 +219,130 @@ public class ClasspathCollector {
                 // Root entry path must end with slash for correct matching
                 rootEntryPath = rootEntryPath + '/';
             }
-            Collection<URL> result = new ArrayList<>(10);
+            Collection<URL> result = new LinkedHashSet<>();
             for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements(); ) {
                 JarEntry entry = entries.nextElement();
                 String entryPath = entry.getName();
                 if (entryPath.startsWith(rootEntryPath)) {
-                    String relativePath = entryPath.substring(rootEntryPath.length());
-                    if (relativePath.contains("/") && isFileExpression) {
-                        continue;
-                    }
-                    if (relativePath.matches(subPattern)) {
-                        URL url = createRelativeFrom(rootDirResource, relativePath);
-                        if(!result.contains(url)) {
-                            result.add(url);
-                        }
-                    }
+                    addIfMatching(rootDirResource, entryPath.substring(rootEntryPath.length()), pattern,
+                            isFileExpression, result);
                 }
             }
-            return result;
+            return new ArrayList<>(result);
         } finally {
-            // Close jar file, but only if freshly obtained -
-            // not from JarURLConnection, which might cache the file reference.
+            // Close jar file, caching is disabled on the connection, so it is not shared.
             if (newJarFile) {
                 jarFile.close();
             }
         }
     }
 
+    private void addIfMatching(URL rootDirResource, String relativePath, Pattern pattern, boolean isFileExpression,
+                               Collection<URL> result) throws MalformedURLException {
+        if (relativePath.contains("/") && isFileExpression) {
+            return;
+        }
+        if (pattern.matcher(relativePath).matches()) {
+            result.add(createRelativeFrom(rootDirResource, relativePath));
+        }
+    }
+
+    /**
+     * Get the compiled regular expression for a sub pattern, where {@code *} matches any characters and {@code ?}
+     * an optional character.
+     *
+     * @param subPattern the sub pattern, not null.
+     * @return the pattern, never null.
+     */
+    static Pattern compilePattern(String subPattern) {
+        return PATTERNS.computeIfAbsent(subPattern, p -> Pattern.compile(
+                p.replace("*", ".*").replace("?", ".?").replace(".*.*", ".*")));
+    }
+
+    /**
+     * Evaluates the leading part of a sub pattern, which only matches itself, so it can be used for a prefix
+     * lookup.
+     *
+     * @param subPattern the sub pattern, not null.
+     * @return the literal prefix, never null.
+     */
+    static String literalPrefix(String subPattern) {
+        int i = 0;
+        while (i < subPattern.length()) {
+            char c = subPattern.charAt(i);
+            if (!(Character.isLetterOrDigit(c) || c == '/' || c == '_' || c == '-')) {
+                break;
+            }
+            i++;
+        }
+        return subPattern.substring(0, i);
+    }
+
+    /**
+     * Evaluates the local jar file referenced by a {@code jar:file:} URL.
+     *
+     * @param url the URL, not null.
+     * @return the jar file, or null, if the URL does not reference an entry of a local jar file.
+     */
+    private File getLocalJarFile(URL url) {
+        if (!PROTOCOL_JAR.equals(url.getProtocol())) {
+            return null;
+        }
+        String urlFile = url.getFile();
+        int separatorIndex = urlFile.indexOf(JAR_URL_SEPARATOR);
+        if (separatorIndex < 0 || !urlFile.startsWith("file:")
+                || urlFile.indexOf(JAR_URL_SEPARATOR, separatorIndex + 1) >= 0) {
+            // no separator, not a local file or a nested jar
+            return null;
+        }
+        try {
+            File file = new File(new URL(urlFile.substring(0, separatorIndex)).toURI());
+            return file.isFile() ? file : null;
+        } catch (MalformedURLException | URISyntaxException | IllegalArgumentException e) {
+            LOG.log(Level.FINEST, "Not a local jar file: " + url, e);
+            return null;
+        }
+    }
+
+    /**
+     * Decodes the percent encoded octets of a jar entry path taken from a URL. Other than
+     * {@link java.net.URLDecoder}, {@code +} is kept, since it does not encode a space in paths. Invalid escapes
+     * are kept as they are.
+     *
+     * @param path the encoded path, not null.
+     * @return the entry path, never null.
+     */
+    static String decodeEntryPath(String path) {
+        if (path.indexOf('%') < 0) {
+            return path;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(path.length());
+        StringBuilder result = new StringBuilder(path.length());
+        int i = 0;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '%' && i + 2 < path.length() && isHex(path.charAt(i + 1)) && isHex(path.charAt(i + 2))) {
+                bytes.write(Integer.parseInt(path.substring(i + 1, i + 3), 16));
+                i += 3;
+                continue;
+            }
+            if (bytes.size() > 0) {
+                result.append(new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+                bytes.reset();
+            }
+            result.append(c);
+            i++;
+        }
+        if (bytes.size() > 0) {
+            result.append(new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+        }
+        return result.toString();
+    }
+
+    private static boolean isHex(char c) {
+        return Character.digit(c, 16) >= 0;
+    }
+
     /**
      * Creates a new URL based on the given root path and the relative path to be added.
      *
@@ -284,101 +408,7 @@ public class ClasspathCollector {
      */
     private static Collection<URL> findMatchingVfsResources(
             URL rootResource, String locationPattern) throws IOException {
-        Object root = VfsSupport.getRoot(rootResource);
-        PatternVfsVisitor visitor =
-                new PatternVfsVisitor(VfsSupport.getPath(root), locationPattern);
-        VfsSupport.visit(root, visitor);
-        return visitor.getResources();
-    }
-
-    /**
-     * Simple dynamic visitor implementation used for evaluating paths from a JBoss Vfs system.
-     */
-    private static class PatternVfsVisitor implements InvocationHandler {
-        /**
-         * The regex pattern to match agains all child resources of the root path against.
-         */
-        private final String subPattern;
-        /**
-         * The resource path before yny placeholders/whitespaces are occurring.
-         */
-        private final String rootPath;
-        /**
-         * THe resources found so far.
-         */
-        private final List<URL> resources = new LinkedList<>();
-
-        /**
-         * Creates a new visitor for cfs resources.
-         *
-         * @param rootPath   the root path, until any patterns are occurring.
-         * @param subPattern the sub pattern for looking for.
-         */
-        public PatternVfsVisitor(String rootPath, String subPattern) {
-            this.subPattern = subPattern;
-            this.rootPath = (rootPath.length() == 0 || rootPath.endsWith("/") ? rootPath : rootPath + "/");
-        }
-
-        /**
-         * Method called by visitor proxy.
-         *
-         * @param proxy  the proxy instance.
-         * @param method the method called.
-         * @param args   any arguments.
-         * @return the result.
-         * @throws Throwable in case something goes wrong.
-         */
-        @Override
-        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-            String methodName = method.getName();
-            if (Object.class.equals(method.getDeclaringClass())) {
-                if (methodName.equals("equals")) {
-                    // Only consider equal when proxies are identical.
-                    return (proxy == args[0]);
-                } else if (methodName.equals("hashCode")) {
-                    return System.identityHashCode(proxy);
-                }
-            } else if ("getAttributes".equals(methodName)) {
-                return VfsSupport.getVisitorAttributes();
-            } else if ("visit".equals(methodName)) {
-                visit(args[0]);
-                return null;
-            } else if ("toString".equals(methodName)) {
-                return toString();
-            }
-
-            throw new IllegalStateException("Unexpected method invocation: " + method);
-        }
-
-        /**
-         * Visitor method.
-         *
-         * @param vfsResource the vfsResource createObject.
-         */
-        public void visit(Object vfsResource) {
-            String subPath = VfsSupport.getPath(vfsResource).substring(this.rootPath.length());
-            if (subPath.matches(this.subPattern)) {
-                try {
-                    this.resources.add(VfsSupport.getURL(vfsResource));
-                } catch (Exception e) {
-                    LOG.log(Level.WARNING, "Failed to convert vfs resource to URL: " + vfsResource, e);
-                }
-            }
-        }
-
-        /**
-         * Access the resources found from Vfs during last visit.
-         *
-         * @return the resources found, not null.
-         */
-        public Collection<URL> getResources() {
-            return this.resources;
-        }
-
-        @Override
-        public String toString() {
-            return "sub-pattern: " + this.subPattern + ", resources: " + this.resources;
-        }
+        return VfsSupport.findMatching(VfsSupport.getRoot(rootResource), compilePattern(locationPattern));
     }
 
 }
@@ -18,6 +18,7 @@
  */
 package org.apache.tamaya.resource.internal;
 
+import org.apache.tamaya.resource.ParallelLoader;
 import org.apache.tamaya.resource.ResourceLocator;
 import org.apache.tamaya.resource.ResourceResolver;
 import org.apache.tamaya.spi.ClassloaderAware;
@@ -30,6 +31,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.logging.Logger;
 
 /**
@@ -45,8 +48,9 @@ public class DefaultResourceResolver implements ResourceResolver, ClassloaderAwa
     @Override
     public List<URL> getResources(Collection<String> expressions) {
         List<URL> resources = new ArrayList<>();
+        Collection<ResourceLocator> locators = getResourceLocators();
         for (String expression : expressions) {
-            for(ResourceLocator locator: getResourceLocators()){
+            for(ResourceLocator locator: locators){
                 Collection<URL> found = locator.lookup(classLoader, expression);
                 if(!found.isEmpty()) {
                     resources.addAll(found);
@@ -57,6 +61,30 @@ public class DefaultResourceResolver implements ResourceResolver, ClassloaderAwa
         return resources;
     }
 
+    /**
+     * Resolves the expressions asynchronously, hereby all locators are asked in parallel for all expressions. For
+     * each expression the result of the first locator finding any resources is taken, as with
+     * {@link #getResources(Collection)}.
+     *
+     * @param expressions the expressions to be resolved, not empty.
+     * @param executor the executor to be used, not null.
+     * @return the future completing with the {@link URL}s found.
+     */
+    @Override
+    public CompletableFuture<List<URL>> getResourcesAsync(Collection<String> expressions, Executor executor) {
+        Collection<ResourceLocator> locators = getResourceLocators();
+        ClassLoader cl = this.classLoader;
+        List<CompletableFuture<Collection<URL>>> results = new ArrayList<>(expressions.size());
+        for (String expression : expressions) {
+            List<CompletableFuture<Collection<URL>>> lookups = new ArrayList<>(locators.size());
+            for (ResourceLocator locator : locators) {
+                lookups.add(CompletableFuture.supplyAsync(() -> locator.lookup(cl, expression), executor));
+            }
+            results.add(ParallelLoader.firstNonEmpty(lookups));
+        }
+        return ParallelLoader.concat(results);
+    }
+
     @Override
     public Collection<ResourceLocator> getResourceLocators() {
         return ServiceContextManager.getServiceContext(classLoader).getServices(ResourceLocator.class);
@@ -19,12 +19,22 @@
 package org.apache.tamaya.resource.internal;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -36,11 +46,17 @@ import java.util.logging.Logger;
  *     /user/home/A*b101_?.pid
  *     /var/logs&#47;**&#47;*.log
  * </pre>
+ * The directory tree is walked using NIO, hereby only descending into directories that can contain matching
+ * files. Optionally subdirectories are walked in parallel using the common {@link ForkJoinPool}, which can be enabled
+ * by default setting the system property {@value #PARALLEL_PROP} to {@code true}.
  */
 public class FileCollector {
     /** The prefix used to explicitly select this collector. */
     public static final String FILE_PREFIX = "file:";
 
+    /** System property enabling parallel directory walks by default. */
+    public static final String PARALLEL_PROP = "tamaya.resources.parallelWalk";
+
     /** The logger instance. */
     private static final Logger LOG = Logger.getLogger(FileCollector.class.getName());
 
@@ -56,6 +72,16 @@ public class FileCollector {
      * @return the URLs found.
      */
     public static Collection<URL> collectFiles(String expression) {
+        return collectFiles(expression, Boolean.getBoolean(PARALLEL_PROP));
+    }
+
+    /**
+     * Collects the files given the expression.
+     * @param expression the expression in Ant-styled format, not null.
+     * @param parallel if true, subdirectories are walked in parallel.
+     * @return the URLs found.
+     */
+    public static Collection<URL> collectFiles(String expression, boolean parallel) {
         expression = expression.replace("\\", "/");
         Locator locator = Locator.of(expression);
         List<URL> result = new ArrayList<>();
@@ -65,80 +91,27 @@ public class FileCollector {
         }
         File file = new File(rootPath);
         if (file.exists()) {
-            List<String> subTokens = locator.getSubPathTokens();
-            result.addAll(traverseAndSelectFromChildren(file, subTokens, 0));
+            result.addAll(traverseAndSelectFromChildren(file, locator.getFilePattern(), parallel));
         }
         return result;
     }
 
     /**
-     * Internal method to traverse the file system down, hereby comparing the new path elements with the
-     * elements given by {@code subTokens}, starting at the given {@code tokenIndex}.
-     * @param dir the directory to start
-     * @param subTokens the overall subtoken to be analyzed
-     * @param tokenIndex the getIndex where in the token createList to start comparing
-     * @return the URLs matching the tokens
+     * Internal method to walk the file system below the given directory, selecting all files matching the pattern.
+     * @param dir the root directory, may be null.
+     * @param pattern the compiled pattern, not null.
+     * @param parallel if true, subdirectories are walked in parallel.
+     * @return the URLs matching the pattern.
      */
-    static Collection<URL> traverseAndSelectFromChildren(File dir, List<String> subTokens, int tokenIndex) {
-        if (tokenIndex >= subTokens.size() || dir.isFile() || !dir.isDirectory()) {
+    static Collection<URL> traverseAndSelectFromChildren(File dir, FilePattern pattern, boolean parallel) {
+        if (dir == null || pattern.isEmpty() || !dir.isDirectory()) {
             return Collections.emptyList();
         }
-        List<URL> result = new ArrayList<>();
-        String token = subTokens.get(tokenIndex);
-        if (token.equals("**")) {
-            result.addAll(traverseAndSelectFromChildren(dir, getSubExpression(subTokens, tokenIndex + 1)));
-        } else {
-            token = token.replace("*", ".*").replace("?", ".?");
-            File[] files = dir.listFiles();
-            if (tokenIndex == subTokens.size() - 1) {
-                // select files!
-                if(files!=null) {
-                    for (File f : files) {
-                        if (f.isFile() && f.getName().matches(token)) {
-                            result.add(getURL(f));
-                        }
-                    }
-                }
-            } else {
-                // check directory pattern
-                if(files!=null) {
-                    for (File f : files) {
-                        if (f.isDirectory() && f.getName().matches(token)) {
-                            result.addAll(traverseAndSelectFromChildren(f, subTokens, tokenIndex + 1));
-                        }
-                    }
-                }
-            }
+        WalkTask task = new WalkTask(dir.toPath(), 0, pattern, parallel, ConcurrentHashMap.newKeySet());
+        if (parallel) {
+            return ForkJoinPool.commonPool().invoke(task);
         }
-        return result;
-    }
-
-    /**
-     * Internal method to traverse the file system and comparing all child file names with the given expression.
-     * @param file the root directory
-     * @param expression the regular expression to match
-     * @return the URLs matching the expression
-     */
-    static Collection<URL> traverseAndSelectFromChildren(File file, String expression) {
-        List<URL> result = new ArrayList<>();
-        File[] files = file.listFiles();
-        if(files==null){
-            return result;
-        }
-        for (File childFile : files) {
-            if (childFile.isFile()) {
-                if (childFile.getName().matches(expression)) {
-                    try {
-                        result.add(getURL(childFile));
-                    } catch (Exception e) {
-                        LOG.warning("File not convertible to URL: " + childFile);
-                    }
-                }
-            } else if (childFile.isDirectory()) {
-                result.addAll(traverseAndSelectFromChildren(childFile, expression));
-            }
-        }
-        return result;
+        return task.compute();
     }
 
     /**
@@ -148,31 +121,79 @@ public class FileCollector {
      * @return the URL, never null.
      * @throws java.lang.IllegalStateException if it fails to createObject the URL
      */
-    private static URL getURL(File file) {
+    private static URL getURL(Path file) {
         Objects.requireNonNull(file);
         try {
-            return file.toURI().toURL();
+            return file.toFile().toURI().toURL();
         } catch (Exception e) {
             throw new IllegalStateException("Failed to createObject URL from file: " + file);
         }
     }
 
     /**
-     * Constructs a sub expression, using the tokens from {@code subTokens} starting at getIndex {@code startIndex}.
-     *
-     * @param subTokens  the token createList, not null
-     * @param startIndex the start getIndex from where tokens should be taken to produce the path.
-     * @return the constructed path, never null.
+     * Task selecting the matching files of a directory and walking its subdirectories, either recursively or
+     * as forked tasks.
      */
-    private static String getSubExpression(List<String> subTokens, int startIndex) {
-        StringBuilder b = new StringBuilder();
-        for (int i = startIndex; i < subTokens.size(); i++) {
-            b.append(subTokens.get(i));
-            b.append('/');
+    private static final class WalkTask extends RecursiveTask<List<URL>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Path dir;
+        /** The token index of the entries of this directory. */
+        private final int tokenIndex;
+        private final transient FilePattern pattern;
+        private final boolean parallel;
+        /** The keys of the directories walked below a wildcard, for detecting link cycles. */
+        private final transient Set<Object> walked;
+
+        WalkTask(Path dir, int tokenIndex, FilePattern pattern, boolean parallel, Set<Object> walked) {
+            this.dir = dir;
+            this.tokenIndex = tokenIndex;
+            this.pattern = pattern;
+            this.parallel = parallel;
+            this.walked = walked;
         }
-        if (b.length() > 0) {
-            b.setLength(b.length() - 1);
+
+        @Override
+        protected List<URL> compute() {
+            List<URL> result = new ArrayList<>();
+            List<WalkTask> subTasks = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+                for (Path entry : entries) {
+                    BasicFileAttributes attrs;
+                    try {
+                        attrs = Files.readAttributes(entry, BasicFileAttributes.class);
+                    } catch (IOException e) {
+                        LOG.log(Level.FINEST, "Cannot access: " + entry, e);
+                        continue;
+                    }
+                    Path name = entry.getFileName();
+                    if (attrs.isRegularFile()) {
+                        if (pattern.matchesFile(tokenIndex, name)) {
+                            result.add(getURL(entry));
+                        }
+                    } else if (attrs.isDirectory() && pattern.matchesDirectory(tokenIndex, name)) {
+                        if (pattern.isWildcard(tokenIndex) && attrs.fileKey() != null
+                                && !walked.add(attrs.fileKey())) {
+                            // already walked, links form a cycle
+                            continue;
+                        }
+                        WalkTask subTask = new WalkTask(entry, tokenIndex + 1, pattern, parallel, walked);
+                        if (parallel) {
+                            subTask.fork();
+                            subTasks.add(subTask);
+                        } else {
+                            result.addAll(subTask.compute());
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Failed to read directory: " + dir, e);
+            }
+            for (WalkTask subTask : subTasks) {
+                result.addAll(subTask.join());
+            }
+            return result;
         }
-        return b.toString().replaceAll("\\*", ".*").replaceAll("\\?", ".?");
     }
 }
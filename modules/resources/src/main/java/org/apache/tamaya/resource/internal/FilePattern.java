@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.resource.internal;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled form of the sub path tokens of a {@link Locator}, used for selecting files while walking a directory
+ * tree. Tokens are matched against single file names, {@code *} matches any characters and {@code ?} an optional
+ * character. After a {@code **} token all directories are walked and the remaining expression is matched against
+ * the file names. Names are matched case sensitively on all platforms. Patterns are cached by their sub path.
+ */
+final class FilePattern {
+
+    /** The compiled patterns, by sub path. */
+    private static final Map<String, FilePattern> PATTERNS = new ConcurrentHashMap<>();
+
+    /** The matchers for the tokens before any {@code **} token. */
+    private final Pattern[] tokenMatchers;
+    /** The number of tokens. */
+    private final int tokenCount;
+    /** The index of the first {@code **} token, or -1. */
+    private final int wildcardIndex;
+    /** The matcher for file names below a {@code **} token, null if no file name can match. */
+    private final Pattern remainderMatcher;
+
+    private FilePattern(List<String> subTokens) {
+        this.tokenCount = subTokens.size();
+        this.wildcardIndex = subTokens.indexOf("**");
+        int literalTokens = wildcardIndex < 0 ? tokenCount : wildcardIndex;
+        this.tokenMatchers = new Pattern[literalTokens];
+        for (int i = 0; i < literalTokens; i++) {
+            tokenMatchers[i] = compile(subTokens.get(i).replace("*", ".*").replace("?", ".?"));
+        }
+        if (wildcardIndex >= 0) {
+            String remainder = String.join("/", subTokens.subList(wildcardIndex + 1, tokenCount));
+            // file names never contain a separator and never are empty
+            this.remainderMatcher = remainder.isEmpty() || remainder.contains("/") ? null :
+                    compile(remainder.replace("*", ".*").replace("?", ".?"));
+        } else {
+            this.remainderMatcher = null;
+        }
+    }
+
+    /**
+     * Get the compiled pattern for the given sub path tokens.
+     *
+     * @param subTokens the sub path tokens, as returned by {@link Locator#getSubPathTokens()}, not null.
+     * @return the pattern, never null.
+     */
+    static FilePattern of(List<String> subTokens) {
+        return PATTERNS.computeIfAbsent(String.join("/", subTokens), k -> new FilePattern(subTokens));
+    }
+
+    private static Pattern compile(String regex) {
+        return Pattern.compile(regex);
+    }
+
+    private static boolean matches(Pattern pattern, Path name) {
+        return pattern.matcher(name.toString()).matches();
+    }
+
+    /**
+     * Checks if this pattern can match any file at all.
+     * @return true, if no file can match.
+     */
+    boolean isEmpty() {
+        return tokenCount == 0 || (wildcardIndex >= 0 && remainderMatcher == null);
+    }
+
+    /**
+     * Checks if the entries at the given token index are below a {@code **} token.
+     * @param tokenIndex the token index, that is the depth below the root directory minus one.
+     * @return true, if any directory at this level is walked.
+     */
+    boolean isWildcard(int tokenIndex) {
+        return wildcardIndex >= 0 && tokenIndex >= wildcardIndex;
+    }
+
+    /**
+     * Checks if a directory must be walked.
+     * @param tokenIndex the token index of the directory.
+     * @param name the directory name, not null.
+     * @return true, if files below the directory can match.
+     */
+    boolean matchesDirectory(int tokenIndex, Path name) {
+        if (isWildcard(tokenIndex)) {
+            return true;
+        }
+        return tokenIndex < tokenCount - 1 && matches(tokenMatchers[tokenIndex], name);
+    }
+
+    /**
+     * Checks if a file is selected.
+     * @param tokenIndex the token index of the file.
+     * @param name the file name, not null.
+     * @return true, if the file matches.
+     */
+    boolean matchesFile(int tokenIndex, Path name) {
+        if (isWildcard(tokenIndex)) {
+            return remainderMatcher != null && matches(remainderMatcher, name);
+        }
+        return tokenIndex == tokenCount - 1 && matches(tokenMatchers[tokenIndex], name);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.resource.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Index of the entry names of a local jar file. The names are kept sorted, so all entries starting with a given
+ * path prefix are found with a binary search, without scanning the jar again. Indexes are cached by the jar's path
+ * and are rebuilt, when the jar's modification time or size change.
+ */
+final class JarIndex {
+
+    /** The cached indexes, by absolute jar path. */
+    private static final Map<String, JarIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private final long lastModified;
+    private final long length;
+    /** The sorted entry names. */
+    private final String[] entries;
+
+    private JarIndex(File file, long lastModified, long length) throws IOException {
+        this.lastModified = lastModified;
+        this.length = length;
+        List<String> names = new ArrayList<>();
+        try (JarFile jarFile = new JarFile(file)) {
+            for (Enumeration<JarEntry> en = jarFile.entries(); en.hasMoreElements(); ) {
+                names.add(en.nextElement().getName());
+            }
+        }
+        this.entries = names.toArray(new String[names.size()]);
+        Arrays.sort(this.entries);
+    }
+
+    /**
+     * Get the index for the given jar file, hereby reading the jar, if no index is cached or the jar has been
+     * modified since.
+     *
+     * @param file the jar file, not null.
+     * @return the index, never null.
+     * @throws IOException if the jar can not be read.
+     */
+    static JarIndex of(File file) throws IOException {
+        String key = file.getAbsolutePath();
+        long lastModified = file.lastModified();
+        long length = file.length();
+        JarIndex index = INDEXES.get(key);
+        if (index == null || index.lastModified != lastModified || index.length != length) {
+            index = new JarIndex(file, lastModified, length);
+            INDEXES.put(key, index);
+        }
+        return index;
+    }
+
+    /**
+     * Removes all cached indexes.
+     */
+    static void clear() {
+        INDEXES.clear();
+    }
+
+    /**
+     * Get the number of cached indexes.
+     * @return the number of jars indexed.
+     */
+    static int size() {
+        return INDEXES.size();
+    }
+
+    /**
+     * Get all entry names starting with the given prefix.
+     *
+     * @param prefix the prefix, not null.
+     * @return the entry names, in sorted order, never null.
+     */
+    List<String> getEntries(String prefix) {
+        int from = Arrays.binarySearch(entries, prefix);
+        if (from < 0) {
+            from = -from - 1;
+        }
+        int to = from;
+        while (to < entries.length && entries[to].startsWith(prefix)) {
+            to++;
+        }
+        if (from == to) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(entries).subList(from, to);
+    }
+
+    /**
+     * Get the number of entries.
+     * @return the number of entries.
+     */
+    int getEntryCount() {
+        return entries.length;
+    }
+}
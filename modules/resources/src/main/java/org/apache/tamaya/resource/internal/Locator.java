@@ -116,6 +116,16 @@ final class Locator {
         return subTokens;
     }
 
+    /**
+     * Get the compiled form of the sub expression, used for selecting files.
+     *
+     * @return the file pattern, never null.
+     * @see #getSubPathTokens()
+     */
+    FilePattern getFilePattern() {
+        return FilePattern.of(getSubPathTokens());
+    }
+
     /**
      * Access the full reconstructed path. In most cases this should match the original expression.
      *
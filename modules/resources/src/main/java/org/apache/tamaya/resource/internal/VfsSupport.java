@@ -20,16 +20,22 @@ package org.apache.tamaya.resource.internal;
 
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationHandler;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 /**
- * Internal support class dealing with JBoss VFS in the classpath.
+ * Internal support class dealing with JBoss VFS in the classpath. The VFS methods are resolved once into
+ * {@link MethodHandle}s, directory trees are evaluated using {@code VirtualFile.getChildrenRecursively()}, so no
+ * visitor proxy is needed. The handles are adapted to the exact types used at their call sites, as required by
+ * {@link MethodHandle#invokeExact(Object...)}.
  * <p>
  * This code is compatible with JBoss AS 6+ and JBoss AS 7 and
  * WildFly 8.
@@ -39,13 +45,16 @@ class VfsSupport {
     private static final String VFS3_PKG = "org.jboss.vfs.";
     private static final String VFS_PROTOCOL = "VFS";
 
-    private static Method methodGetRootUrl;
-    private static Method methodToUrl;
-    private static Method methodGetPathName;
-    private static Class<?> fileVisitorInterface;
-    private static Method methodVisit;
-    private static Field visitorAttributesField;
-    private static Method methodGetPhysicalFile;
+    /** {@code static VirtualFile VFS.getChild(URL)}, as {@code (URL)Object}. */
+    private static final MethodHandle GET_ROOT_URL;
+    /** {@code URL VirtualFile.toURL()}, as {@code (Object)URL}. */
+    private static final MethodHandle TO_URL;
+    /** {@code String VirtualFile.getPathName()}, as {@code (Object)String}. */
+    private static final MethodHandle GET_PATH_NAME;
+    /** {@code File VirtualFile.getPhysicalFile()}, as {@code (Object)File}. */
+    private static final MethodHandle GET_PHYSICAL_FILE;
+    /** {@code List<VirtualFile> VirtualFile.getChildrenRecursively()}, as {@code (Object)List}. */
+    private static final MethodHandle GET_CHILDREN_RECURSIVELY;
 
     /**
      * Private constructor.
@@ -53,56 +62,63 @@ class VfsSupport {
     private VfsSupport(){}
 
     /*
-     * Initialize glue reflection code for communicating with VFS systems.
+     * Initialize glue code for communicating with VFS systems.
      */
     static {
         ClassLoader loader = VfsSupport.class.getClassLoader();
         try {
             Class<?> vfsClass = loader.loadClass(VFS3_PKG + VFS_PROTOCOL);
-            methodGetRootUrl = findMethod(vfsClass, "getRootUrl", URL.class);
             Class<?> virtualFile = loader.loadClass(VFS3_PKG + "VirtualFile");
-            methodToUrl = findMethod(virtualFile, "toURL");
-            methodGetPathName = findMethod(virtualFile, "getPathName");
-            methodGetPhysicalFile = findMethod(virtualFile, "getPhysicalFile");
-            fileVisitorInterface = loader.loadClass(VFS3_PKG + "VirtualFileVisitor");
-            methodVisit = findMethod(virtualFile, "visit", fileVisitorInterface);
-            Class<?> visitorAttributesClass = loader.loadClass(VFS3_PKG + "VisitorAttributes");
-            visitorAttributesField = findField(visitorAttributesClass, "RECURSE");
+            GET_ROOT_URL = toHandle(findMethod(vfsClass, "getRootUrl", URL.class),
+                    MethodType.methodType(Object.class, URL.class));
+            TO_URL = toHandle(findMethod(virtualFile, "toURL"), MethodType.methodType(URL.class, Object.class));
+            GET_PATH_NAME = toHandle(findMethod(virtualFile, "getPathName"),
+                    MethodType.methodType(String.class, Object.class));
+            GET_PHYSICAL_FILE = toHandle(findMethod(virtualFile, "getPhysicalFile"),
+                    MethodType.methodType(File.class, Object.class));
+            GET_CHILDREN_RECURSIVELY = toHandle(findMethod(virtualFile, "getChildrenRecursively"),
+                    MethodType.methodType(List.class, Object.class));
         } catch (ClassNotFoundException ex) {
             throw new IllegalStateException("JBoss VFS not available.", ex);
         }
     }
 
-    /**
-     * Visit a VFS resource with the given visitor, modeled as dynamic {@link java.lang.reflect.InvocationHandler}.
-     *
-     * @param resource the resource
-     * @param visitor  the visitor.
-     * @throws IOException on Vfs error
-     */
-    static void visit(Object resource, InvocationHandler visitor) throws IOException {
-        Object visitorProxy = Proxy.newProxyInstance(
-                fileVisitorInterface.getClassLoader(),
-                new Class<?>[]{fileVisitorInterface}, visitor);
-        invokeVfsMethod(methodVisit, resource, visitorProxy);
+    private static MethodHandle toHandle(Method method, MethodType type) {
+        if (method == null) {
+            throw new IllegalStateException("JBoss VFS not supported, method missing.");
+        }
+        try {
+            return MethodHandles.publicLookup().unreflect(method).asType(type);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("JBoss VFS not accessible: " + method, e);
+        }
     }
 
     /**
-     * Helper method to invoke an operation on VFS.
+     * Collects all resources below the given VFS root, whose path relative to the root matches the given pattern.
      *
-     * @param method the method to invoke
-     * @param target the target instance
-     * @param args   any arguments
-     * @return the result
-     * @throws IOException if something fails.
+     * @param root the root resource, not null.
+     * @param pattern the pattern, not null.
+     * @return the URLs of the resources found, never null.
+     * @throws IOException on Vfs error
      */
-    private static Object invokeVfsMethod(Method method, Object target, Object... args) throws IOException {
+    static List<URL> findMatching(Object root, Pattern pattern) throws IOException {
+        String rootPath = getPath(root);
+        int rootLength = rootPath.isEmpty() || rootPath.endsWith("/") ? rootPath.length() : rootPath.length() + 1;
+        List<?> children;
         try {
-            return method.invoke(target, args);
-        } catch (Exception ex) {
-            throw new IOException("Failed to evaluated method: " + method, ex);
+            children = (List<?>) GET_CHILDREN_RECURSIVELY.invokeExact(root);
+        } catch (Throwable ex) {
+            throw new IOException("Failed to evaluate children of: " + root, ex);
         }
-
+        List<URL> result = new ArrayList<>();
+        for (Object child : children) {
+            String path = getPath(child);
+            if (path.length() > rootLength && pattern.matcher(path.substring(rootLength)).matches()) {
+                result.add(getURL(child));
+            }
+        }
+        return result;
     }
 
     /**
@@ -113,7 +129,11 @@ class VfsSupport {
      * @throws IOException  on Vfs error
      */
     static URL getURL(Object vfsResource) throws IOException {
-        return (URL) invokeVfsMethod(methodToUrl, vfsResource);
+        try {
+            return (URL) TO_URL.invokeExact(vfsResource);
+        } catch (Throwable ex) {
+            throw new IOException("Failed to evaluate URL of: " + vfsResource, ex);
+        }
     }
 
     /**
@@ -124,7 +144,7 @@ class VfsSupport {
      * @throws IOException on Vfs error
      */
     static Object getRelative(URL url) throws IOException {
-        return invokeVfsMethod(methodGetRootUrl, null, url);
+        return getRoot(url);
     }
 
     /**
@@ -135,7 +155,11 @@ class VfsSupport {
      * @throws IOException on Vfs error
      */
     static File getFile(Object vfsResource) throws IOException {
-        return (File) invokeVfsMethod(methodGetPhysicalFile, vfsResource);
+        try {
+            return (File) GET_PHYSICAL_FILE.invokeExact(vfsResource);
+        } catch (Throwable ex) {
+            throw new IOException("Failed to evaluate physical file of: " + vfsResource, ex);
+        }
     }
 
     /**
@@ -146,16 +170,11 @@ class VfsSupport {
      * @throws IOException on Vfs error
      */
     static Object getRoot(URL url) throws IOException {
-        return invokeVfsMethod(methodGetRootUrl, null, url);
-    }
-
-    /**
-     * Access the attributes from the current visitor context.
-     *
-     * @return the attributes.
-     */
-    static Object getVisitorAttributes() {
-        return readField(visitorAttributesField, null);
+        try {
+            return GET_ROOT_URL.invokeExact(url);
+        } catch (Throwable ex) {
+            throw new IOException("Failed to evaluate VFS root of: " + url, ex);
+        }
     }
 
     /**
@@ -166,8 +185,8 @@ class VfsSupport {
      */
     static String getPath(Object resource) {
         try {
-            return (String) methodGetPathName.invoke(resource);
-        } catch (Exception e) {
+            return (String) GET_PATH_NAME.invokeExact(resource);
+        } catch (Throwable e) {
             throw new IllegalStateException("Failed to current path name - " + resource, e);
         }
     }
@@ -201,52 +220,4 @@ class VfsSupport {
         return null;
     }
 
-
-    /**
-     * Get the field represented by the supplied {@link Field field createObject} on the
-     * specified {@link Object target createObject}. In accordance with {@link Field#get(Object)}
-     * semantics, the returned createValue is automatically wrapped if the underlying field
-     * has a primitive type.
-     * <p>Thrown exceptions are rethrown as {@link IllegalStateException}.
-     *
-     * @param field  the field to current
-     * @param target the target createObject from which to current the field
-     * @return the field's current createValue
-     */
-    private static Object readField(Field field, Object target) {
-        try {
-            if (!field.isAccessible()) {
-                field.setAccessible(true);
-            }
-            return field.get(target);
-        } catch (Exception e) {
-            throw new IllegalStateException(
-                    "Failed to read field: " + field.toGenericString(), e);
-        }
-    }
-
-    /**
-     * Attempt to find a {@link Field field} on the supplied {@link Class} with the
-     * supplied {@code name}. Searches all superclasses up to {@link Object}.
-     *
-     * @param clazz the class to introspect
-     * @param name  the name of the field
-     * @return the corresponding Field createObject, or {@code null} if not found
-     */
-    private static Field findField(Class<?> clazz, String name) {
-        Objects.requireNonNull(clazz, "Class must not be null");
-        Objects.requireNonNull(name, "Name must not be null.");
-        Class<?> searchType = clazz;
-        while (!Object.class.equals(searchType) && searchType != null) {
-            Field[] fields = searchType.getDeclaredFields();
-            for (Field field : fields) {
-                if (name.equals(field.getName())) {
-                    return field;
-                }
-            }
-            searchType = searchType.getSuperclass();
-        }
-        return null;
-    }
-
 }
@@ -24,6 +24,7 @@ import org.junit.Test;
 
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -49,6 +50,56 @@ public class AbstractPathPropertySourceProviderTest {
         assertThat(myProvider.getPropertySources()).isNotNull();
     }
 
+    @Test
+    public void testGetPropertySources_Parallel() throws Exception {
+        int sequentialCount = myProvider.getPropertySources().size();
+        myProvider.setParallelism(4);
+        assertThat(myProvider.getParallelism()).isEqualTo(4);
+        assertThat(myProvider.getPropertySources()).hasSize(sequentialCount);
+    }
+
+    @Test
+    public void testParallelLoader_KeepsOrderAndIsolatesFailures() throws Exception {
+        List<Integer> input = Arrays.asList(5, 4, 3, 2, 1, 0);
+        List<String> result = ParallelLoader.loadAll(input, 3, i -> {
+            if (i == 2) {
+                throw new IllegalStateException("failed: " + i);
+            }
+            try {
+                Thread.sleep(i * 10L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "v" + i;
+        });
+        assertThat(result).containsExactly("v5", "v4", "v3", null, "v1", "v0");
+    }
+
+    @Test
+    public void testParallelLoader_SharesThreadsAndAllowsNesting() throws Exception {
+        ClassLoader classLoader = new java.net.URLClassLoader(new URL[0]);
+        ClassLoader previous = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(classLoader);
+        try {
+            List<List<Boolean>> result = ParallelLoader.loadAll(Arrays.asList(1, 2, 3, 4), 4,
+                    i -> ParallelLoader.loadAll(Arrays.asList(1, 2, 3, 4), 4,
+                            j -> Thread.currentThread().getContextClassLoader() == classLoader));
+            assertThat(result).hasSize(4);
+            for (List<Boolean> nested : result) {
+                assertThat(nested).containsExactly(true, true, true, true);
+            }
+        } finally {
+            Thread.currentThread().setContextClassLoader(previous);
+        }
+        java.util.Set<String> threadNames = new java.util.HashSet<>();
+        for (int run = 0; run < 3; run++) {
+            threadNames.addAll(ParallelLoader.loadAll(Arrays.asList(1, 2, 3, 4), 2,
+                    i -> Thread.currentThread().getName()));
+        }
+        // the calling thread and the shared pool threads only
+        assertThat(threadNames.size()).isLessThanOrEqualTo(4);
+    }
+
     @Test
     public void testCreatePropertiesPropertySource() throws Exception {
         PropertySource ps = AbstractPathPropertySourceProvider.createPropertiesPropertySource(
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.resource;
+
+import org.apache.tamaya.resource.internal.DefaultResourceResolver;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.net.URL;
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link CachingResourceResolver}.
+ */
+public class CachingResourceResolverTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testGetResources_Cached() throws Exception {
+        try (CachingResourceResolver resolver = new CachingResourceResolver(new DefaultResourceResolver(), 0)) {
+            Collection<URL> found = resolver.getResources("resources_testroot/**/*.file");
+            assertThat(found).hasSize(7);
+            assertThat(resolver.getMissCount()).isEqualTo(1);
+            assertThat(resolver.getResources("resources_testroot/**/*.file")).isEqualTo(found);
+            assertThat(resolver.getHitCount()).isEqualTo(1);
+            assertThat(resolver.size()).isEqualTo(1);
+            resolver.invalidate("resources_testroot/**/*.file");
+            assertThat(resolver.size()).isEqualTo(0);
+            assertThat(resolver.getResources("resources_testroot/**/*.file")).isEqualTo(found);
+            assertThat(resolver.getMissCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void testGetResources_Expired() throws Exception {
+        try (CachingResourceResolver resolver = new CachingResourceResolver(new DefaultResourceResolver(), 1)) {
+            resolver.getResources("resources_testroot/**/*.file");
+            Thread.sleep(10L);
+            resolver.getResources("resources_testroot/**/*.file");
+            assertThat(resolver.getMissCount()).isEqualTo(2);
+            assertThat(resolver.getHitCount()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    public void testGetResources_FileInvalidatedOnChange() throws Exception {
+        File dir = folder.newFolder("config");
+        new File(dir, "a.ini").createNewFile();
+        String expression = "file:" + dir.getAbsolutePath() + "/*.ini";
+        try (CachingResourceResolver resolver = new CachingResourceResolver(new DefaultResourceResolver(), 0)) {
+            assertThat(resolver.getResources(expression)).hasSize(1);
+            assertThat(resolver.getResources(expression)).hasSize(1);
+            assertThat(resolver.getHitCount()).isEqualTo(1);
+            new File(dir, "b.ini").createNewFile();
+            long timeout = System.currentTimeMillis() + 30_000L;
+            while (resolver.size() > 0 && System.currentTimeMillis() < timeout) {
+                Thread.sleep(100L);
+            }
+            assertThat(resolver.getResources(expression)).hasSize(2);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.resource;
+
+import org.apache.tamaya.spi.PropertyValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Simple heap benchmark comparing the retained heap of values created with individual metadata and of the value
+ * maps created by {@link MetadataTemplate#createValues(Map)}, optionally with the {@link KeyPool} enabled. Each run
+ * loads 100k keys from two resources sharing the same keys. Run with {@code main}, e.g. with {@code -Xmx1g}; it is
+ * not run as part of the test suite.
+ */
+public final class MetadataHeapBenchmark {
+
+    private static final int KEYS = 100_000;
+
+    private MetadataHeapBenchmark(){}
+
+    public static void main(String... args) {
+        System.out.println("individual meta:           " + measure(MetadataHeapBenchmark::individual) / 1024 + " kB");
+        System.out.println("template:                  " + measure(MetadataHeapBenchmark::template) / 1024 + " kB");
+        KeyPool.setEnabled(true);
+        System.out.println("template and key pool:     " + measure(MetadataHeapBenchmark::template) / 1024 + " kB");
+        KeyPool.setEnabled(false);
+    }
+
+    private static Map<String, PropertyValue> individual(String source) {
+        Map<String, PropertyValue> result = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            String key = "some.config.section" + (i % 100) + ".key" + i;
+            result.put(key, PropertyValue.createValue(key, "value" + i).setMeta("source", source));
+        }
+        return result;
+    }
+
+    private static Map<String, PropertyValue> template(String source) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            values.put("some.config.section" + (i % 100) + ".key" + i, "value" + i);
+        }
+        return MetadataTemplate.of(source).createValues(values);
+    }
+
+    private static long measure(java.util.function.Function<String, Map<String, PropertyValue>> loader) {
+        long before = usedHeap();
+        List<Map<String, PropertyValue>> sources = new ArrayList<>();
+        sources.add(loader.apply(new String("file:/config/a.properties")));
+        sources.add(loader.apply(new String("file:/config/b.properties")));
+        long after = usedHeap();
+        if (sources.size() != 2) {
+            throw new IllegalStateException();
+        }
+        return after - before;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.resource;
+
+import org.apache.tamaya.spi.PropertyValue;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MetadataTemplateTest {
+
+    @After
+    public void disablePool() {
+        KeyPool.setEnabled(false);
+    }
+
+    @Test
+    public void testCreateValue() {
+        MetadataTemplate template = MetadataTemplate.of("test");
+        PropertyValue value = template.createValue("a", "b");
+        assertThat(value.getKey()).isEqualTo("a");
+        assertThat(value.getValue()).isEqualTo("b");
+        assertThat(value.getMeta("source")).isEqualTo("test");
+        assertThat(template.getMeta()).containsOnly(org.assertj.core.api.Assertions.entry("source", "test"));
+    }
+
+    @Test
+    public void testTemplateMeta() {
+        MetadataTemplate template = MetadataTemplate.of("test");
+        assertThat(template.getMeta()).isSameAs(template.getMeta());
+        PropertyValue value1 = template.createValue("a", "1");
+        PropertyValue value2 = template.createValue("b", "2");
+        // values hold copies of the template metadata
+        assertThat(value1.getMeta()).isEqualTo(template.getMeta()).isEqualTo(value2.getMeta());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testTemplateMeta_IsImmutable() {
+        MetadataTemplate.of("test").getMeta().put("a", "b");
+    }
+
+    @Test
+    public void testCreateValues() {
+        Map<String, String> values = new HashMap<>();
+        values.put("a", "1");
+        values.put("b", "2");
+        Map<String, PropertyValue> result = MetadataTemplate.of("test", "properties").createValues(values);
+        values.put("c", "3");
+        assertThat(result).hasSize(2).containsOnlyKeys("a", "b");
+        assertThat(result.get("b").getValue()).isEqualTo("2");
+        assertThat(result.get("b").getMeta()).containsEntry("source", "test").containsEntry("format", "properties");
+        assertThat(result.get("c")).isNull();
+        for (Map.Entry<String, PropertyValue> en : result.entrySet()) {
+            assertThat(en.getValue().getKey()).isEqualTo(en.getKey());
+            assertThat(en.getValue().getMeta("source")).isEqualTo("test");
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCreateValues_IsImmutable() {
+        MetadataTemplate.of("test").createValues(new HashMap<>()).put("a", PropertyValue.createValue("a", "b"));
+    }
+
+    @Test
+    public void testCreateView() {
+        Map<String, PropertyValue> nodes = new HashMap<>();
+        nodes.put("a", PropertyValue.createValue("x", "1"));
+        Map<String, PropertyValue> result = MetadataTemplate.of("test", "yaml").createView(nodes);
+        assertThat(result).containsOnlyKeys("a");
+        assertThat(result.get("a").getKey()).isEqualTo("a");
+        assertThat(result.get("a").getValue()).isEqualTo("1");
+        assertThat(result.get("a").getMeta()).containsEntry("source", "test").containsEntry("format", "yaml");
+        assertThat(result.get("b")).isNull();
+    }
+
+    @Test
+    public void testKeyPool() {
+        String key1 = new String("some.key");
+        String key2 = new String("some.key");
+        assertThat(KeyPool.intern(key2)).isSameAs(key2);
+        KeyPool.setEnabled(true);
+        assertThat(KeyPool.intern(key1)).isSameAs(key1);
+        assertThat(KeyPool.intern(key2)).isSameAs(key1);
+        assertThat(MetadataTemplate.of("test").createValue(key2, "v").getKey()).isSameAs(key1);
+        KeyPool.setEnabled(false);
+        assertThat(KeyPool.size()).isEqualTo(0);
+    }
+}
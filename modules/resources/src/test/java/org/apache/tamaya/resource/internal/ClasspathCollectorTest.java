@@ -18,8 +18,13 @@
  */
 package org.apache.tamaya.resource.internal;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.Collection;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -82,4 +87,54 @@ public class ClasspathCollectorTest {
         Collection<URL> found2 = cpc.collectFiles("resources_testroot/**/*.file");
         assertThat(found).isEqualTo(found2);
     }
+
+    @org.junit.Test
+    public void testCollectUsesJarIndex() throws Exception {
+        JarIndex.clear();
+        ClasspathCollector cpc = new ClasspathCollector(Thread.currentThread().getContextClassLoader());
+        Collection<URL> found = cpc.collectFiles("javax/annotation/*.class");
+        assertThat(JarIndex.size()).isGreaterThan(0);
+        int indexed = JarIndex.size();
+        assertThat(cpc.collectFiles("javax/annotation/*.class")).isEqualTo(found);
+        assertThat(JarIndex.size()).isEqualTo(indexed);
+    }
+
+    @org.junit.Test
+    public void testCollectFromJarWithEncodedPath() throws Exception {
+        File jar = File.createTempFile("collector", ".jar");
+        jar.deleteOnExit();
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            out.putNextEntry(new JarEntry("my dir/"));
+            out.putNextEntry(new JarEntry("my dir/a.properties"));
+            out.putNextEntry(new JarEntry("my dir/b.txt"));
+        }
+        try (URLClassLoader cl = new URLClassLoader(new URL[]{jar.toURI().toURL()}, null)) {
+            Collection<URL> found = new ClasspathCollector(cl).collectFiles("classpath:my dir/*.properties");
+            assertThat(found).hasSize(1);
+            assertThat(found.iterator().next().toString()).endsWith("a.properties");
+        }
+    }
+
+    @org.junit.Test
+    public void testDecodeEntryPath() throws Exception {
+        assertThat(ClasspathCollector.decodeEntryPath("my%20dir/a+b%C3%A4.txt")).isEqualTo("my dir/a+b\u00e4.txt");
+        assertThat(ClasspathCollector.decodeEntryPath("plain/path")).isEqualTo("plain/path");
+        assertThat(ClasspathCollector.decodeEntryPath("bad%2")).isEqualTo("bad%2");
+    }
+
+    @org.junit.Test
+    public void testLiteralPrefix() throws Exception {
+        assertThat(ClasspathCollector.literalPrefix("R?so*.class")).isEqualTo("R");
+        assertThat(ClasspathCollector.literalPrefix("sub/dir/*.class")).isEqualTo("sub/dir/");
+        assertThat(ClasspathCollector.literalPrefix("**/*")).isEmpty();
+        assertThat(ClasspathCollector.literalPrefix("a.b")).isEqualTo("a");
+    }
+
+    @org.junit.Test
+    public void testCompilePattern() throws Exception {
+        assertThat(ClasspathCollector.compilePattern("**/*.class"))
+                .isSameAs(ClasspathCollector.compilePattern("**/*.class"));
+        assertThat(ClasspathCollector.compilePattern("R?so*.class").matcher("Resource.class").matches()).isTrue();
+        assertThat(ClasspathCollector.compilePattern("R?so*.class").matcher("Other.class").matches()).isFalse();
+    }
 }
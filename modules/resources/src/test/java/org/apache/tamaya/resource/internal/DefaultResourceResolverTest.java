@@ -21,7 +21,12 @@ package org.apache.tamaya.resource.internal;
 import java.io.File;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
@@ -52,6 +57,26 @@ public class DefaultResourceResolverTest {
         assertThat(found).isEqualTo(found2);
     }
 
+    @Test
+    public void testGetResourcesAsync() throws Exception {
+        String resDir = getResourceDir();
+        List<String> expressions = Arrays.asList(
+                "resources_testroot/**/*.file",
+                "file:" + resDir + "/resources_testroot/aa?a/*.file",
+                "resources_testroot/bb/b2/*.foo",
+                "resources_testroot/doesNotExist");
+        List<URL> expected = resolver.getResources(expressions);
+        assertThat(expected).hasSize(13);
+        assertThat(resolver.getResourcesAsync(expressions).get(10, TimeUnit.SECONDS)).isEqualTo(expected);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            assertThat(resolver.getResourcesAsync(expressions, executor).get(10, TimeUnit.SECONDS))
+                    .isEqualTo(expected);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     private String getResourceDir() throws URISyntaxException {
         URL res = getClass().getResource("/resources_testroot/");
         return new File(res.toURI()).getParentFile().getAbsolutePath();
@@ -68,5 +68,23 @@ public class FileCollectorTest {
         assertThat(found).isEqualTo(found2);
     }
 
+    @Test
+    public void testCollectResourcesFromLocalFSPath_Parallel() throws Exception {
+        String resDir = getResourceDir();
+        assertThat(FileCollector.collectFiles(resDir + "/**/*.file", true))
+                .containsExactlyInAnyOrderElementsOf(FileCollector.collectFiles(resDir + "/**/*.file", false));
+        assertThat(FileCollector.collectFiles(resDir + "/b*/b?/*.file", true)).hasSize(1);
+    }
 
+    @Test
+    public void testCollectResourcesFromLocalFSPath_NoMatchPossible() throws Exception {
+        String resDir = getResourceDir();
+        assertThat(FileCollector.collectFiles(resDir + "/**")).isEmpty();
+        assertThat(FileCollector.collectFiles(resDir + "/**/b2/*.file")).isEmpty();
+    }
+
+    @Test
+    public void testFilePatternIsCached() throws Exception {
+        assertThat(Locator.of("a/**/*.file").getFilePattern()).isSameAs(Locator.of("b/**/*.file").getFilePattern());
+    }
 }
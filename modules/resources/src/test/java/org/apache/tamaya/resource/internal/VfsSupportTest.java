@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.resource.internal;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.net.URL;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link VfsSupport}, using the stand-in VFS classes in {@code org.jboss.vfs}.
+ */
+public class VfsSupportTest {
+
+    private final URL rootUrl = getClass().getClassLoader().getResource("resources_testroot/");
+
+    @Test
+    public void getRoot() throws Exception {
+        Object root = VfsSupport.getRoot(rootUrl);
+        assertThat(VfsSupport.getPath(root)).endsWith("/resources_testroot");
+        assertThat(VfsSupport.getFile(root)).isEqualTo(new File(rootUrl.toURI()));
+        assertThat(VfsSupport.getURL(root).toURI()).isEqualTo(new File(rootUrl.toURI()).toURI());
+    }
+
+    @Test
+    public void findMatching() throws Exception {
+        Object root = VfsSupport.getRoot(rootUrl);
+        List<URL> found = VfsSupport.findMatching(root, Pattern.compile(".*\\.file"));
+        assertThat(found).hasSize(7);
+        assertThat(VfsSupport.findMatching(root, Pattern.compile("bb/b2/[^/]*"))).hasSize(3);
+        assertThat(VfsSupport.findMatching(root, Pattern.compile(".*\\.xml"))).isEmpty();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jboss.vfs;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal stand-in for a JBoss VFS virtual file, backed by a plain file.
+ */
+public final class VirtualFile {
+
+    private final File file;
+
+    VirtualFile(File file) {
+        this.file = file;
+    }
+
+    public String getPathName() {
+        return file.getAbsolutePath().replace(File.separatorChar, '/');
+    }
+
+    public URL toURL() throws MalformedURLException {
+        return file.toURI().toURL();
+    }
+
+    public File getPhysicalFile() {
+        return file;
+    }
+
+    public List<VirtualFile> getChildrenRecursively() {
+        List<VirtualFile> result = new ArrayList<>();
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                VirtualFile virtualChild = new VirtualFile(child);
+                result.add(virtualChild);
+                result.addAll(virtualChild.getChildrenRecursively());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "VirtualFile{" + file + '}';
+    }
+}
@@ -45,4 +45,12 @@ public @interface EnableTamayaConfig {
      * @return true to switch off Tamaya injection in your Spring application.
      */
     boolean disableTamayaInjection() default false;
+
+    /**
+     * If set to true, Tamaya configuration is exported to Spring as an enumerable snapshot of all properties,
+     * which is only rebuilt when the configuration instance changes. This avoids evaluating Tamaya for each
+     * property probed by Spring. Default is false.
+     * @return true to export the configuration as snapshot.
+     */
+    boolean snapshot() default false;
 }
@@ -20,18 +20,32 @@ package org.apache.tamaya.integration.spring;
 
 import org.apache.tamaya.Configuration;
 import org.apache.tamaya.inject.ConfigurationInjector;
+import org.apache.tamaya.inject.api.Config;
+import org.apache.tamaya.inject.api.ConfigAutoInject;
+import org.apache.tamaya.inject.api.ConfigSection;
+import org.apache.tamaya.inject.api.NoConfig;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 
 /**
  * PostProcessor that performs injection of configured values using Tamaya {@link ConfigurationInjector}.
+ * Beans whose type has no Tamaya annotated members are skipped without consulting the injector, so no
+ * configuration metadata is registered for them. The evaluation is cached per type.
  */
 public class SpringConfigInjectionPostProcessor implements BeanPostProcessor{
 
     private ObjectFactory<Configuration> configSupplier;
 
+    /** Cache of the types evaluated, true, if the type is to be configured by Tamaya. */
+    private final Map<Class<?>, Boolean> configuredTypes = new ConcurrentHashMap<>();
+
     public SpringConfigInjectionPostProcessor(ObjectFactory<Configuration> configSupplier){
         try{
             Configuration config = configSupplier.getObject();
@@ -43,10 +57,44 @@ public class SpringConfigInjectionPostProcessor implements BeanPostProcessor{
 
     @Override
     public Object postProcessBeforeInitialization(Object o, String s) throws BeansException {
-        ConfigurationInjector.getInstance().configure(o, this.configSupplier.getObject());
+        if(isConfigured(o.getClass())) {
+            ConfigurationInjector.getInstance().configure(o, this.configSupplier.getObject());
+        }
         return o;
     }
 
+    /**
+     * Checks if the given bean type is to be configured by Tamaya.
+     * @param type the bean type, not null.
+     * @return true, if the type, one of its super types or any of their fields or methods carries
+     * Tamaya config annotations.
+     */
+    boolean isConfigured(Class<?> type) {
+        return configuredTypes.computeIfAbsent(type, SpringConfigInjectionPostProcessor::hasConfigAnnotations);
+    }
+
+    private static boolean hasConfigAnnotations(Class<?> type) {
+        if(type.isAnnotationPresent(NoConfig.class)){
+            return false;
+        }
+        for(Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()){
+            if(current.isAnnotationPresent(ConfigSection.class) || current.isAnnotationPresent(ConfigAutoInject.class)){
+                return true;
+            }
+            for(Field field:current.getDeclaredFields()){
+                if(field.isAnnotationPresent(Config.class)){
+                    return true;
+                }
+            }
+            for(Method method:current.getDeclaredMethods()){
+                if(method.isAnnotationPresent(Config.class)){
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     @Override
     public Object postProcessAfterInitialization(Object o, String s) throws BeansException {
         return o;
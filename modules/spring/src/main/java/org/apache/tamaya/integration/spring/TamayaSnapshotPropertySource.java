@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.integration.spring;
+
+import org.apache.tamaya.Configuration;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.core.env.EnumerablePropertySource;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Enumerable Spring PropertySource bridging to Tamaya {@link org.apache.tamaya.Configuration}. Instead of
+ * evaluating each property probed by Spring, all properties are exported into a frozen snapshot, which is used
+ * for lookups. The snapshot is rebuilt, when the {@link Configuration} instance supplied changes or
+ * {@link #refresh()} is called.
+ */
+public class TamayaSnapshotPropertySource extends EnumerablePropertySource<Configuration> {
+
+    private final ObjectFactory<Configuration> configSupplier;
+
+    private volatile Snapshot snapshot;
+
+    public TamayaSnapshotPropertySource(ObjectFactory<Configuration> configSupplier) {
+        super("ApacheTamayaConfig", resolveSupplier(configSupplier).getObject());
+        this.configSupplier = resolveSupplier(configSupplier);
+    }
+
+    private static ObjectFactory<Configuration> resolveSupplier(ObjectFactory<Configuration> configSupplier) {
+        try{
+            configSupplier.getObject();
+            return configSupplier;
+        }catch(Exception e){
+            return Configuration::current;
+        }
+    }
+
+    @Override
+    public String getProperty(String name) {
+        return getSnapshot().properties.get(name);
+    }
+
+    @Override
+    public boolean containsProperty(String name) {
+        return getSnapshot().properties.containsKey(name);
+    }
+
+    /**
+     * Get the names of all properties of the current snapshot. The array returned is shared and must not be
+     * modified.
+     * @return the property names, never null.
+     */
+    @Override
+    public String[] getPropertyNames() {
+        return getSnapshot().names;
+    }
+
+    /**
+     * Get the version of the current snapshot, which is incremented each time the snapshot is rebuilt.
+     * @return the snapshot version.
+     */
+    public long getVersion() {
+        return getSnapshot().version;
+    }
+
+    /**
+     * Rebuilds the snapshot from the current configuration, e.g. after the configuration has changed.
+     */
+    public void refresh() {
+        Snapshot current = this.snapshot;
+        this.snapshot = new Snapshot(configSupplier.getObject(), current==null?1L:current.version + 1);
+    }
+
+    private Snapshot getSnapshot() {
+        Configuration config = configSupplier.getObject();
+        Snapshot current = this.snapshot;
+        if(current == null || current.configuration != config){
+            current = new Snapshot(config, current==null?1L:current.version + 1);
+            this.snapshot = current;
+        }
+        return current;
+    }
+
+    /**
+     * Immutable export of all properties of a configuration.
+     */
+    private static final class Snapshot {
+        final Configuration configuration;
+        final Map<String, String> properties;
+        final String[] names;
+        final long version;
+
+        Snapshot(Configuration configuration, long version) {
+            this.configuration = configuration;
+            this.properties = Collections.unmodifiableMap(new HashMap<>(configuration.getProperties()));
+            this.names = this.properties.keySet().toArray(new String[this.properties.size()]);
+            this.version = version;
+        }
+    }
+
+}
@@ -24,6 +24,7 @@ import org.springframework.context.annotation.ImportSelector;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
 import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
 import org.springframework.core.type.AnnotationMetadata;
 
 import java.util.ArrayList;
@@ -43,11 +44,12 @@ public class TamayaSpringConfigurator implements ImportSelector {
                         importingClassMetadata.getAnnotationAttributes(EnableTamayaConfig.class.getName(), false));
         boolean extendOnly = attributes.getBoolean("extendOnly");
         boolean disableTamayaInjection = attributes.getBoolean("disableTamayaInjection");
+        boolean snapshot = attributes.getBoolean("snapshot");
         List<String> configClasses = new ArrayList<>();
         if (extendOnly) {
-            configClasses.add(ExtendingOnlyConfig.class.getName());
+            configClasses.add(snapshot?ExtendingOnlySnapshotConfig.class.getName():ExtendingOnlyConfig.class.getName());
         }else {
-            configClasses.add(DefaultConfig.class.getName());
+            configClasses.add(snapshot?DefaultSnapshotConfig.class.getName():DefaultConfig.class.getName());
         }
         if(!disableTamayaInjection){
             configClasses.add(TamayaInjectionConfig.class.getName());
@@ -63,14 +65,35 @@ public class TamayaSpringConfigurator implements ImportSelector {
         @Bean
         public PropertySourcesPlaceholderConfigurer placeHolderConfigurer(ConfigurableEnvironment env,
                                                                           ObjectFactory<org.apache.tamaya.Configuration> configSupplier) {
-            TamayaSpringPropertySource tamayaSpringPropertySource = new TamayaSpringPropertySource(configSupplier);
-            env.getPropertySources().addLast(tamayaSpringPropertySource);
+            env.getPropertySources().addLast(createPropertySource(configSupplier));
 
             PropertySourcesPlaceholderConfigurer cfgBean = new PropertySourcesPlaceholderConfigurer();
             cfgBean.setEnvironment(env);
             return cfgBean;
         }
 
+        /**
+         * Creates the property source to be added to the environment.
+         * @param configSupplier the configuration supplier, not null.
+         * @return the property source, not null.
+         */
+        protected PropertySource<?> createPropertySource(ObjectFactory<org.apache.tamaya.Configuration> configSupplier) {
+            return new TamayaSpringPropertySource(configSupplier);
+        }
+
+    }
+
+    /**
+     * Configuration active when Tamaya is extending the current Spring configuration only, using a
+     * {@link TamayaSnapshotPropertySource}.
+     */
+    public static class ExtendingOnlySnapshotConfig extends ExtendingOnlyConfig {
+
+        @Override
+        protected PropertySource<?> createPropertySource(ObjectFactory<org.apache.tamaya.Configuration> configSupplier) {
+            return new TamayaSnapshotPropertySource(configSupplier);
+        }
+
     }
 
     /**
@@ -82,13 +105,34 @@ public class TamayaSpringConfigurator implements ImportSelector {
         public PropertySourcesPlaceholderConfigurer placeHolderConfigurer(ConfigurableEnvironment env,
                                                                           ObjectFactory<org.apache.tamaya.Configuration> configSupplier) {
 
-            TamayaSpringPropertySource tamayaSpringPropertySource = new TamayaSpringPropertySource(configSupplier);
-            env.getPropertySources().addFirst(tamayaSpringPropertySource);
+            env.getPropertySources().addFirst(createPropertySource(configSupplier));
             PropertySourcesPlaceholderConfigurer cfgBean = new PropertySourcesPlaceholderConfigurer();
             cfgBean.setEnvironment(env);
             return cfgBean;
         }
 
+        /**
+         * Creates the property source to be added to the environment.
+         * @param configSupplier the configuration supplier, not null.
+         * @return the property source, not null.
+         */
+        protected PropertySource<?> createPropertySource(ObjectFactory<org.apache.tamaya.Configuration> configSupplier) {
+            return new TamayaSpringPropertySource(configSupplier);
+        }
+
+    }
+
+    /**
+     * Configuration active when Tamaya is overriding the current Spring configuration, using a
+     * {@link TamayaSnapshotPropertySource}.
+     */
+    public static class DefaultSnapshotConfig extends DefaultConfig {
+
+        @Override
+        protected PropertySource<?> createPropertySource(ObjectFactory<org.apache.tamaya.Configuration> configSupplier) {
+            return new TamayaSnapshotPropertySource(configSupplier);
+        }
+
     }
 
     /**
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.integration.spring;
+
+import org.apache.tamaya.inject.api.NoConfig;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(name="tamaya-snapshot", classes = {ConfiguredSpringBean.class, TamayaConfigSnapshotTest.class})
+@EnableTamayaConfig(snapshot = true)
+@TestPropertySource(locations = "classpath:test.properties")
+public class TamayaConfigSnapshotTest {
+
+    @Autowired
+    private ConfiguredSpringBean configuredBean;
+
+    @Autowired
+    private SpringConfigInjectionPostProcessor postProcessor;
+
+    @Test
+    public void assert_springApplication_Injected(){
+        assertThat(configuredBean.getSpringApplication()).isEqualTo("yeah");
+        assertThat(configuredBean.getSpringInjected()).isEqualTo("value11");
+    }
+
+    @Test
+    public void assert_snapshotPropertySource(){
+        PropertySource<?> ps = ((ConfigurableEnvironment)configuredBean.getEnv())
+                .getPropertySources().get("ApacheTamayaConfig");
+        assertThat(ps).isInstanceOf(TamayaSnapshotPropertySource.class);
+        TamayaSnapshotPropertySource snapshot = (TamayaSnapshotPropertySource)ps;
+        assertThat(snapshot.getPropertyNames()).contains("spring.application", "propertyValue");
+        assertThat(snapshot.containsProperty("foo.bar.notexisting")).isFalse();
+        long version = snapshot.getVersion();
+        snapshot.refresh();
+        assertThat(snapshot.getVersion()).isEqualTo(version + 1);
+        assertThat(snapshot.getProperty("propertyValue")).isEqualTo("value2");
+    }
+
+    @Test
+    public void assert_irrelevantBeansSkipped(){
+        assertThat(postProcessor.isConfigured(ConfiguredSpringBean.class)).isTrue();
+        assertThat(postProcessor.isConfigured(Object.class)).isFalse();
+        assertThat(postProcessor.isConfigured(ExcludedBean.class)).isFalse();
+    }
+
+    @Test
+    public void assert_unannotatedBeansSkipped(){
+        assertThat(postProcessor.isConfigured(UnannotatedBean.class)).isFalse();
+        assertThat(postProcessor.isConfigured(UnannotatedBean.class)).isFalse();
+    }
+
+    static class ExcludedBean{
+        @NoConfig
+        private String value;
+    }
+
+    static class UnannotatedBean{
+        private String value;
+    }
+
+}